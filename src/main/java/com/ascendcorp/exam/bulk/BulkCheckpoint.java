@@ -0,0 +1,77 @@
+package com.ascendcorp.exam.bulk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Progress of a bulk run: every input record before {@code inputOffset} has its row in the output below
+ * {@code outputOffset}. Saved by write-then-rename, so a crash leaves either the old or the new checkpoint.
+ */
+public final class BulkCheckpoint {
+
+    public static final BulkCheckpoint START = new BulkCheckpoint(0L, 0L, 0L);
+
+    private final long inputOffset;
+    private final long outputOffset;
+    private final long records;
+
+    public BulkCheckpoint(long inputOffset, long outputOffset, long records) {
+        this.inputOffset = inputOffset;
+        this.outputOffset = outputOffset;
+        this.records = records;
+    }
+
+    /**
+     * Checkpoint stored at {@code file}, or {@link #START} when there is none.
+     */
+    public static BulkCheckpoint load(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return START;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        try {
+            return new BulkCheckpoint(Long.parseLong(properties.getProperty("inputOffset")),
+                    Long.parseLong(properties.getProperty("outputOffset")),
+                    Long.parseLong(properties.getProperty("records")));
+        } catch (NumberFormatException ex) {
+            throw new IOException("Corrupt bulk checkpoint " + file, ex);
+        }
+    }
+
+    public void save(Path file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("inputOffset", Long.toString(inputOffset));
+        properties.setProperty("outputOffset", Long.toString(outputOffset));
+        properties.setProperty("records", Long.toString(records));
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, null);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public long getInputOffset() {
+        return inputOffset;
+    }
+
+    public long getOutputOffset() {
+        return outputOffset;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkCheckpoint[input=" + inputOffset + ", output=" + outputOffset + ", records=" + records + "]";
+    }
+}
@@ -0,0 +1,135 @@
+package com.ascendcorp.exam.bulk;
+
+import com.ascendcorp.exam.logging.HotPathLogger;
+import com.ascendcorp.exam.model.Deadline;
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.service.InquiryExecutor;
+import com.ascendcorp.exam.service.InquiryOutcome;
+import com.ascendcorp.exam.service.InquiryService;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * Streams a reconciliation file of transfers through the inquiry path. At most {@code parallelism}
+ * inquiries are in flight; reading stops until the oldest one completes, so memory stays flat however large
+ * the file. Rows are written in input order and a {@link BulkCheckpoint} is saved every
+ * {@code checkpointInterval} records; running again with the same checkpoint file resumes after the last one.
+ */
+public class BulkInquiryJob {
+
+    static final Logger log = Logger.getLogger(BulkInquiryJob.class);
+    private static final HotPathLogger hotPathLog = new HotPathLogger(log);
+
+    static final int BUFFER_SIZE = 64 * 1024;
+    static final int MAX_RECORD_BYTES = 1024 * 1024;
+
+    private static final class Pending {
+
+        final String transactionId;
+        final CompletableFuture<InquiryServiceResultDTO> result;
+        final long nextInputOffset;
+
+        Pending(String transactionId, CompletableFuture<InquiryServiceResultDTO> result, long nextInputOffset) {
+            this.transactionId = transactionId;
+            this.result = result;
+            this.nextInputOffset = nextInputOffset;
+        }
+    }
+
+    private final Function<TransferRequest, CompletableFuture<InquiryServiceResultDTO>> inquiry;
+    private final int parallelism;
+    private final int checkpointInterval;
+
+    /**
+     * Records are replayed long after their {@code tranDateTime}, so they run without a deadline.
+     */
+    public BulkInquiryJob(InquiryExecutor inquiryExecutor, int parallelism, int checkpointInterval) {
+        this(request -> inquiryExecutor.submit(request, Deadline.NONE), parallelism, checkpointInterval);
+    }
+
+    BulkInquiryJob(Function<TransferRequest, CompletableFuture<InquiryServiceResultDTO>> inquiry, int parallelism,
+                   int checkpointInterval) {
+        if (parallelism < 1 || checkpointInterval < 1) {
+            throw new IllegalArgumentException("Invalid bulk inquiry settings");
+        }
+        this.inquiry = inquiry;
+        this.parallelism = parallelism;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Inquires every record of {@code input} after the offset in {@code checkpointFile} and writes the rows to
+     * {@code output}. Returns the final checkpoint, which is also left in {@code checkpointFile}.
+     */
+    public BulkCheckpoint run(Path input, Path output, Path checkpointFile) throws IOException {
+        BulkCheckpoint checkpoint = BulkCheckpoint.load(checkpointFile);
+        if (checkpoint.getRecords() > 0) {
+            hotPathLog.info("Resuming bulk inquiry of {} at {}", input, checkpoint);
+        }
+        ArrayDeque<Pending> window = new ArrayDeque<>(parallelism);
+        long records = checkpoint.getRecords();
+        long inputOffset = checkpoint.getInputOffset();
+        long lastCheckpointRecords = records;
+        try (TransferRecordReader reader = new TransferRecordReader(input, checkpoint.getInputOffset(), BUFFER_SIZE,
+                MAX_RECORD_BYTES);
+             InquiryResultWriter writer = new InquiryResultWriter(output, checkpoint.getOutputOffset(), BUFFER_SIZE)) {
+            TransferRequest request;
+            while ((request = reader.next()) != null) {
+                if (window.size() == parallelism) {
+                    inputOffset = writeHead(window, writer);
+                    records++;
+                }
+                window.add(new Pending(request.getTransactionId(), inquiry.apply(request), reader.getOffset()));
+                while (!window.isEmpty() && window.peek().result.isDone()) {
+                    inputOffset = writeHead(window, writer);
+                    records++;
+                }
+                if (records - lastCheckpointRecords >= checkpointInterval) {
+                    checkpoint = saveCheckpoint(checkpointFile, writer, inputOffset, records);
+                    lastCheckpointRecords = records;
+                }
+            }
+            while (!window.isEmpty()) {
+                inputOffset = writeHead(window, writer);
+                records++;
+            }
+            checkpoint = saveCheckpoint(checkpointFile, writer, inputOffset, records);
+        }
+        hotPathLog.info("Bulk inquiry of {} done, {} records", input, checkpoint.getRecords());
+        return checkpoint;
+    }
+
+    private static long writeHead(ArrayDeque<Pending> window, InquiryResultWriter writer) throws IOException {
+        Pending head = window.poll();
+        writer.write(head.transactionId, await(head));
+        return head.nextInputOffset;
+    }
+
+    private static InquiryServiceResultDTO await(Pending pending) throws IOException {
+        try {
+            return pending.result.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for inquiry " + pending.transactionId);
+        } catch (ExecutionException ex) {
+            hotPathLog.warn("Inquiry {} failed in bulk run: {}", pending.transactionId, ex.getCause());
+            return InquiryOutcome.of(InquiryService.ReasonCode.INTERNAL_ERROR).toResultDTO();
+        }
+    }
+
+    private static BulkCheckpoint saveCheckpoint(Path checkpointFile, InquiryResultWriter writer, long inputOffset,
+                                                 long records) throws IOException {
+        writer.sync();
+        BulkCheckpoint checkpoint = new BulkCheckpoint(inputOffset, writer.position(), records);
+        checkpoint.save(checkpointFile);
+        return checkpoint;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ascendcorp.exam.bulk;
+
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import com.ascendcorp.exam.model.MoneyUnits;
+import com.ascendcorp.exam.model.TransferRequest;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+
+/**
+ * Pipe separated line formats of the bulk files. An input record is {@code transactionId|tranDateTime|
+ * channel|locationCode|bankCode|bankNumber|amount|reference1|reference2|firstName|lastName} with
+ * {@code tranDateTime} as an ISO-8601 instant; empty fields are absent. A field that does not parse is left
+ * unset, so the record fails validation like any other incomplete request. An output row is
+ * {@code transactionId|reasonCode|reasonDesc|balance|ref_no1|ref_no2|amount|accountName}.
+ */
+public final class BulkRecordFormat {
+
+    static final char SEPARATOR = '|';
+
+    private static final int FIELD_COUNT = 11;
+
+    private BulkRecordFormat() {
+    }
+
+    public static TransferRequest parse(String line) {
+        String[] fields = new String[FIELD_COUNT];
+        int start = 0;
+        for (int i = 0; i < FIELD_COUNT && start <= line.length(); i++) {
+            int end = line.indexOf(SEPARATOR, start);
+            if (end < 0) {
+                end = line.length();
+            }
+            fields[i] = end > start ? line.substring(start, end) : null;
+            start = end + 1;
+        }
+        TransferRequest request = new TransferRequest();
+        request.setTransactionId(fields[0]);
+        request.setTranDateTime(parseDate(fields[1]));
+        request.setChannel(fields[2]);
+        request.setLocationCode(fields[3]);
+        request.setBankCode(fields[4]);
+        request.setBankNumber(fields[5]);
+        long amount = parseAmount(fields[6]);
+        if (MoneyUnits.isPresent(amount)) {
+            request.setAmount(MoneyUnits.toDouble(amount));
+        }
+        request.setReference1(fields[7]);
+        request.setReference2(fields[8]);
+        request.setFirstName(fields[9]);
+        request.setLastName(fields[10]);
+        return request;
+    }
+
+    public static void format(String transactionId, InquiryServiceResultDTO result, StringBuilder row) {
+        append(row, transactionId).append(SEPARATOR);
+        append(row, result.getReasonCode()).append(SEPARATOR);
+        append(row, result.getReasonDesc()).append(SEPARATOR);
+        append(row, result.getBalance()).append(SEPARATOR);
+        append(row, result.getRef_no1()).append(SEPARATOR);
+        append(row, result.getRef_no2()).append(SEPARATOR);
+        append(row, result.getAmount()).append(SEPARATOR);
+        append(row, result.getAccountName()).append('\n');
+    }
+
+    private static StringBuilder append(StringBuilder row, String value) {
+        if (value == null) {
+            return row;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            row.append(c == SEPARATOR || c == '\n' || c == '\r' ? ' ' : c);
+        }
+        return row;
+    }
+
+    private static Date parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Date.from(Instant.parse(value));
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+
+    private static long parseAmount(String value) {
+        try {
+            return MoneyUnits.parse(value);
+        } catch (NumberFormatException | ArithmeticException ex) {
+            return MoneyUnits.NO_AMOUNT;
+        }
+    }
+}
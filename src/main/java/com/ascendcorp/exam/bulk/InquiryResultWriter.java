@@ -0,0 +1,88 @@
+package com.ascendcorp.exam.bulk;
+
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends {@link BulkRecordFormat} rows through one reusable buffer. Opening at an offset cuts off whatever
+ * was written after it, so rows from an interrupted run past its last checkpoint are not duplicated.
+ */
+class InquiryResultWriter implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final StringBuilder row = new StringBuilder(256);
+
+    InquiryResultWriter(Path output, long startOffset, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (channel.size() < startOffset) {
+            channel.close();
+            throw new IOException("Output " + output + " is shorter than checkpoint offset " + startOffset);
+        }
+        this.channel.truncate(startOffset);
+        this.channel.position(startOffset);
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    void write(String transactionId, InquiryServiceResultDTO result) throws IOException {
+        row.setLength(0);
+        BulkRecordFormat.format(transactionId, result, row);
+        CharBuffer chars = CharBuffer.wrap(row);
+        encoder.reset();
+        while (true) {
+            CoderResult coderResult = encoder.encode(chars, buffer, true);
+            if (coderResult.isOverflow()) {
+                drain();
+            } else if (coderResult.isUnderflow()) {
+                break;
+            } else {
+                coderResult.throwException();
+            }
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            drain();
+        }
+    }
+
+    /**
+     * Bytes written so far, buffered ones included.
+     */
+    long position() throws IOException {
+        return channel.position() + buffer.position();
+    }
+
+    /**
+     * Writes out buffered rows and forces them to disk; everything below {@link #position()} is then durable.
+     */
+    void sync() throws IOException {
+        drain();
+        channel.force(false);
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.ascendcorp.exam.bulk;
+
+import com.ascendcorp.exam.model.TransferRequest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads {@link BulkRecordFormat} lines from a file through one reusable buffer, so memory does not grow with
+ * the file. {@link #getOffset()} is the byte offset just past the last record returned, which is where a
+ * resumed reader starts.
+ */
+class TransferRecordReader implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final int maxRecordBytes;
+    private ByteBuffer buffer;
+    private long offset;
+    private boolean endOfFile;
+
+    TransferRecordReader(Path input, long startOffset, int bufferSize, int maxRecordBytes) throws IOException {
+        this.channel = FileChannel.open(input, StandardOpenOption.READ);
+        this.channel.position(startOffset);
+        this.maxRecordBytes = maxRecordBytes;
+        this.buffer = ByteBuffer.allocate(Math.min(bufferSize, maxRecordBytes));
+        this.buffer.limit(0);
+        this.offset = startOffset;
+    }
+
+    /**
+     * Next record, skipping blank lines, or {@code null} at end of file.
+     */
+    TransferRequest next() throws IOException {
+        while (true) {
+            byte[] bytes = buffer.array();
+            int start = buffer.position();
+            for (int i = start; i < buffer.limit(); i++) {
+                if (bytes[i] == '\n') {
+                    buffer.position(i + 1);
+                    offset += i + 1 - start;
+                    int end = i > start && bytes[i - 1] == '\r' ? i - 1 : i;
+                    if (end > start) {
+                        return BulkRecordFormat.parse(new String(bytes, start, end - start, StandardCharsets.UTF_8));
+                    }
+                    start = i + 1;
+                }
+            }
+            buffer.position(start);
+            if (endOfFile) {
+                if (!buffer.hasRemaining()) {
+                    return null;
+                }
+                int length = buffer.remaining();
+                offset += length;
+                buffer.position(buffer.limit());
+                return BulkRecordFormat.parse(new String(bytes, start, length, StandardCharsets.UTF_8));
+            }
+            fill();
+        }
+    }
+
+    long getOffset() {
+        return offset;
+    }
+
+    private void fill() throws IOException {
+        if (buffer.position() == 0 && buffer.limit() == buffer.capacity()) {
+            if (buffer.capacity() >= maxRecordBytes) {
+                throw new IOException("Record at offset " + offset + " is longer than " + maxRecordBytes + " bytes");
+            }
+            ByteBuffer larger = ByteBuffer.allocate(Math.min(buffer.capacity() * 2, maxRecordBytes));
+            larger.put(buffer);
+            buffer = larger;
+        } else {
+            buffer.compact();
+        }
+        if (channel.read(buffer) < 0) {
+            endOfFile = true;
+        }
+        buffer.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,111 @@
+package com.ascendcorp.exam.cache;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded concurrent map whose entries expire after a fixed time to live. When full, the oldest
+ * insertions are evicted first.
+ */
+public class ExpiringCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry<K, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final long timeToLiveNanos;
+    private final int maximumSize;
+    private final LongSupplier nanoClock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExpiringCache(long timeToLive, TimeUnit unit, int maximumSize) {
+        this(timeToLive, unit, maximumSize, System::nanoTime);
+    }
+
+    public ExpiringCache(long timeToLive, TimeUnit unit, int maximumSize, LongSupplier nanoClock) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.timeToLiveNanos = unit.toNanos(timeToLive);
+        this.maximumSize = maximumSize;
+        this.nanoClock = nanoClock;
+    }
+
+    public V get(K key) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry != null && entry.expiresAtNanos - nanoClock.getAsLong() > 0) {
+            hits.increment();
+            return entry.value;
+        }
+        if (entry != null && entries.remove(key, entry)) {
+            evictions.increment();
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(K key, V value) {
+        Entry<K, V> entry = new Entry<>(key, value, nanoClock.getAsLong() + timeToLiveNanos);
+        entries.put(key, entry);
+        insertionOrder.add(entry);
+        queued.incrementAndGet();
+        while (entries.size() > maximumSize) {
+            Entry<K, V> eldest = insertionOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            queued.decrementAndGet();
+            if (entries.remove(eldest.key, eldest)) {
+                evictions.increment();
+            }
+        }
+        if (queued.get() > 2 * maximumSize) {
+            // drop queue slots whose entries were replaced, invalidated or expired
+            insertionOrder.removeIf(slot -> entries.get(slot.key) != slot);
+            queued.set(insertionOrder.size());
+        }
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Entries removed because they expired or the cache was full.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private static final class Entry<K, V> {
+
+        final K key;
+        final V value;
+        final long expiresAtNanos;
+
+        Entry(K key, V value, long expiresAtNanos) {
+            this.key = key;
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.ascendcorp.exam.codec;
+
+import com.ascendcorp.exam.exception.WireFormatException;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Frame header handling shared by the record codecs. The payload length is back-filled after the payload is
+ * written, so encoding needs a single pass and no scratch buffer.
+ */
+abstract class AbstractWireCodec<T> implements WireCodec<T> {
+
+    static final byte VERSION = 1;
+
+    static final int HEADER_SIZE = 2 + Integer.BYTES;
+
+    private final byte type;
+
+    AbstractWireCodec(byte type) {
+        this.type = type;
+    }
+
+    @Override
+    public int encodedSize(T value) {
+        return HEADER_SIZE + payloadSize(value);
+    }
+
+    @Override
+    public void encode(T value, ByteBuffer target) {
+        int start = target.position();
+        try {
+            target.put(VERSION).put(type).putInt(0);
+            writePayload(value, target);
+        } catch (BufferOverflowException ex) {
+            target.position(start);
+            throw ex;
+        }
+        target.putInt(start + 2, target.position() - start - HEADER_SIZE);
+    }
+
+    @Override
+    public T decode(ByteBuffer source) {
+        if (source.remaining() < HEADER_SIZE) {
+            throw new WireFormatException("Truncated frame header");
+        }
+        int start = source.position();
+        byte version = source.get();
+        byte frameType = source.get();
+        int length = source.getInt();
+        if (version < 1 || version > VERSION) {
+            source.position(start);
+            throw new WireFormatException("Unsupported wire version " + version);
+        }
+        if (frameType != type) {
+            source.position(start);
+            throw new WireFormatException("Expected record type " + type + " but was " + frameType);
+        }
+        if (length < 0 || length > source.remaining()) {
+            source.position(start);
+            throw new WireFormatException("Truncated frame: payload " + length + " bytes, "
+                    + source.remaining() + " available");
+        }
+        int end = source.position() + length;
+        int limit = source.limit();
+        source.limit(end);
+        try {
+            T value = readPayload(source, version);
+            source.position(end);
+            return value;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            source.position(start);
+            throw new WireFormatException("Payload shorter than its fields");
+        } catch (WireFormatException ex) {
+            source.position(start);
+            throw ex;
+        } finally {
+            source.limit(limit);
+        }
+    }
+
+    abstract int payloadSize(T value);
+
+    abstract void writePayload(T value, ByteBuffer target);
+
+    abstract T readPayload(ByteBuffer source, byte version);
+}
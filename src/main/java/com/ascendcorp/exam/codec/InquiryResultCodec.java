@@ -0,0 +1,59 @@
+package com.ascendcorp.exam.codec;
+
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link InquiryServiceResultDTO} payload: its nine string fields in declaration order. This is what we ship
+ * between nodes and to the audit store instead of Java serialization.
+ */
+public final class InquiryResultCodec extends AbstractWireCodec<InquiryServiceResultDTO> {
+
+    static final byte TYPE = 3;
+
+    public InquiryResultCodec() {
+        super(TYPE);
+    }
+
+    @Override
+    int payloadSize(InquiryServiceResultDTO value) {
+        return WireFields.stringSize(value.getTranID())
+                + WireFields.stringSize(value.getNamespace())
+                + WireFields.stringSize(value.getReasonCode())
+                + WireFields.stringSize(value.getReasonDesc())
+                + WireFields.stringSize(value.getBalance())
+                + WireFields.stringSize(value.getRef_no1())
+                + WireFields.stringSize(value.getRef_no2())
+                + WireFields.stringSize(value.getAmount())
+                + WireFields.stringSize(value.getAccountName());
+    }
+
+    @Override
+    void writePayload(InquiryServiceResultDTO value, ByteBuffer target) {
+        WireFields.writeString(target, value.getTranID());
+        WireFields.writeString(target, value.getNamespace());
+        WireFields.writeString(target, value.getReasonCode());
+        WireFields.writeString(target, value.getReasonDesc());
+        WireFields.writeString(target, value.getBalance());
+        WireFields.writeString(target, value.getRef_no1());
+        WireFields.writeString(target, value.getRef_no2());
+        WireFields.writeString(target, value.getAmount());
+        WireFields.writeString(target, value.getAccountName());
+    }
+
+    @Override
+    InquiryServiceResultDTO readPayload(ByteBuffer source, byte version) {
+        InquiryServiceResultDTO value = new InquiryServiceResultDTO();
+        value.setTranID(WireFields.readString(source));
+        value.setNamespace(WireFields.readString(source));
+        value.setReasonCode(WireFields.readString(source));
+        value.setReasonDesc(WireFields.readString(source));
+        value.setBalance(WireFields.readString(source));
+        value.setRef_no1(WireFields.readString(source));
+        value.setRef_no2(WireFields.readString(source));
+        value.setAmount(WireFields.readString(source));
+        value.setAccountName(WireFields.readString(source));
+        return value;
+    }
+}
@@ -0,0 +1,87 @@
+package com.ascendcorp.exam.codec;
+
+import com.ascendcorp.exam.model.TransferRequest;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+/**
+ * {@link TransferRequest} payload: a presence-flags byte, then {@code tranDateTime} as epoch millis and
+ * {@code amount} as a double when present, then the string fields in declaration order.
+ */
+public final class TransferRequestCodec extends AbstractWireCodec<TransferRequest> {
+
+    static final byte TYPE = 1;
+
+    private static final int HAS_TRAN_DATE_TIME = 1;
+    private static final int HAS_AMOUNT = 1 << 1;
+
+    public TransferRequestCodec() {
+        super(TYPE);
+    }
+
+    @Override
+    int payloadSize(TransferRequest value) {
+        int size = 1;
+        if (value.getTranDateTime() != null) {
+            size += Long.BYTES;
+        }
+        if (value.hasAmount()) {
+            size += Double.BYTES;
+        }
+        return size
+                + WireFields.stringSize(value.getTransactionId())
+                + WireFields.stringSize(value.getChannel())
+                + WireFields.stringSize(value.getLocationCode())
+                + WireFields.stringSize(value.getBankCode())
+                + WireFields.stringSize(value.getBankNumber())
+                + WireFields.stringSize(value.getReference1())
+                + WireFields.stringSize(value.getReference2())
+                + WireFields.stringSize(value.getFirstName())
+                + WireFields.stringSize(value.getLastName());
+    }
+
+    @Override
+    void writePayload(TransferRequest value, ByteBuffer target) {
+        Date tranDateTime = value.getTranDateTime();
+        int flags = (tranDateTime != null ? HAS_TRAN_DATE_TIME : 0) | (value.hasAmount() ? HAS_AMOUNT : 0);
+        target.put((byte) flags);
+        if (tranDateTime != null) {
+            target.putLong(tranDateTime.getTime());
+        }
+        if (value.hasAmount()) {
+            target.putDouble(value.getAmount());
+        }
+        WireFields.writeString(target, value.getTransactionId());
+        WireFields.writeString(target, value.getChannel());
+        WireFields.writeString(target, value.getLocationCode());
+        WireFields.writeString(target, value.getBankCode());
+        WireFields.writeString(target, value.getBankNumber());
+        WireFields.writeString(target, value.getReference1());
+        WireFields.writeString(target, value.getReference2());
+        WireFields.writeString(target, value.getFirstName());
+        WireFields.writeString(target, value.getLastName());
+    }
+
+    @Override
+    TransferRequest readPayload(ByteBuffer source, byte version) {
+        TransferRequest value = new TransferRequest();
+        int flags = source.get();
+        if ((flags & HAS_TRAN_DATE_TIME) != 0) {
+            value.setTranDateTime(new Date(source.getLong()));
+        }
+        if ((flags & HAS_AMOUNT) != 0) {
+            value.setAmount(source.getDouble());
+        }
+        value.setTransactionId(WireFields.readString(source));
+        value.setChannel(WireFields.readString(source));
+        value.setLocationCode(WireFields.readString(source));
+        value.setBankCode(WireFields.readString(source));
+        value.setBankNumber(WireFields.readString(source));
+        value.setReference1(WireFields.readString(source));
+        value.setReference2(WireFields.readString(source));
+        value.setFirstName(WireFields.readString(source));
+        value.setLastName(WireFields.readString(source));
+        return value;
+    }
+}
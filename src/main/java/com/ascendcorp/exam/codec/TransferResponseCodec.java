@@ -0,0 +1,49 @@
+package com.ascendcorp.exam.codec;
+
+import com.ascendcorp.exam.model.TransferResponse;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link TransferResponse} payload: its six string fields in declaration order.
+ */
+public final class TransferResponseCodec extends AbstractWireCodec<TransferResponse> {
+
+    static final byte TYPE = 2;
+
+    public TransferResponseCodec() {
+        super(TYPE);
+    }
+
+    @Override
+    int payloadSize(TransferResponse value) {
+        return WireFields.stringSize(value.getResponseCode())
+                + WireFields.stringSize(value.getDescription())
+                + WireFields.stringSize(value.getReferenceCode1())
+                + WireFields.stringSize(value.getReferenceCode2())
+                + WireFields.stringSize(value.getBalance())
+                + WireFields.stringSize(value.getBankTransactionID());
+    }
+
+    @Override
+    void writePayload(TransferResponse value, ByteBuffer target) {
+        WireFields.writeString(target, value.getResponseCode());
+        WireFields.writeString(target, value.getDescription());
+        WireFields.writeString(target, value.getReferenceCode1());
+        WireFields.writeString(target, value.getReferenceCode2());
+        WireFields.writeString(target, value.getBalance());
+        WireFields.writeString(target, value.getBankTransactionID());
+    }
+
+    @Override
+    TransferResponse readPayload(ByteBuffer source, byte version) {
+        TransferResponse value = new TransferResponse();
+        value.setResponseCode(WireFields.readString(source));
+        value.setDescription(WireFields.readString(source));
+        value.setReferenceCode1(WireFields.readString(source));
+        value.setReferenceCode2(WireFields.readString(source));
+        value.setBalance(WireFields.readString(source));
+        value.setBankTransactionID(WireFields.readString(source));
+        return value;
+    }
+}
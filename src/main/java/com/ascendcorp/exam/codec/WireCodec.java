@@ -0,0 +1,29 @@
+package com.ascendcorp.exam.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary encoding of one record type. Every record is written as a self-describing frame
+ * ({@code version:byte, type:byte, payloadLength:int, payload}) straight into the caller's buffer, so
+ * several frames can be packed back to back and read again in order.
+ */
+public interface WireCodec<T> {
+
+    /**
+     * Exact number of bytes {@link #encode} will write, header included.
+     */
+    int encodedSize(T value);
+
+    /**
+     * Writes one frame at the buffer's position and advances it. If the buffer is too small the position is
+     * left untouched and {@link java.nio.BufferOverflowException} is thrown.
+     */
+    void encode(T value, ByteBuffer target);
+
+    /**
+     * Reads one frame at the buffer's position and advances past it, skipping payload bytes after the
+     * fields it knows. A frame written with a newer version number is rejected with
+     * {@link com.ascendcorp.exam.exception.WireFormatException}.
+     */
+    T decode(ByteBuffer source);
+}
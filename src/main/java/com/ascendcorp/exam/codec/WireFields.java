@@ -0,0 +1,124 @@
+package com.ascendcorp.exam.codec;
+
+import com.ascendcorp.exam.exception.WireFormatException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Field primitives. A string is a varint of {@code utf8Length + 1} (so {@code 0} means {@code null}) followed
+ * by its UTF-8 bytes, encoded char by char into the target buffer. Unpaired surrogates become {@code '?'},
+ * as {@link String#getBytes} does.
+ */
+final class WireFields {
+
+    private WireFields() {
+    }
+
+    static int stringSize(String value) {
+        if (value == null) {
+            return 1;
+        }
+        int length = utf8Length(value);
+        return varIntSize(length + 1) + length;
+    }
+
+    static void writeString(ByteBuffer target, String value) {
+        if (value == null) {
+            target.put((byte) 0);
+            return;
+        }
+        writeVarInt(target, utf8Length(value) + 1);
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                target.put((byte) c);
+            } else if (c < 0x800) {
+                target.put((byte) (0xC0 | (c >> 6)));
+                target.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                target.put((byte) (0xF0 | (codePoint >> 18)));
+                target.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                target.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                target.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                target.put((byte) '?');
+            } else {
+                target.put((byte) (0xE0 | (c >> 12)));
+                target.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                target.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    static String readString(ByteBuffer source) {
+        int length = readVarInt(source) - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (length > source.remaining()) {
+            throw new WireFormatException("String of " + length + " bytes exceeds frame");
+        }
+        String value;
+        if (source.hasArray()) {
+            value = new String(source.array(), source.arrayOffset() + source.position(), length,
+                    StandardCharsets.UTF_8);
+            source.position(source.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            source.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static void writeVarInt(ByteBuffer target, int value) {
+        while ((value & ~0x7F) != 0) {
+            target.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        target.put((byte) value);
+    }
+
+    static int readVarInt(ByteBuffer source) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = source.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new WireFormatException("Malformed varint");
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,207 @@
+package com.ascendcorp.exam.config;
+
+import com.ascendcorp.exam.bulk.BulkInquiryJob;
+import com.ascendcorp.exam.journal.InquiryJournal;
+import com.ascendcorp.exam.logging.AsyncLogging;
+import com.ascendcorp.exam.metrics.InquiryMetrics;
+import com.ascendcorp.exam.proxy.AdaptiveBulkhead;
+import com.ascendcorp.exam.proxy.BankCircuitBreaker;
+import com.ascendcorp.exam.proxy.BulkheadInterceptor;
+import com.ascendcorp.exam.proxy.CircuitBreakerInterceptor;
+import com.ascendcorp.exam.proxy.HedgingInterceptor;
+import com.ascendcorp.exam.proxy.HttpBankProxyGateway;
+import com.ascendcorp.exam.proxy.RateLimitInterceptor;
+import com.ascendcorp.exam.proxy.RetryInterceptor;
+import com.ascendcorp.exam.proxy.TokenBucket;
+import com.ascendcorp.exam.service.InquiryExecutionMode;
+import com.ascendcorp.exam.service.InquiryExecutor;
+import com.ascendcorp.exam.service.InquiryResultCache;
+import com.ascendcorp.exam.service.InquiryService;
+import com.ascendcorp.exam.service.NegativeResultCache;
+import com.ascendcorp.exam.service.ReasonCodeTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class InquiryConfiguration {
+
+    /**
+     * Point {@code inquiry.reason-codes.location} at a {@code file:} resource to add bank codes without a redeploy.
+     */
+    @Bean
+    public ReasonCodeTable reasonCodeTable(
+            @Value("${inquiry.reason-codes.location:classpath:" + ReasonCodeTable.DEFAULT_RESOURCE + "}")
+                    Resource location) throws IOException {
+        try (InputStream inputStream = location.getInputStream()) {
+            return ReasonCodeTable.load(inputStream);
+        }
+    }
+
+    @Bean
+    public InquiryMetrics inquiryMetrics(
+            @Value("${inquiry.metrics.max-banks:" + InquiryMetrics.DEFAULT_MAX_BANKS + "}") int maxBanks,
+            @Value("${inquiry.metrics.max-channels:" + InquiryMetrics.DEFAULT_MAX_CHANNELS + "}") int maxChannels,
+            @Value("${inquiry.metrics.max-reason-codes:" + InquiryMetrics.DEFAULT_MAX_REASON_CODES + "}")
+                    int maxReasonCodes) {
+        return new InquiryMetrics(maxBanks, maxChannels, maxReasonCodes);
+    }
+
+    @Bean(destroyMethod = "close")
+    public InquiryExecutor inquiryExecutor(
+            InquiryService inquiryService,
+            @Value("${inquiry.execution.mode:platform}") String mode,
+            @Value("${inquiry.execution.pool-size:200}") int poolSize) {
+        return new InquiryExecutor(inquiryService, InquiryExecutionMode.valueOf(mode.toUpperCase(Locale.ROOT)), poolSize);
+    }
+
+    /**
+     * Streams reconciliation files through {@link InquiryExecutor}; see {@link BulkInquiryJob#run}.
+     */
+    @Bean
+    public BulkInquiryJob bulkInquiryJob(
+            InquiryExecutor inquiryExecutor,
+            @Value("${inquiry.bulk.parallelism:64}") int parallelism,
+            @Value("${inquiry.bulk.checkpoint-interval:10000}") int checkpointInterval) {
+        return new BulkInquiryJob(inquiryExecutor, parallelism, checkpointInterval);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "inquiry.result-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public InquiryResultCache inquiryResultCache(
+            @Value("${inquiry.result-cache.ttl-seconds:10}") long timeToLiveSeconds,
+            @Value("${inquiry.result-cache.maximum-size:10000}") int maximumSize) {
+        return new InquiryResultCache(timeToLiveSeconds, TimeUnit.SECONDS, maximumSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "inquiry.negative-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public NegativeResultCache negativeResultCache(
+            @Value("${inquiry.negative-cache.ttl-seconds:30}") long timeToLiveSeconds,
+            @Value("${inquiry.negative-cache.maximum-size:10000}") int maximumSize,
+            @Value("${inquiry.negative-cache.response-codes:" + NegativeResultCache.DEFAULT_RESPONSE_CODES + "}")
+                    String responseCodes) {
+        return new NegativeResultCache(timeToLiveSeconds, TimeUnit.SECONDS, maximumSize,
+                NegativeResultCache.parseResponseCodes(responseCodes));
+    }
+
+    /**
+     * Replaces the stub {@link com.ascendcorp.exam.proxy.BankProxyGateway} with pooled HTTP calls to
+     * {@code inquiry.http-gateway.endpoints}.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "inquiry.http-gateway.enabled", havingValue = "true")
+    public HttpBankProxyGateway httpBankProxyGateway(
+            @Value("${inquiry.http-gateway.endpoints:}") String endpoints,
+            @Value("${inquiry.http-gateway.max-connections-per-bank:50}") int maxConnectionsPerBank,
+            @Value("${inquiry.http-gateway.connect-timeout-millis:1000}") long connectTimeoutMillis,
+            @Value("${inquiry.http-gateway.read-timeout-millis:5000}") long readTimeoutMillis,
+            @Value("${inquiry.http-gateway.http2:true}") boolean http2) {
+        return new HttpBankProxyGateway(new HttpBankProxyGateway.Config(
+                HttpBankProxyGateway.Config.parseEndpoints(endpoints), maxConnectionsPerBank, connectTimeoutMillis,
+                readTimeoutMillis, TimeUnit.MILLISECONDS, http2));
+    }
+
+    @Bean
+    @Order(50)
+    @ConditionalOnProperty(name = "inquiry.retry.enabled", havingValue = "true", matchIfMissing = true)
+    public RetryInterceptor retryInterceptor(
+            @Value("${inquiry.retry.max-attempts:2}") int maxAttempts,
+            @Value("${inquiry.retry.base-backoff-millis:20}") long baseBackoffMillis,
+            @Value("${inquiry.retry.max-backoff-millis:200}") long maxBackoffMillis,
+            @Value("${inquiry.retry.budget-ratio:0.1}") double budgetRatio,
+            @Value("${inquiry.retry.budget-max-tokens:10}") int budgetMaxTokens) {
+        return new RetryInterceptor(maxAttempts, baseBackoffMillis, maxBackoffMillis, TimeUnit.MILLISECONDS,
+                budgetRatio, budgetMaxTokens);
+    }
+
+    @Bean(destroyMethod = "close")
+    @Order(60)
+    @ConditionalOnProperty(name = "inquiry.hedging.enabled", havingValue = "true")
+    public HedgingInterceptor hedgingInterceptor(
+            @Value("${inquiry.hedging.percentile:0.95}") double percentile,
+            @Value("${inquiry.hedging.min-delay-millis:5}") long minDelayMillis,
+            @Value("${inquiry.hedging.max-delay-millis:1000}") long maxDelayMillis,
+            @Value("${inquiry.hedging.min-samples:100}") int minSamples,
+            @Value("${inquiry.hedging.refresh-interval-millis:1000}") long refreshIntervalMillis,
+            @Value("${inquiry.hedging.budget-ratio:0.05}") double budgetRatio,
+            @Value("${inquiry.hedging.budget-max-tokens:10}") int budgetMaxTokens,
+            @Value("${inquiry.hedging.max-threads:" + HedgingInterceptor.DEFAULT_MAX_THREADS + "}") int maxThreads) {
+        return new HedgingInterceptor(new HedgingInterceptor.Config(percentile, minDelayMillis, maxDelayMillis,
+                minSamples, refreshIntervalMillis, TimeUnit.MILLISECONDS, budgetRatio, budgetMaxTokens), maxThreads);
+    }
+
+    @Bean
+    @Order(100)
+    @ConditionalOnProperty(name = "inquiry.circuit-breaker.enabled", havingValue = "true", matchIfMissing = true)
+    public CircuitBreakerInterceptor circuitBreakerInterceptor(
+            @Value("${inquiry.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+            @Value("${inquiry.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${inquiry.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${inquiry.circuit-breaker.open-duration-millis:30000}") long openDurationMillis,
+            @Value("${inquiry.circuit-breaker.half-open-probes:3}") int halfOpenProbes) {
+        return new CircuitBreakerInterceptor(new BankCircuitBreaker.Config(failureRateThreshold, slidingWindowSize,
+                minimumCalls, openDurationMillis, TimeUnit.MILLISECONDS, halfOpenProbes));
+    }
+
+    /**
+     * Keeps calls within partner quotas; ordered outside the bulkhead so a call waiting for a permit does not
+     * hold a bulkhead slot or count as bank latency.
+     */
+    @Bean
+    @Order(150)
+    @ConditionalOnProperty(name = "inquiry.rate-limit.enabled", havingValue = "true")
+    public RateLimitInterceptor rateLimitInterceptor(
+            @Value("${inquiry.rate-limit.permits-per-second:100}") double permitsPerSecond,
+            @Value("${inquiry.rate-limit.burst:100}") int burst,
+            @Value("${inquiry.rate-limit.banks:}") String banks,
+            @Value("${inquiry.rate-limit.mode:reject}") String mode,
+            @Value("${inquiry.rate-limit.max-wait-millis:200}") long maxWaitMillis) {
+        return new RateLimitInterceptor(new TokenBucket.Config(permitsPerSecond, burst),
+                RateLimitInterceptor.parseBankConfigs(banks),
+                RateLimitInterceptor.Mode.valueOf(mode.toUpperCase(Locale.ROOT)), maxWaitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Bean
+    @Order(200)
+    @ConditionalOnProperty(name = "inquiry.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+    public BulkheadInterceptor bulkheadInterceptor(
+            @Value("${inquiry.bulkhead.initial-limit:20}") int initialLimit,
+            @Value("${inquiry.bulkhead.min-limit:2}") int minLimit,
+            @Value("${inquiry.bulkhead.max-limit:200}") int maxLimit,
+            @Value("${inquiry.bulkhead.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${inquiry.bulkhead.latency-tolerance:2.0}") double latencyTolerance,
+            @Value("${inquiry.bulkhead.min-latency-window:1000}") int minLatencyWindow) {
+        return new BulkheadInterceptor(new AdaptiveBulkhead.Config(initialLimit, minLimit, maxLimit, backoffRatio,
+                latencyTolerance, minLatencyWindow));
+    }
+
+    /**
+     * Regulatory audit trail of every inquiry; off unless {@code inquiry.journal.enabled=true}.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "inquiry.journal.enabled", havingValue = "true")
+    public InquiryJournal inquiryJournal(
+            @Value("${inquiry.journal.directory:journal}") String directory,
+            @Value("${inquiry.journal.segment-size-mb:64}") int segmentSizeMb,
+            @Value("${inquiry.journal.ring-capacity:65536}") int ringCapacity) throws IOException {
+        return new InquiryJournal(Paths.get(directory), segmentSizeMb * 1024 * 1024, ringCapacity);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "inquiry.logging.async", havingValue = "true", matchIfMissing = true)
+    public AsyncLogging asyncLogging(@Value("${inquiry.logging.buffer-size:8192}") int bufferSize) {
+        return AsyncLogging.install(bufferSize);
+    }
+}
@@ -0,0 +1,11 @@
+package com.ascendcorp.exam.exception;
+
+/**
+ * Thrown when a bank's bulkhead has no free slot; the call is refused without waiting.
+ */
+public class BankBusyException extends BankUnavailableException{
+
+    public BankBusyException(String code, String message){
+        super(code, message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.ascendcorp.exam.exception;
+
+/**
+ * Thrown when a call would exceed the bank's request quota; the call is refused before it reaches the bank.
+ */
+public class BankRateLimitedException extends BankUnavailableException{
+
+    public BankRateLimitedException(String code, String message){
+        super(code, message);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ascendcorp.exam.exception;
+
+import org.springframework.boot.web.server.WebServerException;
+
+/**
+ * Transport failure of a bank call whose {@link Kind} was decided where the failure happened, so callers
+ * never have to read the message to know what went wrong.
+ */
+public class BankTransportException extends WebServerException {
+
+    public enum Kind {
+        /** Connection was not established in time; the bank never saw the request. */
+        CONNECT_TIMEOUT(true, true, true, true),
+        /** Bank refused or could not be reached; the bank never saw the request. */
+        CONNECT_REFUSED(false, true, true, true),
+        /** Request was sent but no reply came in time; the bank may have processed it. */
+        READ_TIMEOUT(true, false, false, true),
+        /** Call abandoned by this side (interrupt, losing hedge); says nothing about the bank. */
+        CANCELLED(false, false, false, false),
+        TRANSPORT_ERROR(false, false, false, true);
+
+        private final boolean timeout;
+        private final boolean connect;
+        private final boolean retryable;
+        private final boolean bankFault;
+
+        Kind(boolean timeout, boolean connect, boolean retryable, boolean bankFault) {
+            this.timeout = timeout;
+            this.connect = connect;
+            this.retryable = retryable;
+            this.bankFault = bankFault;
+        }
+
+        public boolean isTimeout() {
+            return timeout;
+        }
+
+        public boolean isConnect() {
+            return connect;
+        }
+
+        public boolean isRetryable() {
+            return retryable;
+        }
+
+        public boolean isBankFault() {
+            return bankFault;
+        }
+    }
+
+    private final Kind kind;
+
+    public BankTransportException(Kind kind, String message, Throwable cause) {
+        super(message, cause);
+        this.kind = kind;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ascendcorp.exam.exception;
+
+/**
+ * Thrown when a bank call is refused locally (circuit open, no capacity). It is raised on every
+ * request while a bank is down, so it skips stack trace capture.
+ */
+public class BankUnavailableException extends RuntimeException{
+
+    private final String code;
+
+    public BankUnavailableException(String code, String message){
+        super(message, null, false, false);
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+}
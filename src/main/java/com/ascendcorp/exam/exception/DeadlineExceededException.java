@@ -0,0 +1,12 @@
+package com.ascendcorp.exam.exception;
+
+/**
+ * Thrown when an inquiry's deadline passes before its work is done; the rest of the work is dropped.
+ * Raised for every late request under overload, so it skips stack trace capture.
+ */
+public class DeadlineExceededException extends RuntimeException{
+
+    public DeadlineExceededException(String message){
+        super(message, null, false, false);
+    }
+}
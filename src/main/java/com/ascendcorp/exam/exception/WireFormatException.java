@@ -0,0 +1,11 @@
+package com.ascendcorp.exam.exception;
+
+/**
+ * Thrown when a binary frame cannot be decoded: unknown version, wrong record type, or a truncated payload.
+ */
+public class WireFormatException extends RuntimeException{
+
+    public WireFormatException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,316 @@
+package com.ascendcorp.exam.journal;
+
+import com.ascendcorp.exam.codec.InquiryResultCodec;
+import com.ascendcorp.exam.codec.TransferRequestCodec;
+import com.ascendcorp.exam.codec.WireCodec;
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import com.ascendcorp.exam.model.TransferRequest;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only audit journal of inquiries, written through memory-mapped segment files.
+ * <p>
+ * Request threads only copy the request/result pair into a lock-free ring ({@link #append}); a single writer
+ * thread encodes records into the current segment and rolls over to a new file when it is full. When the ring
+ * is full the record is dropped and counted rather than making the request thread wait for the disk. A record
+ * the writer fails to encode or store is dropped and counted too, and the writer carries on; drops are logged
+ * at most once per second. Once {@link #close} starts, appends fail, and every append that returned
+ * {@code true} is written before the writer stops.
+ * <p>
+ * Segment layout: {@code magic:int, version:byte, 3 reserved bytes}, then records of
+ * {@code length:int, timestampMillis:long, flags:byte, request frame, [result frame]}. The length is written
+ * last, and a zero length marks the end of the segment.
+ */
+public class InquiryJournal implements AutoCloseable {
+
+    static final Logger log = Logger.getLogger(InquiryJournal.class);
+
+    static final int MAGIC = 0x494A4E4C;
+    static final byte VERSION = 1;
+    static final int SEGMENT_HEADER_SIZE = 8;
+    static final int RECORD_HEADER_SIZE = Integer.BYTES + Long.BYTES + 1;
+    static final int HAS_RESULT = 1;
+
+    private static final String SEGMENT_PREFIX = "inquiry-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FORCE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long DROP_WARNING_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int MAX_WRITE_BATCH = 1024;
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final MpscRing<JournalRecord> ring;
+    private final WireCodec<TransferRequest> requestCodec;
+    private final InquiryResultCodec resultCodec = new InquiryResultCodec();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong nextDropWarningNanos = new AtomicLong(System.nanoTime());
+    // CLOSED bit plus the number of appends in progress
+    private final AtomicLong appendState = new AtomicLong();
+    private final Thread writer;
+
+    private long nextSegmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private boolean dirty;
+    private long lastForceNanos;
+
+    public InquiryJournal(Path directory, int segmentSize, int ringCapacity) throws IOException {
+        this(directory, segmentSize, ringCapacity, new TransferRequestCodec());
+    }
+
+    InquiryJournal(Path directory, int segmentSize, int ringCapacity, WireCodec<TransferRequest> requestCodec)
+            throws IOException {
+        if (segmentSize < SEGMENT_HEADER_SIZE + RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("segmentSize too small: " + segmentSize);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.requestCodec = requestCodec;
+        this.ring = new MpscRing<>(ringCapacity);
+        List<Path> existing = segments(directory);
+        this.nextSegmentIndex = existing.isEmpty() ? 0 : segmentIndex(existing.get(existing.size() - 1)) + 1;
+        openNextSegment();
+        this.writer = new Thread(this::runWriter, "inquiry-journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues one inquiry for the writer thread. Never blocks; returns {@code false} when the journal is closed
+     * or the ring is full.
+     */
+    public boolean append(TransferRequest request, InquiryServiceResultDTO result) {
+        if (enterAppend()) {
+            try {
+                if (ring.offer(JournalRecord.capture(System.currentTimeMillis(), request, result))) {
+                    return true;
+                }
+            } finally {
+                appendState.decrementAndGet();
+            }
+        }
+        recordDrop();
+        return false;
+    }
+
+    private boolean enterAppend() {
+        long state;
+        do {
+            state = appendState.get();
+            if ((state & CLOSED) != 0) {
+                return false;
+            }
+        } while (!appendState.compareAndSet(state, state + 1));
+        return true;
+    }
+
+    private void stopAppends() {
+        long state;
+        do {
+            state = appendState.get();
+        } while ((state & CLOSED) == 0 && !appendState.compareAndSet(state, state | CLOSED));
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Stops accepting records, writes everything already queued and forces the current segment to disk.
+     */
+    @Override
+    public void close() {
+        stopAppends();
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        long idleParkNanos = 1_000L;
+        try {
+            while (true) {
+                int batch = writeBatch(MAX_WRITE_BATCH);
+                forceIfDue();
+                if (batch > 0) {
+                    idleParkNanos = 1_000L;
+                } else if (appendState.get() == CLOSED) {
+                    // closed and no append in progress, so nothing can reach the ring after this drain
+                    writeBatch(Integer.MAX_VALUE);
+                    return;
+                } else {
+                    LockSupport.parkNanos(idleParkNanos);
+                    idleParkNanos = Math.min(idleParkNanos << 1, MAX_IDLE_PARK_NANOS);
+                }
+            }
+        } catch (Throwable ex) {
+            stopAppends();
+            log.fatal("Journal writer stopped, inquiries are no longer journaled", ex);
+            throw ex;
+        } finally {
+            long total = dropped.sum();
+            if (total > 0) {
+                log.warn("Journal closed after dropping " + total + " inquiries");
+            }
+            closeSegment();
+        }
+    }
+
+    private int writeBatch(int maxRecords) {
+        int count = 0;
+        JournalRecord record;
+        while (count < maxRecords && (record = ring.poll()) != null) {
+            try {
+                write(record);
+            } catch (RuntimeException ex) {
+                log.error("Cannot journal inquiry " + record.getRequest().getTransactionId() + ", dropped", ex);
+                recordDrop();
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private void write(JournalRecord record) {
+        InquiryServiceResultDTO result = record.getResult();
+        int length = RECORD_HEADER_SIZE + requestCodec.encodedSize(record.getRequest())
+                + (result != null ? resultCodec.encodedSize(result) : 0);
+        if (length > segmentSize - SEGMENT_HEADER_SIZE - Integer.BYTES) {
+            log.error("Journal record of " + length + " bytes exceeds segment size, dropped");
+            recordDrop();
+            return;
+        }
+        if (segment == null || segment.remaining() < length + Integer.BYTES) {
+            rollOver();
+            if (segment == null) {
+                recordDrop();
+                return;
+            }
+        }
+        int start = segment.position();
+        try {
+            segment.position(start + Integer.BYTES);
+            segment.putLong(record.getTimestampMillis());
+            segment.put((byte) (result != null ? HAS_RESULT : 0));
+            requestCodec.encode(record.getRequest(), segment);
+            if (result != null) {
+                resultCodec.encode(result, segment);
+            }
+        } catch (RuntimeException ex) {
+            // clear the partial record so its zero length still ends the segment for readers
+            for (int i = start; i < segment.position(); i++) {
+                segment.put(i, (byte) 0);
+            }
+            segment.position(start);
+            throw ex;
+        }
+        segment.putInt(start, length - Integer.BYTES);
+        dirty = true;
+        written.increment();
+    }
+
+    private void rollOver() {
+        closeSegment();
+        try {
+            openNextSegment();
+        } catch (IOException ex) {
+            log.error("Cannot open journal segment in " + directory, ex);
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        Path path = directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, nextSegmentIndex++, SEGMENT_SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segment.putInt(MAGIC).put(VERSION).put((byte) 0).put((byte) 0).put((byte) 0);
+        dirty = true;
+        lastForceNanos = System.nanoTime();
+    }
+
+    private void forceIfDue() {
+        if (System.nanoTime() - lastForceNanos < FORCE_INTERVAL_NANOS) {
+            return;
+        }
+        lastForceNanos = System.nanoTime();
+        if (dirty && segment != null) {
+            try {
+                segment.force();
+                dirty = false;
+            } catch (RuntimeException ex) {
+                log.error("Cannot force journal segment in " + directory, ex);
+            }
+        }
+    }
+
+    private void recordDrop() {
+        dropped.increment();
+        long now = System.nanoTime();
+        long next = nextDropWarningNanos.get();
+        if (now - next >= 0 && nextDropWarningNanos.compareAndSet(next, now + DROP_WARNING_INTERVAL_NANOS)) {
+            log.warn("Journal dropped an inquiry, " + dropped.sum() + " in total");
+        }
+    }
+
+    private void closeSegment() {
+        if (segment == null) {
+            return;
+        }
+        segment.force();
+        segment = null;
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            log.warn("Cannot close journal segment", ex);
+        }
+        channel = null;
+    }
+
+    static List<Path> segments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                segments.add(path);
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    private static long segmentIndex(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
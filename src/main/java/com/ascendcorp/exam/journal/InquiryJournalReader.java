@@ -0,0 +1,77 @@
+package com.ascendcorp.exam.journal;
+
+import com.ascendcorp.exam.codec.InquiryResultCodec;
+import com.ascendcorp.exam.codec.TransferRequestCodec;
+import com.ascendcorp.exam.exception.WireFormatException;
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import com.ascendcorp.exam.model.TransferRequest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Sequential scan of the segments written by {@link InquiryJournal}, oldest first. A segment is read up to
+ * its end marker or to the first record whose length points past the file (a torn write).
+ */
+public class InquiryJournalReader {
+
+    private final Path directory;
+    private final TransferRequestCodec requestCodec = new TransferRequestCodec();
+    private final InquiryResultCodec resultCodec = new InquiryResultCodec();
+
+    public InquiryJournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Passes every record to {@code consumer} in write order and returns how many were read.
+     */
+    public long scan(Consumer<JournalRecord> consumer) throws IOException {
+        long count = 0;
+        for (Path segment : InquiryJournal.segments(directory)) {
+            count += scanSegment(segment, consumer);
+        }
+        return count;
+    }
+
+    private long scanSegment(Path path, Consumer<JournalRecord> consumer) throws IOException {
+        MappedByteBuffer segment;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (segment.remaining() < InquiryJournal.SEGMENT_HEADER_SIZE || segment.getInt() != InquiryJournal.MAGIC) {
+            throw new WireFormatException("Not a journal segment: " + path);
+        }
+        byte version = segment.get();
+        if (version != InquiryJournal.VERSION) {
+            throw new WireFormatException("Unsupported journal version " + version + " in " + path);
+        }
+        segment.position(InquiryJournal.SEGMENT_HEADER_SIZE);
+        long count = 0;
+        while (segment.remaining() >= Integer.BYTES) {
+            int length = segment.getInt();
+            if (length <= 0 || length > segment.remaining()) {
+                break;
+            }
+            ByteBuffer record = segment.slice();
+            record.limit(length);
+            segment.position(segment.position() + length);
+            consumer.accept(readRecord(record));
+            count++;
+        }
+        return count;
+    }
+
+    private JournalRecord readRecord(ByteBuffer record) {
+        long timestampMillis = record.getLong();
+        int flags = record.get();
+        TransferRequest request = requestCodec.decode(record);
+        InquiryServiceResultDTO result = (flags & InquiryJournal.HAS_RESULT) != 0 ? resultCodec.decode(record) : null;
+        return new JournalRecord(timestampMillis, request, result);
+    }
+}
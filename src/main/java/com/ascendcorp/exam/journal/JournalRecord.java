@@ -0,0 +1,40 @@
+package com.ascendcorp.exam.journal;
+
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import com.ascendcorp.exam.model.TransferRequest;
+
+/**
+ * One journaled inquiry. {@code result} is {@code null} when the inquiry ended in an exception.
+ */
+public final class JournalRecord {
+
+    private final long timestampMillis;
+    private final TransferRequest request;
+    private final InquiryServiceResultDTO result;
+
+    public JournalRecord(long timestampMillis, TransferRequest request, InquiryServiceResultDTO result) {
+        this.timestampMillis = timestampMillis;
+        this.request = request;
+        this.result = result;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public TransferRequest getRequest() {
+        return request;
+    }
+
+    public InquiryServiceResultDTO getResult() {
+        return result;
+    }
+
+    /**
+     * Copies both mutable models so the caller may keep using them after the record is queued.
+     */
+    static JournalRecord capture(long timestampMillis, TransferRequest request, InquiryServiceResultDTO result) {
+        return new JournalRecord(timestampMillis, new TransferRequest(request),
+                result != null ? new InquiryServiceResultDTO(result) : null);
+    }
+}
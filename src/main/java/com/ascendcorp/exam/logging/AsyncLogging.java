@@ -0,0 +1,64 @@
+package com.ascendcorp.exam.logging;
+
+import org.apache.log4j.Appender;
+import org.apache.log4j.AsyncAppender;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Moves the root logger's appenders behind a non-blocking log4j {@link AsyncAppender}, so a request thread
+ * only enqueues the event and console/file I/O happens on the appender's dispatcher thread. When the buffer
+ * is full events are discarded and summarized instead of blocking the caller. {@link #close} flushes what is
+ * queued and closes the wrapped appenders, so it belongs to application shutdown.
+ */
+public final class AsyncLogging implements AutoCloseable {
+
+    public static final String APPENDER_NAME = "async";
+
+    private final Logger logger;
+    private final AsyncAppender asyncAppender;
+
+    private AsyncLogging(Logger logger, AsyncAppender asyncAppender) {
+        this.logger = logger;
+        this.asyncAppender = asyncAppender;
+    }
+
+    public static AsyncLogging install(int bufferSize) {
+        return install(Logger.getRootLogger(), bufferSize);
+    }
+
+    static synchronized AsyncLogging install(Logger root, int bufferSize) {
+        Appender existing = root.getAppender(APPENDER_NAME);
+        if (existing instanceof AsyncAppender) {
+            throw new IllegalStateException("Async logging is already installed");
+        }
+        AsyncAppender asyncAppender = new AsyncAppender();
+        asyncAppender.setName(APPENDER_NAME);
+        asyncAppender.setBufferSize(bufferSize);
+        asyncAppender.setBlocking(false);
+        asyncAppender.setLocationInfo(false);
+        List<Appender> appenders = new ArrayList<>();
+        for (Enumeration<?> e = root.getAllAppenders(); e.hasMoreElements(); ) {
+            appenders.add((Appender) e.nextElement());
+        }
+        for (Appender appender : appenders) {
+            root.removeAppender(appender);
+            asyncAppender.addAppender(appender);
+        }
+        root.addAppender(asyncAppender);
+        return new AsyncLogging(root, asyncAppender);
+    }
+
+    public int getBufferSize() {
+        return asyncAppender.getBufferSize();
+    }
+
+    @Override
+    public synchronized void close() {
+        logger.removeAppender(asyncAppender);
+        asyncAppender.close();
+    }
+}
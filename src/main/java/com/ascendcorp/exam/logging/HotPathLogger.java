@@ -0,0 +1,107 @@
+package com.ascendcorp.exam.logging;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Level-guarded, parameterized logging for per-request code. A message is only formatted, and a log4j event
+ * only created, when its level is enabled, so a disabled call allocates nothing.
+ * <p>
+ * {@link #sampled} is for per-request chatter: with a sample rate of {@code n} roughly one call in {@code n}
+ * is logged at INFO; every other call, or every call when the rate is {@code 0}, is logged at DEBUG.
+ */
+public final class HotPathLogger {
+
+    private final Logger logger;
+    private volatile int sampleRate;
+
+    public HotPathLogger(Logger logger) {
+        this.logger = logger;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        if (sampleRate < 0) {
+            throw new IllegalArgumentException("sampleRate must not be negative: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public void sampled(String message) {
+        int rate = sampleRate;
+        if (rate > 0 && logger.isInfoEnabled() && (rate == 1 || ThreadLocalRandom.current().nextInt(rate) == 0)) {
+            logger.info(message);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug(message);
+        }
+    }
+
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
+    public void debug(String pattern, Object argument) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(format(pattern, argument));
+        }
+    }
+
+    public void info(String pattern, Object argument) {
+        if (logger.isInfoEnabled()) {
+            logger.info(format(pattern, argument));
+        }
+    }
+
+    public void info(String pattern, Object first, Object second) {
+        if (logger.isInfoEnabled()) {
+            logger.info(format(pattern, first, second));
+        }
+    }
+
+    public void warn(String pattern, Object argument) {
+        if (logger.isEnabledFor(Level.WARN)) {
+            logger.warn(format(pattern, argument));
+        }
+    }
+
+    public void warn(String pattern, Object first, Object second) {
+        if (logger.isEnabledFor(Level.WARN)) {
+            logger.warn(format(pattern, first, second));
+        }
+    }
+
+    /**
+     * Replaces the first {@code {}} placeholder; extra placeholders are left as they are.
+     */
+    static String format(String pattern, Object argument) {
+        return format(pattern, 1, argument, null);
+    }
+
+    /**
+     * Replaces the first two {@code {}} placeholders; extra placeholders are left as they are.
+     */
+    static String format(String pattern, Object first, Object second) {
+        return format(pattern, 2, first, second);
+    }
+
+    private static String format(String pattern, int argumentCount, Object first, Object second) {
+        int firstAt = pattern.indexOf("{}");
+        if (firstAt < 0) {
+            return pattern;
+        }
+        StringBuilder message = new StringBuilder(pattern.length() + 32);
+        message.append(pattern, 0, firstAt).append(first);
+        int rest = firstAt + 2;
+        int secondAt = argumentCount > 1 ? pattern.indexOf("{}", rest) : -1;
+        if (secondAt >= 0) {
+            message.append(pattern, rest, secondAt).append(second);
+            rest = secondAt + 2;
+        }
+        return message.append(pattern, rest, pattern.length()).toString();
+    }
+}
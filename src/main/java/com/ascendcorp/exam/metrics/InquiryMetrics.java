@@ -0,0 +1,142 @@
+package com.ascendcorp.exam.metrics;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Inquiry latency per stage and per bank, channel and final reason code, plus counters for each
+ * failure path. Series are created on first use; after that, recording only does map lookups and
+ * atomic increments, without locks or allocation. Labels come from request data, so each level keeps
+ * at most a fixed number of values and records any further one under {@value #OTHER}.
+ */
+public class InquiryMetrics {
+
+    public enum Stage {
+        VALIDATION,
+        BANK_CALL,
+        MAPPING
+    }
+
+    public enum FailurePath {
+        VALIDATION,
+        SOCKET_TIMEOUT,
+        CONNECTION_TIMEOUT,
+        TRANSPORT_ERROR,
+        BANK_UNAVAILABLE,
+        BANK_BUSY,
+        RATE_LIMITED,
+        DEADLINE_EXCEEDED,
+        UNSUPPORTED_REPLY
+    }
+
+    static final String NONE = "-";
+    static final String OTHER = "other";
+
+    public static final int DEFAULT_MAX_BANKS = 64;
+    public static final int DEFAULT_MAX_CHANNELS = 16;
+    public static final int DEFAULT_MAX_REASON_CODES = 32;
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final FailurePath[] FAILURE_PATHS = FailurePath.values();
+
+    private final ConcurrentHashMap<String, BankSeries> banks = new ConcurrentHashMap<>();
+    private final AtomicLongArray failures = new AtomicLongArray(FAILURE_PATHS.length);
+    private final int maxBanks;
+    private final int maxChannels;
+    private final int maxReasonCodes;
+
+    public InquiryMetrics() {
+        this(DEFAULT_MAX_BANKS, DEFAULT_MAX_CHANNELS, DEFAULT_MAX_REASON_CODES);
+    }
+
+    /**
+     * @param maxBanks       bank codes with their own series
+     * @param maxChannels    channels with their own series, per bank
+     * @param maxReasonCodes reason codes with their own series, per bank and channel
+     */
+    public InquiryMetrics(int maxBanks, int maxChannels, int maxReasonCodes) {
+        if (maxBanks < 1 || maxChannels < 1 || maxReasonCodes < 1) {
+            throw new IllegalArgumentException("Metric label limits must be positive");
+        }
+        this.maxBanks = maxBanks;
+        this.maxChannels = maxChannels;
+        this.maxReasonCodes = maxReasonCodes;
+    }
+
+    public void recordStage(String bankCode, Stage stage, long nanos) {
+        bank(bankCode).stages[stage.ordinal()].record(nanos);
+    }
+
+    public void recordInquiry(String bankCode, String channel, String reasonCode, long nanos) {
+        bank(bankCode).histogram(keyOf(channel), keyOf(reasonCode)).record(nanos);
+    }
+
+    public void recordFailure(FailurePath path) {
+        failures.incrementAndGet(path.ordinal());
+    }
+
+    public InquiryMetricsSnapshot snapshot() {
+        List<InquiryMetricsSnapshot.StageSeries> stages = new ArrayList<>();
+        List<InquiryMetricsSnapshot.InquirySeries> inquiries = new ArrayList<>();
+        banks.forEach((bankCode, series) -> {
+            for (Stage stage : STAGES) {
+                stages.add(new InquiryMetricsSnapshot.StageSeries(
+                        bankCode, stage, series.stages[stage.ordinal()].snapshot()));
+            }
+            series.byChannel.forEach((channel, byReason) -> byReason.forEach((reasonCode, histogram) ->
+                    inquiries.add(new InquiryMetricsSnapshot.InquirySeries(
+                            bankCode, channel, reasonCode, histogram.snapshot()))));
+        });
+        Map<FailurePath, Long> failureCounts = new EnumMap<>(FailurePath.class);
+        for (FailurePath path : FAILURE_PATHS) {
+            failureCounts.put(path, failures.get(path.ordinal()));
+        }
+        return new InquiryMetricsSnapshot(stages, inquiries, failureCounts);
+    }
+
+    private BankSeries bank(String bankCode) {
+        return seriesOf(banks, keyOf(bankCode), maxBanks, BankSeries::new);
+    }
+
+    private static String keyOf(String label) {
+        return label == null ? NONE : label;
+    }
+
+    /**
+     * Series of {@code label}, or of {@link #OTHER} once {@code limit} labels have their own. Concurrent
+     * first uses may overshoot the limit by a few labels.
+     */
+    private static <T> T seriesOf(ConcurrentHashMap<String, T> series, String label, int limit,
+                                  Supplier<T> factory) {
+        T found = series.get(label);
+        if (found != null) {
+            return found;
+        }
+        String key = series.size() < limit ? label : OTHER;
+        return series.computeIfAbsent(key, unused -> factory.get());
+    }
+
+    private final class BankSeries {
+
+        final LatencyHistogram[] stages = new LatencyHistogram[STAGES.length];
+        final ConcurrentHashMap<String, ConcurrentHashMap<String, LatencyHistogram>> byChannel =
+                new ConcurrentHashMap<>();
+
+        BankSeries() {
+            for (int i = 0; i < stages.length; i++) {
+                stages[i] = new LatencyHistogram();
+            }
+        }
+
+        LatencyHistogram histogram(String channel, String reasonCode) {
+            ConcurrentHashMap<String, LatencyHistogram> byReason =
+                    seriesOf(byChannel, channel, maxChannels, ConcurrentHashMap::new);
+            return seriesOf(byReason, reasonCode, maxReasonCodes, LatencyHistogram::new);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.ascendcorp.exam.metrics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Point-in-time copy of {@link InquiryMetrics}, renderable in the Prometheus text format for scraping.
+ */
+public final class InquiryMetricsSnapshot {
+
+    private final List<StageSeries> stages;
+    private final List<InquirySeries> inquiries;
+    private final Map<InquiryMetrics.FailurePath, Long> failures;
+
+    InquiryMetricsSnapshot(List<StageSeries> stages, List<InquirySeries> inquiries,
+                           Map<InquiryMetrics.FailurePath, Long> failures) {
+        this.stages = Collections.unmodifiableList(stages);
+        this.inquiries = Collections.unmodifiableList(inquiries);
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    public List<StageSeries> getStages() {
+        return stages;
+    }
+
+    public List<InquirySeries> getInquiries() {
+        return inquiries;
+    }
+
+    public Map<InquiryMetrics.FailurePath, Long> getFailures() {
+        return failures;
+    }
+
+    public long getFailureCount(InquiryMetrics.FailurePath path) {
+        return failures.get(path);
+    }
+
+    public String toPrometheusText() {
+        StringBuilder text = new StringBuilder();
+        text.append("# TYPE inquiry_stage_seconds summary\n");
+        for (StageSeries series : stages) {
+            appendSummary(text, "inquiry_stage_seconds",
+                    "bank=\"" + series.bankCode + "\",stage=\"" + series.stage.name().toLowerCase(Locale.ROOT) + "\"",
+                    series.latency);
+        }
+        text.append("# TYPE inquiry_seconds summary\n");
+        for (InquirySeries series : inquiries) {
+            appendSummary(text, "inquiry_seconds", "bank=\"" + series.bankCode + "\",channel=\"" + series.channel
+                    + "\",reason=\"" + series.reasonCode + "\"", series.latency);
+        }
+        text.append("# TYPE inquiry_failures_total counter\n");
+        failures.forEach((path, count) -> text.append("inquiry_failures_total{path=\"")
+                .append(path.name().toLowerCase(Locale.ROOT)).append("\"} ").append(count).append('\n'));
+        return text.toString();
+    }
+
+    private static void appendSummary(StringBuilder text, String name, String labels, LatencyHistogram.Snapshot latency) {
+        appendQuantile(text, name, labels, "0.5", latency.getP50Nanos());
+        appendQuantile(text, name, labels, "0.9", latency.getP90Nanos());
+        appendQuantile(text, name, labels, "0.99", latency.getP99Nanos());
+        appendQuantile(text, name, labels, "0.999", latency.getP999Nanos());
+        text.append(name).append("_count{").append(labels).append("} ").append(latency.getCount()).append('\n');
+    }
+
+    private static void appendQuantile(StringBuilder text, String name, String labels, String quantile, long nanos) {
+        text.append(name).append('{').append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                .append(nanos / 1e9).append('\n');
+    }
+
+    public static final class StageSeries {
+
+        private final String bankCode;
+        private final InquiryMetrics.Stage stage;
+        private final LatencyHistogram.Snapshot latency;
+
+        StageSeries(String bankCode, InquiryMetrics.Stage stage, LatencyHistogram.Snapshot latency) {
+            this.bankCode = bankCode;
+            this.stage = stage;
+            this.latency = latency;
+        }
+
+        public String getBankCode() {
+            return bankCode;
+        }
+
+        public InquiryMetrics.Stage getStage() {
+            return stage;
+        }
+
+        public LatencyHistogram.Snapshot getLatency() {
+            return latency;
+        }
+    }
+
+    public static final class InquirySeries {
+
+        private final String bankCode;
+        private final String channel;
+        private final String reasonCode;
+        private final LatencyHistogram.Snapshot latency;
+
+        InquirySeries(String bankCode, String channel, String reasonCode, LatencyHistogram.Snapshot latency) {
+            this.bankCode = bankCode;
+            this.channel = channel;
+            this.reasonCode = reasonCode;
+            this.latency = latency;
+        }
+
+        public String getBankCode() {
+            return bankCode;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public String getReasonCode() {
+            return reasonCode;
+        }
+
+        public LatencyHistogram.Snapshot getLatency() {
+            return latency;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.ascendcorp.exam.model;
+
+/**
+ * Immutable counterpart of {@link InquiryServiceResultDTO}; balance and amount are minor units or
+ * {@link MoneyUnits#NO_AMOUNT}. Bank text that is not a plain decimal is kept as is, so converting back
+ * gives the original value.
+ */
+public final class CompactInquiryResult {
+
+    private final String tranId;
+    private final String reasonCode;
+    private final String reasonDesc;
+    private final long balanceMinor;
+    private final long amountMinor;
+    private final String refNo1;
+    private final String refNo2;
+    private final String accountName;
+    private final String balanceText;
+    private final String amountText;
+
+    public CompactInquiryResult(String tranId, String reasonCode, String reasonDesc, long balanceMinor,
+                                long amountMinor, String refNo1, String refNo2, String accountName) {
+        this(tranId, reasonCode, reasonDesc, balanceMinor, amountMinor, refNo1, refNo2, accountName, null, null);
+    }
+
+    private CompactInquiryResult(String tranId, String reasonCode, String reasonDesc, long balanceMinor,
+                                 long amountMinor, String refNo1, String refNo2, String accountName,
+                                 String balanceText, String amountText) {
+        this.tranId = tranId;
+        this.reasonCode = reasonCode;
+        this.reasonDesc = reasonDesc;
+        this.balanceMinor = balanceMinor;
+        this.amountMinor = amountMinor;
+        this.refNo1 = refNo1;
+        this.refNo2 = refNo2;
+        this.accountName = accountName;
+        this.balanceText = balanceText;
+        this.amountText = amountText;
+    }
+
+    public static CompactInquiryResult from(InquiryServiceResultDTO result) {
+        long balanceMinor = MoneyUnits.parseOrNone(result.getBalance());
+        long amountMinor = MoneyUnits.parseOrNone(result.getAmount());
+        return new CompactInquiryResult(result.getTranID(), result.getReasonCode(), result.getReasonDesc(),
+                balanceMinor, amountMinor, result.getRef_no1(), result.getRef_no2(), result.getAccountName(),
+                MoneyUnits.isPresent(balanceMinor) ? null : result.getBalance(),
+                MoneyUnits.isPresent(amountMinor) ? null : result.getAmount());
+    }
+
+    public InquiryServiceResultDTO toResultDTO() {
+        InquiryServiceResultDTO result = new InquiryServiceResultDTO();
+        result.setTranID(tranId);
+        result.setReasonCode(reasonCode);
+        result.setReasonDesc(reasonDesc);
+        result.setBalance(balanceText != null ? balanceText : MoneyUnits.format(balanceMinor));
+        result.setAmount(amountText != null ? amountText : MoneyUnits.format(amountMinor));
+        result.setRef_no1(refNo1);
+        result.setRef_no2(refNo2);
+        result.setAccountName(accountName);
+        return result;
+    }
+
+    public String getTranId() {
+        return tranId;
+    }
+
+    public String getReasonCode() {
+        return reasonCode;
+    }
+
+    public String getReasonDesc() {
+        return reasonDesc;
+    }
+
+    public long getBalanceMinor() {
+        return balanceMinor;
+    }
+
+    public long getAmountMinor() {
+        return amountMinor;
+    }
+
+    /**
+     * Bank balance text that could not be read as minor units, or {@code null}.
+     */
+    public String getBalanceText() {
+        return balanceText;
+    }
+
+    /**
+     * Bank amount text that could not be read as minor units, or {@code null}.
+     */
+    public String getAmountText() {
+        return amountText;
+    }
+
+    public String getRefNo1() {
+        return refNo1;
+    }
+
+    public String getRefNo2() {
+        return refNo2;
+    }
+
+    public String getAccountName() {
+        return accountName;
+    }
+}
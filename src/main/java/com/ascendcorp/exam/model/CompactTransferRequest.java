@@ -0,0 +1,207 @@
+package com.ascendcorp.exam.model;
+
+import java.util.Date;
+
+/**
+ * Immutable counterpart of {@link TransferRequest} for high-volume callers: the amount is a {@code long} of
+ * minor units (see {@link MoneyUnits}) and the transaction time is epoch millis, so building and validating
+ * one allocates no boxes and no {@link Date}.
+ */
+public final class CompactTransferRequest {
+
+    public static final long NO_TIME = Long.MIN_VALUE;
+
+    private final String transactionId;
+    private final long tranDateTimeMillis;
+    private final String channel;
+    private final String locationCode;
+    private final String bankCode;
+    private final String bankNumber;
+    private final long amountMinor;
+    private final String reference1;
+    private final String reference2;
+    private final String firstName;
+    private final String lastName;
+
+    private CompactTransferRequest(Builder builder) {
+        this.transactionId = builder.transactionId;
+        this.tranDateTimeMillis = builder.tranDateTimeMillis;
+        this.channel = builder.channel;
+        this.locationCode = builder.locationCode;
+        this.bankCode = builder.bankCode;
+        this.bankNumber = builder.bankNumber;
+        this.amountMinor = builder.amountMinor;
+        this.reference1 = builder.reference1;
+        this.reference2 = builder.reference2;
+        this.firstName = builder.firstName;
+        this.lastName = builder.lastName;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static CompactTransferRequest from(TransferRequest request) {
+        Date tranDateTime = request.getTranDateTime();
+        return builder()
+                .transactionId(request.getTransactionId())
+                .tranDateTimeMillis(tranDateTime != null ? tranDateTime.getTime() : NO_TIME)
+                .channel(request.getChannel())
+                .locationCode(request.getLocationCode())
+                .bankCode(request.getBankCode())
+                .bankNumber(request.getBankNumber())
+                .amountMinor(request.hasAmount() ? MoneyUnits.fromDouble(request.getAmount()) : MoneyUnits.NO_AMOUNT)
+                .reference1(request.getReference1())
+                .reference2(request.getReference2())
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .build();
+    }
+
+    public TransferRequest toTransferRequest() {
+        TransferRequest request = new TransferRequest();
+        request.setTransactionId(transactionId);
+        request.setTranDateTime(tranDateTimeMillis != NO_TIME ? new Date(tranDateTimeMillis) : null);
+        request.setChannel(channel);
+        request.setLocationCode(locationCode);
+        request.setBankCode(bankCode);
+        request.setBankNumber(bankNumber);
+        if (MoneyUnits.isPresent(amountMinor)) {
+            request.setAmount(MoneyUnits.toDouble(amountMinor));
+        }
+        request.setReference1(reference1);
+        request.setReference2(reference2);
+        request.setFirstName(firstName);
+        request.setLastName(lastName);
+        return request;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public long getTranDateTimeMillis() {
+        return tranDateTimeMillis;
+    }
+
+    public boolean hasTranDateTime() {
+        return tranDateTimeMillis != NO_TIME;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public String getLocationCode() {
+        return locationCode;
+    }
+
+    public String getBankCode() {
+        return bankCode;
+    }
+
+    public String getBankNumber() {
+        return bankNumber;
+    }
+
+    public long getAmountMinor() {
+        return amountMinor;
+    }
+
+    public boolean hasAmount() {
+        return MoneyUnits.isPresent(amountMinor);
+    }
+
+    public String getReference1() {
+        return reference1;
+    }
+
+    public String getReference2() {
+        return reference2;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public static final class Builder {
+
+        private String transactionId;
+        private long tranDateTimeMillis = NO_TIME;
+        private String channel;
+        private String locationCode;
+        private String bankCode;
+        private String bankNumber;
+        private long amountMinor = MoneyUnits.NO_AMOUNT;
+        private String reference1;
+        private String reference2;
+        private String firstName;
+        private String lastName;
+
+        private Builder() {
+        }
+
+        public Builder transactionId(String transactionId) {
+            this.transactionId = transactionId;
+            return this;
+        }
+
+        public Builder tranDateTimeMillis(long tranDateTimeMillis) {
+            this.tranDateTimeMillis = tranDateTimeMillis;
+            return this;
+        }
+
+        public Builder channel(String channel) {
+            this.channel = channel;
+            return this;
+        }
+
+        public Builder locationCode(String locationCode) {
+            this.locationCode = locationCode;
+            return this;
+        }
+
+        public Builder bankCode(String bankCode) {
+            this.bankCode = bankCode;
+            return this;
+        }
+
+        public Builder bankNumber(String bankNumber) {
+            this.bankNumber = bankNumber;
+            return this;
+        }
+
+        public Builder amountMinor(long amountMinor) {
+            this.amountMinor = amountMinor;
+            return this;
+        }
+
+        public Builder reference1(String reference1) {
+            this.reference1 = reference1;
+            return this;
+        }
+
+        public Builder reference2(String reference2) {
+            this.reference2 = reference2;
+            return this;
+        }
+
+        public Builder firstName(String firstName) {
+            this.firstName = firstName;
+            return this;
+        }
+
+        public Builder lastName(String lastName) {
+            this.lastName = lastName;
+            return this;
+        }
+
+        public CompactTransferRequest build() {
+            return new CompactTransferRequest(this);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.ascendcorp.exam.model;
+
+/**
+ * Immutable counterpart of {@link TransferResponse} with the balance parsed once into minor units. A balance
+ * that is not a plain decimal has no minor units but its bank text is kept, so converting back gives the
+ * original value.
+ */
+public final class CompactTransferResponse {
+
+    private final String responseCode;
+    private final String description;
+    private final String referenceCode1;
+    private final String referenceCode2;
+    private final long balanceMinor;
+    private final String bankTransactionId;
+    private final String balanceText;
+
+    public CompactTransferResponse(String responseCode, String description, String referenceCode1,
+                                   String referenceCode2, long balanceMinor, String bankTransactionId) {
+        this(responseCode, description, referenceCode1, referenceCode2, balanceMinor, bankTransactionId, null);
+    }
+
+    private CompactTransferResponse(String responseCode, String description, String referenceCode1,
+                                    String referenceCode2, long balanceMinor, String bankTransactionId,
+                                    String balanceText) {
+        this.responseCode = responseCode;
+        this.description = description;
+        this.referenceCode1 = referenceCode1;
+        this.referenceCode2 = referenceCode2;
+        this.balanceMinor = balanceMinor;
+        this.bankTransactionId = bankTransactionId;
+        this.balanceText = balanceText;
+    }
+
+    public static CompactTransferResponse from(TransferResponse response) {
+        long balanceMinor = MoneyUnits.parseOrNone(response.getBalance());
+        return new CompactTransferResponse(response.getResponseCode(), response.getDescription(),
+                response.getReferenceCode1(), response.getReferenceCode2(), balanceMinor,
+                response.getBankTransactionID(), MoneyUnits.isPresent(balanceMinor) ? null : response.getBalance());
+    }
+
+    public TransferResponse toTransferResponse() {
+        TransferResponse response = new TransferResponse();
+        response.setResponseCode(responseCode);
+        response.setDescription(description);
+        response.setReferenceCode1(referenceCode1);
+        response.setReferenceCode2(referenceCode2);
+        response.setBalance(balanceText != null ? balanceText : MoneyUnits.format(balanceMinor));
+        response.setBankTransactionID(bankTransactionId);
+        return response;
+    }
+
+    public String getResponseCode() {
+        return responseCode;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getReferenceCode1() {
+        return referenceCode1;
+    }
+
+    public String getReferenceCode2() {
+        return referenceCode2;
+    }
+
+    public long getBalanceMinor() {
+        return balanceMinor;
+    }
+
+    public boolean hasBalance() {
+        return MoneyUnits.isPresent(balanceMinor);
+    }
+
+    /**
+     * Bank balance text that could not be read as minor units, or {@code null}.
+     */
+    public String getBalanceText() {
+        return balanceText;
+    }
+
+    public String getBankTransactionId() {
+        return bankTransactionId;
+    }
+}
@@ -0,0 +1,137 @@
+package com.ascendcorp.exam.model;
+
+/**
+ * Caller-owned view of a shared {@link ImmutableInquiryResult}: getters read through to the shared result
+ * until the first setter call copies it into this instance.
+ */
+final class CopyOnWriteInquiryResult extends InquiryServiceResultDTO {
+
+    private static final long serialVersionUID = 1L;
+
+    private ImmutableInquiryResult shared;
+
+    CopyOnWriteInquiryResult(ImmutableInquiryResult shared) {
+        this.shared = shared;
+    }
+
+    private void copyOnWrite() {
+        ImmutableInquiryResult source = shared;
+        if (source == null) {
+            return;
+        }
+        shared = null;
+        super.setTranID(source.getTranID());
+        super.setNamespace(source.getNamespace());
+        super.setReasonCode(source.getReasonCode());
+        super.setReasonDesc(source.getReasonDesc());
+        super.setBalance(source.getBalance());
+        super.setRef_no1(source.getRef_no1());
+        super.setRef_no2(source.getRef_no2());
+        super.setAmount(source.getAmount());
+        super.setAccountName(source.getAccountName());
+    }
+
+    @Override
+    public String getTranID() {
+        return shared != null ? shared.getTranID() : super.getTranID();
+    }
+
+    @Override
+    public void setTranID(String tranID) {
+        copyOnWrite();
+        super.setTranID(tranID);
+    }
+
+    @Override
+    public String getReasonCode() {
+        return shared != null ? shared.getReasonCode() : super.getReasonCode();
+    }
+
+    @Override
+    public void setReasonCode(String reasonCode) {
+        copyOnWrite();
+        super.setReasonCode(reasonCode);
+    }
+
+    @Override
+    public String getReasonDesc() {
+        return shared != null ? shared.getReasonDesc() : super.getReasonDesc();
+    }
+
+    @Override
+    public void setReasonDesc(String reasonDesc) {
+        copyOnWrite();
+        super.setReasonDesc(reasonDesc);
+    }
+
+    @Override
+    public String getBalance() {
+        return shared != null ? shared.getBalance() : super.getBalance();
+    }
+
+    @Override
+    public void setBalance(String balance) {
+        copyOnWrite();
+        super.setBalance(balance);
+    }
+
+    @Override
+    public String getRef_no1() {
+        return shared != null ? shared.getRef_no1() : super.getRef_no1();
+    }
+
+    @Override
+    public void setRef_no1(String ref_no1) {
+        copyOnWrite();
+        super.setRef_no1(ref_no1);
+    }
+
+    @Override
+    public String getRef_no2() {
+        return shared != null ? shared.getRef_no2() : super.getRef_no2();
+    }
+
+    @Override
+    public void setRef_no2(String ref_no2) {
+        copyOnWrite();
+        super.setRef_no2(ref_no2);
+    }
+
+    @Override
+    public String getAmount() {
+        return shared != null ? shared.getAmount() : super.getAmount();
+    }
+
+    @Override
+    public void setAmount(String amount) {
+        copyOnWrite();
+        super.setAmount(amount);
+    }
+
+    @Override
+    public String getNamespace() {
+        return shared != null ? shared.getNamespace() : super.getNamespace();
+    }
+
+    @Override
+    public void setNamespace(String namespace) {
+        copyOnWrite();
+        super.setNamespace(namespace);
+    }
+
+    @Override
+    public String getAccountName() {
+        return shared != null ? shared.getAccountName() : super.getAccountName();
+    }
+
+    @Override
+    public void setAccountName(String accountName) {
+        copyOnWrite();
+        super.setAccountName(accountName);
+    }
+
+    @Override
+    public String toString() {
+        return shared != null ? shared.toString() : super.toString();
+    }
+}
@@ -0,0 +1,58 @@
+package com.ascendcorp.exam.model;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which an inquiry must be answered, measured on {@link System#nanoTime()} so it is immune
+ * to wall-clock changes once created. {@link #NONE} never expires.
+ */
+public final class Deadline {
+
+    public static final Deadline NONE = new Deadline(0L, false);
+
+    private final long expiresAtNanos;
+    private final boolean bounded;
+
+    private Deadline(long expiresAtNanos, boolean bounded) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.bounded = bounded;
+    }
+
+    public static Deadline after(long duration, TimeUnit unit) {
+        return new Deadline(System.nanoTime() + unit.toNanos(duration), true);
+    }
+
+    /**
+     * Deadline {@code budget} after the channel stamped the transaction; a request that waited in queues
+     * upstream arrives with less time left, or already expired.
+     */
+    public static Deadline fromTranDateTime(Date tranDateTime, long budget, TimeUnit unit) {
+        long remainingMillis = tranDateTime.getTime() + unit.toMillis(budget) - System.currentTimeMillis();
+        return after(remainingMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    public boolean isExpired() {
+        return bounded && System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    /**
+     * Time left, {@code 0} once expired and {@link Long#MAX_VALUE} for {@link #NONE}.
+     */
+    public long remaining(TimeUnit unit) {
+        if (!bounded) {
+            return Long.MAX_VALUE;
+        }
+        long remainingNanos = expiresAtNanos - System.nanoTime();
+        return remainingNanos <= 0 ? 0 : unit.convert(remainingNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? "Deadline[" + remaining(TimeUnit.MILLISECONDS) + " ms left]" : "Deadline[none]";
+    }
+}
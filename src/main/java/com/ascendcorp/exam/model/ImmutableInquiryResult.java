@@ -0,0 +1,88 @@
+package com.ascendcorp.exam.model;
+
+/**
+ * Read-only {@link InquiryServiceResultDTO} shared by every inquiry that ends in the same fixed outcome, so
+ * mapping and caching error replies need no allocation. Setters throw. It never leaves the service:
+ * {@code InquiryService} returns {@link #mutable(InquiryServiceResultDTO)}, a view that copies the shared
+ * result only when the caller first changes it.
+ */
+public final class ImmutableInquiryResult extends InquiryServiceResultDTO {
+
+    private static final long serialVersionUID = 1L;
+
+    public ImmutableInquiryResult(InquiryServiceResultDTO source) {
+        super(source);
+    }
+
+    public static ImmutableInquiryResult of(String reasonCode, String reasonDesc) {
+        InquiryServiceResultDTO source = new InquiryServiceResultDTO();
+        source.setReasonCode(reasonCode);
+        source.setReasonDesc(reasonDesc);
+        return new ImmutableInquiryResult(source);
+    }
+
+    /**
+     * The result itself when the caller may change it, otherwise a copy-on-write view of the shared result.
+     */
+    public static InquiryServiceResultDTO mutable(InquiryServiceResultDTO result) {
+        return result instanceof ImmutableInquiryResult
+                ? new CopyOnWriteInquiryResult((ImmutableInquiryResult) result) : result;
+    }
+
+    /**
+     * Copy for a caller to keep; shared results are already safe to hand out as they are.
+     */
+    public static InquiryServiceResultDTO copyOf(InquiryServiceResultDTO result) {
+        return result instanceof ImmutableInquiryResult ? result : new InquiryServiceResultDTO(result);
+    }
+
+    @Override
+    public void setTranID(String tranID) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setReasonCode(String reasonCode) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setReasonDesc(String reasonDesc) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setBalance(String balance) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setRef_no1(String ref_no1) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setRef_no2(String ref_no2) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setAmount(String amount) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setNamespace(String namespace) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setAccountName(String accountName) {
+        throw readOnly();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException(
+                "Shared inquiry result is read-only, use ImmutableInquiryResult.mutable");
+    }
+}
@@ -23,6 +23,21 @@ public class InquiryServiceResultDTO implements Serializable {
 
     private String accountName = null;
 
+    public InquiryServiceResultDTO() {
+    }
+
+    public InquiryServiceResultDTO(InquiryServiceResultDTO source) {
+        this.tranID = source.getTranID();
+        this.namespace = source.getNamespace();
+        this.reasonCode = source.getReasonCode();
+        this.reasonDesc = source.getReasonDesc();
+        this.balance = source.getBalance();
+        this.ref_no1 = source.getRef_no1();
+        this.ref_no2 = source.getRef_no2();
+        this.amount = source.getAmount();
+        this.accountName = source.getAccountName();
+    }
+
     public java.lang.String getTranID() {
         return tranID;
     }
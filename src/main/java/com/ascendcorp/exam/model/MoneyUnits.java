@@ -0,0 +1,121 @@
+package com.ascendcorp.exam.model;
+
+/**
+ * Fixed-point money with two decimal places, held as a {@code long} count of minor units (satang/cents).
+ * {@link #NO_AMOUNT} stands in for an absent amount so compact types never need a boxed value.
+ */
+public final class MoneyUnits {
+
+    public static final int SCALE = 2;
+
+    public static final long NO_AMOUNT = Long.MIN_VALUE;
+
+    private static final long MINOR_PER_MAJOR = 100L;
+
+    private MoneyUnits() {
+    }
+
+    public static long fromDouble(double amount) {
+        if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+            throw new IllegalArgumentException("Amount is not a number: " + amount);
+        }
+        return Math.round(amount * MINOR_PER_MAJOR);
+    }
+
+    public static double toDouble(long minorUnits) {
+        requirePresent(minorUnits);
+        return minorUnits / (double) MINOR_PER_MAJOR;
+    }
+
+    /**
+     * Parses a plain decimal such as {@code "1500"}, {@code "-20.5"} or {@code "0.75"} without going through
+     * {@code BigDecimal} or {@code double}. A {@code null} value yields {@link #NO_AMOUNT}.
+     */
+    public static long parse(CharSequence value) {
+        if (value == null) {
+            return NO_AMOUNT;
+        }
+        int length = value.length();
+        int index = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            index++;
+        }
+        long major = 0L;
+        int majorDigits = 0;
+        while (index < length && value.charAt(index) != '.') {
+            major = Math.addExact(Math.multiplyExact(major, 10L), digit(value, index++));
+            majorDigits++;
+        }
+        long minor = 0L;
+        int minorDigits = 0;
+        if (index < length) {
+            index++;
+            while (index < length) {
+                if (++minorDigits > SCALE) {
+                    throw new NumberFormatException("More than " + SCALE + " decimal places: " + value);
+                }
+                minor = minor * 10L + digit(value, index++);
+            }
+        }
+        if (majorDigits == 0 && minorDigits == 0) {
+            throw new NumberFormatException("Not an amount: \"" + value + "\"");
+        }
+        for (int i = minorDigits; i < SCALE; i++) {
+            minor *= 10L;
+        }
+        long units = Math.addExact(Math.multiplyExact(major, MINOR_PER_MAJOR), minor);
+        return negative ? -units : units;
+    }
+
+    /**
+     * Same as {@link #parse(CharSequence)}, but a value that is not a plain decimal with at most two places
+     * (blank, grouped, exponent, ...) yields {@link #NO_AMOUNT} instead of throwing. For bank-supplied text.
+     */
+    public static long parseOrNone(CharSequence value) {
+        try {
+            return parse(value);
+        } catch (NumberFormatException | ArithmeticException ex) {
+            return NO_AMOUNT;
+        }
+    }
+
+    /**
+     * Renders minor units with exactly two decimals, or {@code null} for {@link #NO_AMOUNT}.
+     */
+    public static String format(long minorUnits) {
+        if (minorUnits == NO_AMOUNT) {
+            return null;
+        }
+        long abs = Math.abs(minorUnits);
+        long minor = abs % MINOR_PER_MAJOR;
+        StringBuilder text = new StringBuilder(24);
+        if (minorUnits < 0) {
+            text.append('-');
+        }
+        text.append(abs / MINOR_PER_MAJOR).append('.');
+        if (minor < 10) {
+            text.append('0');
+        }
+        return text.append(minor).toString();
+    }
+
+    public static boolean isPresent(long minorUnits) {
+        return minorUnits != NO_AMOUNT;
+    }
+
+    private static void requirePresent(long minorUnits) {
+        if (minorUnits == NO_AMOUNT) {
+            throw new IllegalStateException("Amount is not set");
+        }
+    }
+
+    private static int digit(CharSequence value, int index) {
+        char c = value.charAt(index);
+        if (c < '0' || c > '9') {
+            throw new NumberFormatException("Not an amount: \"" + value + "\"");
+        }
+        return c - '0';
+    }
+}
@@ -10,12 +10,31 @@ public class TransferRequest {
     private String locationCode;
     private String bankCode;
     private String bankNumber;
-    private Double amount;
+    private double amount;
+    private boolean amountSet;
     private String reference1;
     private String reference2;
     private String firstName;
     private String lastName;
 
+    public TransferRequest() {
+    }
+
+    public TransferRequest(TransferRequest source) {
+        this.transactionId = source.transactionId;
+        this.tranDateTime = source.tranDateTime != null ? new Date(source.tranDateTime.getTime()) : null;
+        this.channel = source.channel;
+        this.locationCode = source.locationCode;
+        this.bankCode = source.bankCode;
+        this.bankNumber = source.bankNumber;
+        this.amount = source.amount;
+        this.amountSet = source.amountSet;
+        this.reference1 = source.reference1;
+        this.reference2 = source.reference2;
+        this.firstName = source.firstName;
+        this.lastName = source.lastName;
+    }
+
     public String getTransactionId() {
         return transactionId;
     }
@@ -70,6 +89,11 @@ public class TransferRequest {
 
     public void setAmount(double amount) {
         this.amount = amount;
+        this.amountSet = true;
+    }
+
+    public boolean hasAmount() {
+        return amountSet;
     }
 
     public String getReference1() {
@@ -30,16 +30,32 @@ public class TransferResponse {
         return referenceCode1;
     }
 
+    public void setReferenceCode1(String referenceCode1) {
+        this.referenceCode1 = referenceCode1;
+    }
+
     public String getReferenceCode2() {
         return referenceCode2;
     }
 
+    public void setReferenceCode2(String referenceCode2) {
+        this.referenceCode2 = referenceCode2;
+    }
+
     public String getBalance() {
         return amount;
     }
 
+    public void setBalance(String balance) {
+        this.amount = balance;
+    }
+
     public String getBankTransactionID() {
         return bankTransactionID;
     }
 
+    public void setBankTransactionID(String bankTransactionID) {
+        this.bankTransactionID = bankTransactionID;
+    }
+
 }
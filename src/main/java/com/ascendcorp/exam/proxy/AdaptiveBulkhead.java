@@ -0,0 +1,127 @@
+package com.ascendcorp.exam.proxy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits in-flight calls to one bank, with an AIMD limit driven by latency. A call that fails, or takes longer
+ * than {@code latencyTolerance} times the bank's recent minimum latency, cuts the limit by
+ * {@code backoffRatio}; a fast call made while the bulkhead was at least half used raises it by
+ * {@code 1 / limit}, so the limit grows by about one per round of calls.
+ * <p>
+ * Admission is a CAS on the in-flight count and never waits.
+ */
+public class AdaptiveBulkhead {
+
+    private final String bankCode;
+    private final Config config;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile int limit;
+    // guarded by this
+    private double estimatedLimit;
+    private long minLatencyNanos = Long.MAX_VALUE;
+    private int samplesSinceMinReset;
+
+    public AdaptiveBulkhead(String bankCode, Config config) {
+        this.bankCode = bankCode;
+        this.config = config;
+        this.estimatedLimit = config.initialLimit;
+        this.limit = config.initialLimit;
+    }
+
+    /**
+     * Returns {@code false} when the bank already has {@link #getLimit()} calls in flight. A granted call must
+     * be followed by exactly one of {@link #onSuccess}, {@link #onFailure} or {@link #onIgnored}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void onSuccess(long latencyNanos) {
+        int inFlightAtEnd = inFlight.getAndDecrement();
+        update(latencyNanos, false, inFlightAtEnd);
+    }
+
+    public void onFailure(long latencyNanos) {
+        int inFlightAtEnd = inFlight.getAndDecrement();
+        update(latencyNanos, true, inFlightAtEnd);
+    }
+
+    /**
+     * Releases a granted call without feeding its latency to the limit.
+     */
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public String getBankCode() {
+        return bankCode;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private synchronized void update(long latencyNanos, boolean failed, int inFlightAtEnd) {
+        if (latencyNanos < minLatencyNanos || ++samplesSinceMinReset >= config.minLatencyWindow) {
+            minLatencyNanos = latencyNanos;
+            samplesSinceMinReset = 0;
+        }
+        if (failed || latencyNanos > minLatencyNanos * config.latencyTolerance) {
+            estimatedLimit = Math.max(config.minLimit, estimatedLimit * config.backoffRatio);
+        } else if (inFlightAtEnd * 2 >= estimatedLimit) {
+            estimatedLimit = Math.min(config.maxLimit, estimatedLimit + 1.0d / estimatedLimit);
+        }
+        limit = (int) estimatedLimit;
+    }
+
+    public static final class Config {
+
+        private final int initialLimit;
+        private final int minLimit;
+        private final int maxLimit;
+        private final double backoffRatio;
+        private final double latencyTolerance;
+        private final int minLatencyWindow;
+
+        /**
+         * @param backoffRatio     factor applied to the limit on a slow or failed call, within (0, 1)
+         * @param latencyTolerance how many times the minimum latency a call may take before it counts as slow
+         * @param minLatencyWindow samples after which the minimum latency is re-learned, so the baseline can rise
+         */
+        public Config(int initialLimit, int minLimit, int maxLimit, double backoffRatio, double latencyTolerance,
+                      int minLatencyWindow) {
+            if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+                throw new IllegalArgumentException("Invalid bulkhead limits");
+            }
+            if (backoffRatio <= 0 || backoffRatio >= 1 || latencyTolerance < 1 || minLatencyWindow < 1) {
+                throw new IllegalArgumentException("Invalid bulkhead tuning");
+            }
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.backoffRatio = backoffRatio;
+            this.latencyTolerance = latencyTolerance;
+            this.minLatencyWindow = minLatencyWindow;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.ascendcorp.exam.proxy;
+
+import com.ascendcorp.exam.model.Deadline;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking counterpart of {@link BankCall}; failures complete the future instead of being thrown.
+ */
+@FunctionalInterface
+public interface AsyncBankCall {
+
+    CompletableFuture<TransferResponse> execute(TransferRequest transferRequest, Deadline deadline);
+
+    /**
+     * The failure a future completed with, unwrapped from {@link CompletionException}.
+     */
+    static Throwable causeOf(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+}
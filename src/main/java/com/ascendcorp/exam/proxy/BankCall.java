@@ -0,0 +1,11 @@
+package com.ascendcorp.exam.proxy;
+
+import com.ascendcorp.exam.model.Deadline;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+
+@FunctionalInterface
+public interface BankCall {
+
+    TransferResponse execute(TransferRequest transferRequest, Deadline deadline);
+}
@@ -0,0 +1,75 @@
+package com.ascendcorp.exam.proxy;
+
+import com.ascendcorp.exam.model.Deadline;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Wraps the bank calls made by {@code InquiryService}; interceptors run in list order, the first one
+ * outermost. Blocking calls go through {@link #intercept}, async and batch calls through
+ * {@link #interceptAsync}, which passes the call straight on unless an interceptor overrides it.
+ */
+public interface BankCallInterceptor {
+
+    TransferResponse intercept(TransferRequest transferRequest, Deadline deadline, BankCall next);
+
+    default CompletableFuture<TransferResponse> interceptAsync(TransferRequest transferRequest, Deadline deadline,
+                                                               AsyncBankCall next) {
+        return next.execute(transferRequest, deadline);
+    }
+
+    /**
+     * Whether each item of a gateway batch passes through this interceptor. Interceptors that count
+     * concurrent bank calls opt out, since a whole batch is a single call.
+     */
+    default boolean appliesToBatchItems() {
+        return true;
+    }
+
+    /**
+     * Wraps the single gateway call that carries one bank's batch. Only consulted for interceptors that
+     * opt out of {@link #appliesToBatchItems()}.
+     */
+    default <T> T interceptBatch(String bankCode, Supplier<T> batchCall) {
+        return batchCall.get();
+    }
+
+    static BankCall chain(List<? extends BankCallInterceptor> interceptors, BankCall gateway) {
+        BankCall call = gateway;
+        for (int i = interceptors.size() - 1; i >= 0; i--) {
+            BankCallInterceptor interceptor = interceptors.get(i);
+            BankCall next = call;
+            call = (transferRequest, deadline) -> interceptor.intercept(transferRequest, deadline, next);
+        }
+        return call;
+    }
+
+    /**
+     * Async chain in which an interceptor or gateway that throws fails the returned future instead.
+     */
+    static AsyncBankCall chainAsync(List<? extends BankCallInterceptor> interceptors, AsyncBankCall gateway) {
+        AsyncBankCall call = (transferRequest, deadline) -> {
+            try {
+                return gateway.execute(transferRequest, deadline);
+            } catch (RuntimeException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        };
+        for (int i = interceptors.size() - 1; i >= 0; i--) {
+            BankCallInterceptor interceptor = interceptors.get(i);
+            AsyncBankCall next = call;
+            call = (transferRequest, deadline) -> {
+                try {
+                    return interceptor.interceptAsync(transferRequest, deadline, next);
+                } catch (RuntimeException ex) {
+                    return CompletableFuture.failedFuture(ex);
+                }
+            };
+        }
+        return call;
+    }
+}
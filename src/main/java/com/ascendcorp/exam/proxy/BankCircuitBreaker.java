@@ -0,0 +1,169 @@
+package com.ascendcorp.exam.proxy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker for one bank over a count-based window of recent calls. Once the failure rate
+ * reaches the threshold it opens and refuses calls; after the open duration it lets a few probes
+ * through (half-open) and closes again when they all succeed.
+ */
+public class BankCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String bankCode;
+    private final Config config;
+    private final LongSupplier nanoClock;
+
+    private volatile State state = State.CLOSED;
+    // guarded by this
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+    private long openedAtNanos;
+    private int probesLeft;
+    private int probeSuccesses;
+
+    private final LongAdder rejected = new LongAdder();
+
+    public BankCircuitBreaker(String bankCode, Config config) {
+        this(bankCode, config, System::nanoTime);
+    }
+
+    BankCircuitBreaker(String bankCode, Config config, LongSupplier nanoClock) {
+        this.bankCode = bankCode;
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.window = new boolean[config.slidingWindowSize];
+    }
+
+    /**
+     * Returns {@code false} when the call must not reach the bank. A granted call must be followed by
+     * exactly one of {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()}.
+     */
+    public boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= config.openDurationNanos) {
+                state = State.HALF_OPEN;
+                probesLeft = config.halfOpenProbes;
+                probeSuccesses = 0;
+            }
+            if (state == State.HALF_OPEN && probesLeft > 0) {
+                probesLeft--;
+                return true;
+            }
+            if (state == State.CLOSED) {
+                return true;
+            }
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++probeSuccesses >= config.halfOpenProbes) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCalls >= config.minimumCalls
+                    && windowFailures * 100 >= config.failureRateThreshold * windowCalls) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * Releases a granted call whose outcome says nothing about the bank's health.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            probesLeft++;
+        }
+    }
+
+    public String getBankCode() {
+        return bankCode;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private void record(boolean failure) {
+        if (windowCalls == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = nanoClock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        windowIndex = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+    }
+
+    public static final class Config {
+
+        private final int failureRateThreshold;
+        private final int slidingWindowSize;
+        private final int minimumCalls;
+        private final long openDurationNanos;
+        private final int halfOpenProbes;
+
+        /**
+         * @param failureRateThreshold percentage of failed calls in the window that opens the circuit
+         */
+        public Config(int failureRateThreshold, int slidingWindowSize, int minimumCalls,
+                      long openDuration, TimeUnit unit, int halfOpenProbes) {
+            if (failureRateThreshold < 1 || failureRateThreshold > 100) {
+                throw new IllegalArgumentException("failureRateThreshold must be within 1..100");
+            }
+            if (slidingWindowSize < 1 || minimumCalls < 1 || minimumCalls > slidingWindowSize || halfOpenProbes < 1) {
+                throw new IllegalArgumentException("Invalid circuit breaker window");
+            }
+            this.failureRateThreshold = failureRateThreshold;
+            this.slidingWindowSize = slidingWindowSize;
+            this.minimumCalls = minimumCalls;
+            this.openDurationNanos = unit.toNanos(openDuration);
+            this.halfOpenProbes = halfOpenProbes;
+        }
+    }
+}
@@ -1,11 +1,24 @@
 package com.ascendcorp.exam.proxy;
 
+import com.ascendcorp.exam.exception.BankTransportException;
+import com.ascendcorp.exam.model.Deadline;
 import com.ascendcorp.exam.model.TransferRequest;
 import com.ascendcorp.exam.model.TransferResponse;
 import org.apache.log4j.Logger;
+import org.springframework.boot.web.server.WebServerException;
 import org.springframework.stereotype.Service;
 
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 
 @Service
@@ -13,6 +26,10 @@ public class BankProxyGateway {
 
     static final Logger log = Logger.getLogger(BankProxyGateway.class);
 
+    static final String LEGACY_SOCKET_TIMEOUT = "java.net.SocketTimeoutException";
+    static final String LEGACY_CONNECTION_TIMEOUT = "Connection timed out";
+    static final String SOCKET_CONNECT_TIMEOUT = "Connect timed out";
+
     public TransferResponse requestTransfer(
             String transactionId, Date tranDateTime, String channel,
             String bankCode, String bankNumber, double amount,
@@ -25,5 +42,104 @@ public class BankProxyGateway {
 
         return new TransferResponse();
     }
-}
 
+    /**
+     * Same as {@link #requestTransfer(TransferRequest)}, with the time the caller still has. A transport
+     * uses it to cap its connect and read timeouts for this one request.
+     */
+    public TransferResponse requestTransfer(TransferRequest transferRequest, Deadline deadline) {
+
+        return requestTransfer(transferRequest);
+    }
+
+    /**
+     * Non-blocking variant of {@link #requestTransfer(TransferRequest)}; the returned future completes
+     * on the transport's own threads, failing with the same exceptions the blocking call throws. This
+     * default runs the blocking call on the caller's thread.
+     */
+    public CompletableFuture<TransferResponse> requestTransferAsync(TransferRequest transferRequest) {
+
+        try {
+            return CompletableFuture.completedFuture(requestTransfer(transferRequest));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Same as {@link #requestTransferAsync(TransferRequest)}, with the time the caller still has.
+     */
+    public CompletableFuture<TransferResponse> requestTransferAsync(TransferRequest transferRequest,
+                                                                    Deadline deadline) {
+
+        return requestTransferAsync(transferRequest);
+    }
+
+    /**
+     * Sends transfers for one bank in a single call; responses come back in request order.
+     */
+    public List<TransferResponse> requestTransferBatch(String bankCode, List<TransferRequest> transferRequests) {
+
+        List<TransferResponse> responses = new ArrayList<>(transferRequests.size());
+        for (TransferRequest transferRequest : transferRequests) {
+            responses.add(requestTransfer(transferRequest));
+        }
+        return responses;
+    }
+
+    /**
+     * Kind of a failed bank call. A {@link BankTransportException} anywhere in the cause chain decides it,
+     * then the JDK network exceptions, read together with the phase their raise site reports; a plain
+     * {@link WebServerException} from a transport that does not classify its failures falls back to the
+     * wording it has always used.
+     */
+    public static BankTransportException.Kind classifyFailure(Throwable failure) {
+        for (Throwable current = failure; current != null; current = next(current)) {
+            BankTransportException.Kind kind = classifyOne(current);
+            if (kind != null) {
+                return kind;
+            }
+        }
+        return BankTransportException.Kind.TRANSPORT_ERROR;
+    }
+
+    private static BankTransportException.Kind classifyOne(Throwable failure) {
+        if (failure instanceof BankTransportException) {
+            return ((BankTransportException) failure).getKind();
+        } else if (failure instanceof HttpConnectTimeoutException) {
+            return BankTransportException.Kind.CONNECT_TIMEOUT;
+        } else if (failure instanceof SocketTimeoutException) {
+            // Socket.connect and socket reads raise the same type, the message names the phase that timed out
+            return messageContains(failure, SOCKET_CONNECT_TIMEOUT)
+                    ? BankTransportException.Kind.CONNECT_TIMEOUT : BankTransportException.Kind.READ_TIMEOUT;
+        } else if (failure instanceof HttpTimeoutException) {
+            return BankTransportException.Kind.READ_TIMEOUT;
+        } else if (failure instanceof ConnectException) {
+            // a connect the bank never answered fails with the OS timeout wording, not as a refusal
+            return messageContains(failure, LEGACY_CONNECTION_TIMEOUT)
+                    ? BankTransportException.Kind.CONNECT_TIMEOUT : BankTransportException.Kind.CONNECT_REFUSED;
+        } else if (failure instanceof NoRouteToHostException) {
+            return BankTransportException.Kind.CONNECT_REFUSED;
+        } else if (failure instanceof InterruptedException || failure instanceof InterruptedIOException
+                || failure instanceof CancellationException) {
+            return BankTransportException.Kind.CANCELLED;
+        } else if (failure instanceof WebServerException) {
+            if (messageContains(failure, LEGACY_SOCKET_TIMEOUT)) {
+                return BankTransportException.Kind.READ_TIMEOUT;
+            } else if (messageContains(failure, LEGACY_CONNECTION_TIMEOUT)) {
+                return BankTransportException.Kind.CONNECT_TIMEOUT;
+            }
+        }
+        return null;
+    }
+
+    private static boolean messageContains(Throwable failure, String text) {
+        String message = failure.getMessage();
+        return message != null && message.contains(text);
+    }
+
+    private static Throwable next(Throwable failure) {
+        Throwable cause = failure.getCause();
+        return cause == failure ? null : cause;
+    }
+}
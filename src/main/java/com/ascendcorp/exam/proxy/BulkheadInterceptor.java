@@ -0,0 +1,119 @@
+package com.ascendcorp.exam.proxy;
+
+import com.ascendcorp.exam.exception.BankBusyException;
+import com.ascendcorp.exam.model.Deadline;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+import org.springframework.boot.web.server.WebServerException;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * One {@link AdaptiveBulkhead} per {@code bankCode}, so a slow bank can only hold its own share of the
+ * worker threads. A full bulkhead fails fast with {@link BankBusyException}.
+ */
+public class BulkheadInterceptor implements BankCallInterceptor {
+
+    static final String BULKHEAD_FULL = "Too many in-flight calls to bank ";
+
+    private final AdaptiveBulkhead.Config config;
+    private final LongSupplier nanoClock;
+    private final Map<String, AdaptiveBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public BulkheadInterceptor(AdaptiveBulkhead.Config config) {
+        this(config, System::nanoTime);
+    }
+
+    BulkheadInterceptor(AdaptiveBulkhead.Config config, LongSupplier nanoClock) {
+        this.config = config;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public TransferResponse intercept(TransferRequest transferRequest, Deadline deadline, BankCall next) {
+        return callWithSlot(transferRequest.getBankCode(), () -> next.execute(transferRequest, deadline));
+    }
+
+    @Override
+    public CompletableFuture<TransferResponse> interceptAsync(TransferRequest transferRequest, Deadline deadline,
+                                                              AsyncBankCall next) {
+        AdaptiveBulkhead bulkhead = bulkheadFor(transferRequest.getBankCode());
+        if (!bulkhead.tryAcquire()) {
+            return CompletableFuture.failedFuture(new BankBusyException("503", BULKHEAD_FULL + bulkhead.getBankCode()));
+        }
+        long startNanos = nanoClock.getAsLong();
+        return next.execute(transferRequest, deadline).whenComplete((response, failure) -> {
+            if (failure == null) {
+                bulkhead.onSuccess(nanoClock.getAsLong() - startNanos);
+            } else if (CircuitBreakerInterceptor.isBankFault(AsyncBankCall.causeOf(failure))) {
+                bulkhead.onFailure(nanoClock.getAsLong() - startNanos);
+            } else {
+                bulkhead.onIgnored();
+            }
+        });
+    }
+
+    /**
+     * A gateway batch holds one slot however many inquiries it carries, so its items are not counted;
+     * the batch call itself takes the slot through {@link #interceptBatch}.
+     */
+    @Override
+    public boolean appliesToBatchItems() {
+        return false;
+    }
+
+    @Override
+    public <T> T interceptBatch(String bankCode, Supplier<T> batchCall) {
+        return callWithSlot(bankCode, batchCall);
+    }
+
+    private <T> T callWithSlot(String bankCode, Supplier<T> call) {
+        AdaptiveBulkhead bulkhead = bulkheadFor(bankCode);
+        if (!bulkhead.tryAcquire()) {
+            throw new BankBusyException("503", BULKHEAD_FULL + bulkhead.getBankCode());
+        }
+        long startNanos = nanoClock.getAsLong();
+        boolean recorded = false;
+        try {
+            T result = call.get();
+            bulkhead.onSuccess(nanoClock.getAsLong() - startNanos);
+            recorded = true;
+            return result;
+        } catch (WebServerException ex) {
+            if (BankProxyGateway.classifyFailure(ex).isBankFault()) {
+                bulkhead.onFailure(nanoClock.getAsLong() - startNanos);
+                recorded = true;
+            }
+            throw ex;
+        } finally {
+            if (!recorded) {
+                bulkhead.onIgnored();
+            }
+        }
+    }
+
+    public AdaptiveBulkhead bulkheadFor(String bankCode) {
+        AdaptiveBulkhead bulkhead = bulkheads.get(bankCode);
+        if (bulkhead == null) {
+            bulkhead = bulkheads.computeIfAbsent(bankCode, code -> new AdaptiveBulkhead(code, config));
+        }
+        return bulkhead;
+    }
+
+    public Map<String, Integer> getLimits() {
+        Map<String, Integer> limits = new TreeMap<>();
+        bulkheads.forEach((bankCode, bulkhead) -> limits.put(bankCode, bulkhead.getLimit()));
+        return limits;
+    }
+
+    public Map<String, Long> getRejectedCounts() {
+        Map<String, Long> rejected = new TreeMap<>();
+        bulkheads.forEach((bankCode, bulkhead) -> rejected.put(bankCode, bulkhead.getRejectedCount()));
+        return rejected;
+    }
+}
@@ -0,0 +1,99 @@
+package com.ascendcorp.exam.proxy;
+
+import com.ascendcorp.exam.exception.BankTransportException;
+import com.ascendcorp.exam.exception.BankUnavailableException;
+import com.ascendcorp.exam.model.Deadline;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+import org.springframework.boot.web.server.WebServerException;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * One {@link BankCircuitBreaker} per {@code bankCode}. Transport failures ({@link WebServerException})
+ * count against the bank unless they were {@link BankTransportException.Kind#CANCELLED cancelled} on this
+ * side; an open circuit fails fast with {@link BankUnavailableException}.
+ */
+public class CircuitBreakerInterceptor implements BankCallInterceptor {
+
+    static final String CIRCUIT_OPEN = "Circuit open for bank ";
+
+    private final BankCircuitBreaker.Config config;
+    private final LongSupplier nanoClock;
+    private final Map<String, BankCircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public CircuitBreakerInterceptor(BankCircuitBreaker.Config config) {
+        this(config, System::nanoTime);
+    }
+
+    CircuitBreakerInterceptor(BankCircuitBreaker.Config config, LongSupplier nanoClock) {
+        this.config = config;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public TransferResponse intercept(TransferRequest transferRequest, Deadline deadline, BankCall next) {
+        BankCircuitBreaker breaker = breakerFor(transferRequest.getBankCode());
+        if (!breaker.tryAcquirePermission()) {
+            throw new BankUnavailableException("503", CIRCUIT_OPEN + breaker.getBankCode());
+        }
+        boolean recorded = false;
+        try {
+            TransferResponse response = next.execute(transferRequest, deadline);
+            breaker.onSuccess();
+            recorded = true;
+            return response;
+        } catch (WebServerException ex) {
+            if (BankProxyGateway.classifyFailure(ex).isBankFault()) {
+                breaker.onFailure();
+                recorded = true;
+            }
+            throw ex;
+        } finally {
+            if (!recorded) {
+                breaker.onIgnored();
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransferResponse> interceptAsync(TransferRequest transferRequest, Deadline deadline,
+                                                              AsyncBankCall next) {
+        BankCircuitBreaker breaker = breakerFor(transferRequest.getBankCode());
+        if (!breaker.tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(
+                    new BankUnavailableException("503", CIRCUIT_OPEN + breaker.getBankCode()));
+        }
+        return next.execute(transferRequest, deadline).whenComplete((response, failure) -> {
+            if (failure == null) {
+                breaker.onSuccess();
+            } else if (isBankFault(AsyncBankCall.causeOf(failure))) {
+                breaker.onFailure();
+            } else {
+                breaker.onIgnored();
+            }
+        });
+    }
+
+    static boolean isBankFault(Throwable failure) {
+        return failure instanceof WebServerException && BankProxyGateway.classifyFailure(failure).isBankFault();
+    }
+
+    public BankCircuitBreaker breakerFor(String bankCode) {
+        BankCircuitBreaker breaker = breakers.get(bankCode);
+        if (breaker == null) {
+            breaker = breakers.computeIfAbsent(bankCode, code -> new BankCircuitBreaker(code, config, nanoClock));
+        }
+        return breaker;
+    }
+
+    public Map<String, BankCircuitBreaker.State> getStates() {
+        Map<String, BankCircuitBreaker.State> states = new TreeMap<>();
+        breakers.forEach((bankCode, breaker) -> states.put(bankCode, breaker.getState()));
+        return states;
+    }
+}
@@ -0,0 +1,310 @@
+package com.ascendcorp.exam.proxy;
+
+import com.ascendcorp.exam.exception.BankTransportException;
+import com.ascendcorp.exam.exception.DeadlineExceededException;
+import com.ascendcorp.exam.metrics.LatencyHistogram;
+import com.ascendcorp.exam.model.Deadline;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+import org.springframework.boot.web.server.WebServerException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Sends a second attempt of an inquiry when the first one is slower than the bank's recent latency at
+ * {@code percentile}; the first successful reply wins and the other is ignored. Inquiries are read-only and
+ * keyed by {@code transactionId}, so a duplicate attempt is idempotent. Hedges are paid for from the bank's
+ * {@link RetryBudget}.
+ * <p>
+ * Attempts run on the interceptor's bounded executor while the calling thread waits for the winner, at most
+ * until the deadline. The hedge is only sent while the first attempt is still in flight, and the attempt still
+ * running once the caller has its answer is cancelled. When every executor thread is busy the first attempt
+ * runs on the calling thread, unhedged.
+ */
+public class HedgingInterceptor implements BankCallInterceptor, AutoCloseable {
+
+    public static final int DEFAULT_MAX_THREADS = 200;
+
+    private final Config config;
+    private final ExecutorService executor;
+    private final LongSupplier nanoClock;
+    private final Map<String, BankHedge> hedges = new ConcurrentHashMap<>();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    public HedgingInterceptor(Config config) {
+        this(config, DEFAULT_MAX_THREADS);
+    }
+
+    public HedgingInterceptor(Config config, int maxThreads) {
+        this(config, new ThreadPoolExecutor(0, maxThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                daemonThreads()), System::nanoTime);
+    }
+
+    HedgingInterceptor(Config config, ExecutorService executor, LongSupplier nanoClock) {
+        this.config = config;
+        this.executor = executor;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public TransferResponse intercept(TransferRequest transferRequest, Deadline deadline, BankCall next) {
+        BankHedge hedge = hedgeFor(transferRequest.getBankCode());
+        hedge.budget.onRequest();
+        long delayNanos = hedge.delayNanos(nanoClock.getAsLong());
+        HedgedCall call = new HedgedCall();
+        Future<?> first = launch(transferRequest, deadline, next, hedge, call, false);
+        if (first == null) {
+            return next.execute(transferRequest, deadline);
+        }
+        Future<?> second = null;
+        long remainingNanos = deadline.remaining(TimeUnit.NANOSECONDS);
+        try {
+            return replyOf(call.winner.get(Math.min(delayNanos, remainingNanos), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException ex) {
+            if (delayNanos >= remainingNanos) {
+                throw deadlineExceeded(transferRequest);
+            }
+            if (call.startHedge()) {
+                if (hedge.budget.tryWithdraw()) {
+                    second = launch(transferRequest, deadline, next, hedge, call, true);
+                }
+                if (second != null) {
+                    hedged.increment();
+                } else {
+                    call.attemptEnded(null);
+                }
+            }
+            return replyOf(await(call.winner, transferRequest, deadline));
+        } catch (InterruptedException | ExecutionException ex) {
+            return rethrow(ex);
+        } finally {
+            first.cancel(true);
+            if (second != null) {
+                second.cancel(true);
+            }
+        }
+    }
+
+    public BankHedge hedgeFor(String bankCode) {
+        BankHedge hedge = hedges.get(bankCode);
+        if (hedge == null) {
+            hedge = hedges.computeIfAbsent(bankCode, code -> new BankHedge(config, nanoClock.getAsLong()));
+        }
+        return hedge;
+    }
+
+    public long getHedgedCount() {
+        return hedged.sum();
+    }
+
+    /**
+     * Hedged attempts that answered before the original one.
+     */
+    public long getHedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs one attempt on the executor; {@code null} when the executor has no free thread.
+     */
+    private Future<?> launch(TransferRequest transferRequest, Deadline deadline, BankCall next, BankHedge hedge,
+                             HedgedCall call, boolean isHedge) {
+        try {
+            return executor.submit(() -> {
+                long startNanos = nanoClock.getAsLong();
+                RuntimeException failure = null;
+                try {
+                    TransferResponse response = next.execute(transferRequest, deadline);
+                    hedge.latencies.record(nanoClock.getAsLong() - startNanos);
+                    call.winner.complete(new Reply(response, isHedge));
+                } catch (RuntimeException ex) {
+                    failure = ex;
+                }
+                call.attemptEnded(failure);
+            });
+        } catch (RejectedExecutionException ex) {
+            return null;
+        }
+    }
+
+    private TransferResponse replyOf(Reply reply) {
+        if (reply.hedge) {
+            hedgeWins.increment();
+        }
+        return reply.response;
+    }
+
+    private static Reply await(CompletableFuture<Reply> winner, TransferRequest transferRequest, Deadline deadline) {
+        try {
+            return winner.get(deadline.remaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw deadlineExceeded(transferRequest);
+        } catch (InterruptedException | ExecutionException ex) {
+            return rethrow(ex);
+        }
+    }
+
+    private static DeadlineExceededException deadlineExceeded(TransferRequest transferRequest) {
+        return new DeadlineExceededException("Deadline passed waiting for bank " + transferRequest.getBankCode());
+    }
+
+    private static <T> T rethrow(Exception ex) {
+        if (ex instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+            throw new BankTransportException(BankTransportException.Kind.CANCELLED,
+                    "Interrupted while waiting for bank reply", ex);
+        }
+        Throwable cause = ex.getCause();
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        throw new WebServerException("Bank call failed", cause);
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "bank-hedge-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Attempts of one inquiry. It fails with the last failure once every attempt has ended without a reply.
+     */
+    private static final class HedgedCall {
+
+        final CompletableFuture<Reply> winner = new CompletableFuture<>();
+        private final AtomicInteger inFlight = new AtomicInteger(1);
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        /**
+         * Claims the hedge slot, which is only free while the first attempt is still in flight.
+         */
+        boolean startHedge() {
+            return inFlight.compareAndSet(1, 2);
+        }
+
+        void attemptEnded(RuntimeException attemptFailure) {
+            if (attemptFailure != null) {
+                failure.set(attemptFailure);
+            }
+            if (inFlight.decrementAndGet() == 0 && failure.get() != null) {
+                winner.completeExceptionally(failure.get());
+            }
+        }
+    }
+
+    private static final class Reply {
+
+        final TransferResponse response;
+        final boolean hedge;
+
+        Reply(TransferResponse response, boolean hedge) {
+            this.response = response;
+            this.hedge = hedge;
+        }
+    }
+
+    /**
+     * Per-bank latency window and hedge delay. The delay is recomputed from the window at most once per
+     * refresh interval, and only once the window holds enough samples; a new window is then started so the
+     * delay follows the bank's recent behaviour.
+     */
+    public static final class BankHedge {
+
+        private final Config config;
+        private final RetryBudget budget;
+        private volatile LatencyHistogram latencies = new LatencyHistogram();
+        private volatile long delayNanos;
+        private volatile long refreshedAtNanos;
+
+        BankHedge(Config config, long nowNanos) {
+            this.config = config;
+            this.budget = new RetryBudget(config.budgetRatio, config.budgetMaxTokens);
+            this.delayNanos = config.maxDelayNanos;
+            this.refreshedAtNanos = nowNanos;
+        }
+
+        public long getDelayNanos() {
+            return delayNanos;
+        }
+
+        public RetryBudget getBudget() {
+            return budget;
+        }
+
+        long delayNanos(long nowNanos) {
+            if (nowNanos - refreshedAtNanos >= config.refreshIntervalNanos) {
+                refresh(nowNanos);
+            }
+            return delayNanos;
+        }
+
+        private synchronized void refresh(long nowNanos) {
+            if (nowNanos - refreshedAtNanos < config.refreshIntervalNanos) {
+                return;
+            }
+            LatencyHistogram window = latencies;
+            if (window.getCount() >= config.minSamples) {
+                long percentileNanos = window.valueAtQuantile(config.percentile);
+                delayNanos = Math.min(config.maxDelayNanos, Math.max(config.minDelayNanos, percentileNanos));
+                latencies = new LatencyHistogram();
+            }
+            refreshedAtNanos = nowNanos;
+        }
+    }
+
+    public static final class Config {
+
+        private final double percentile;
+        private final long minDelayNanos;
+        private final long maxDelayNanos;
+        private final int minSamples;
+        private final long refreshIntervalNanos;
+        private final double budgetRatio;
+        private final int budgetMaxTokens;
+
+        /**
+         * @param percentile      latency quantile, within (0, 1), after which the hedge is sent
+         * @param minDelay        lower bound of the hedge delay, so a fast bank is not hedged on noise
+         * @param maxDelay        upper bound of the hedge delay, also used until enough samples are seen
+         * @param refreshInterval how often the delay is recomputed from a fresh latency window
+         */
+        public Config(double percentile, long minDelay, long maxDelay, int minSamples, long refreshInterval,
+                      TimeUnit unit, double budgetRatio, int budgetMaxTokens) {
+            if (percentile <= 0 || percentile >= 1 || minDelay < 0 || maxDelay < minDelay || minSamples < 1) {
+                throw new IllegalArgumentException("Invalid hedging settings");
+            }
+            this.percentile = percentile;
+            this.minDelayNanos = unit.toNanos(minDelay);
+            this.maxDelayNanos = unit.toNanos(maxDelay);
+            this.minSamples = minSamples;
+            this.refreshIntervalNanos = unit.toNanos(refreshInterval);
+            this.budgetRatio = budgetRatio;
+            this.budgetMaxTokens = budgetMaxTokens;
+        }
+    }
+}
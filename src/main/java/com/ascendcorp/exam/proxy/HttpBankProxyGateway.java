@@ -0,0 +1,249 @@
+package com.ascendcorp.exam.proxy;
+
+import com.ascendcorp.exam.codec.TransferRequestCodec;
+import com.ascendcorp.exam.codec.TransferResponseCodec;
+import com.ascendcorp.exam.exception.BankBusyException;
+import com.ascendcorp.exam.exception.BankTransportException;
+import com.ascendcorp.exam.exception.WireFormatException;
+import com.ascendcorp.exam.model.Deadline;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BankProxyGateway} over HTTP. Each bank gets its own {@link HttpClient}, and so its own pool of
+ * keep-alive connections (multiplexed streams when the bank speaks HTTP/2); a TLS handshake is paid once
+ * per connection rather than once per call. At most {@code maxConnectionsPerBank} requests are in flight
+ * per bank, which also caps the pool. Requests and replies travel as {@link TransferRequestCodec} and
+ * {@link TransferResponseCodec} frames.
+ *
+ * <p>Failures are raised as {@link BankTransportException} with the kind already decided. Idle pooled
+ * connections are closed after {@code jdk.httpclient.keepalive.timeout} seconds (JDK default 1200).
+ */
+public class HttpBankProxyGateway extends BankProxyGateway {
+
+    static final String CONTENT_TYPE = "application/octet-stream";
+
+    private static final TransferRequestCodec REQUEST_CODEC = new TransferRequestCodec();
+    private static final TransferResponseCodec RESPONSE_CODEC = new TransferResponseCodec();
+
+    public static final class Config {
+
+        private final Map<String, URI> endpoints;
+        private final int maxConnectionsPerBank;
+        private final long connectTimeoutMillis;
+        private final long readTimeoutMillis;
+        private final boolean http2;
+
+        public Config(Map<String, URI> endpoints, int maxConnectionsPerBank, long connectTimeout, long readTimeout,
+                      TimeUnit unit, boolean http2) {
+            if (maxConnectionsPerBank < 1 || connectTimeout <= 0 || readTimeout <= 0) {
+                throw new IllegalArgumentException("Invalid HTTP gateway settings");
+            }
+            this.endpoints = Collections.unmodifiableMap(new LinkedHashMap<>(endpoints));
+            this.maxConnectionsPerBank = maxConnectionsPerBank;
+            this.connectTimeoutMillis = unit.toMillis(connectTimeout);
+            this.readTimeoutMillis = unit.toMillis(readTimeout);
+            this.http2 = http2;
+        }
+
+        /**
+         * Parses {@code BANK1=https://host/path,BANK2=...}; blank input gives no endpoints.
+         */
+        public static Map<String, URI> parseEndpoints(String endpoints) {
+            Map<String, URI> parsed = new LinkedHashMap<>();
+            if (endpoints == null || endpoints.trim().isEmpty()) {
+                return parsed;
+            }
+            for (String entry : endpoints.split(",")) {
+                int separator = entry.indexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Invalid bank endpoint: " + entry.trim());
+                }
+                parsed.put(entry.substring(0, separator).trim(), URI.create(entry.substring(separator + 1).trim()));
+            }
+            return parsed;
+        }
+    }
+
+    private static final class BankEndpoint {
+
+        final String bankCode;
+        final URI uri;
+        final HttpClient client;
+        final Semaphore connections;
+
+        BankEndpoint(String bankCode, URI uri, HttpClient client, int maxConnections) {
+            this.bankCode = bankCode;
+            this.uri = uri;
+            this.client = client;
+            this.connections = new Semaphore(maxConnections);
+        }
+    }
+
+    private final Config config;
+    private final Map<String, BankEndpoint> banks;
+
+    public HttpBankProxyGateway(Config config) {
+        this.config = config;
+        Map<String, BankEndpoint> banks = new LinkedHashMap<>();
+        config.endpoints.forEach((bankCode, uri) -> banks.put(bankCode,
+                new BankEndpoint(bankCode, uri, newClient(config), config.maxConnectionsPerBank)));
+        this.banks = Collections.unmodifiableMap(banks);
+    }
+
+    @Override
+    public TransferResponse requestTransfer(TransferRequest transferRequest) {
+        return requestTransfer(transferRequest, Deadline.NONE);
+    }
+
+    @Override
+    public TransferResponse requestTransfer(TransferRequest transferRequest, Deadline deadline) {
+        BankEndpoint bank = endpointFor(transferRequest.getBankCode());
+        HttpRequest request = newRequest(bank, transferRequest, deadline);
+        acquire(bank, deadline);
+        long startNanos = System.nanoTime();
+        try {
+            return decode(bank, bank.client.send(request, HttpResponse.BodyHandlers.ofByteArray()));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw failure(bank, ex);
+        } catch (IOException ex) {
+            throw failure(bank, ex, request, startNanos);
+        } finally {
+            bank.connections.release();
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransferResponse> requestTransferAsync(TransferRequest transferRequest) {
+        return requestTransferAsync(transferRequest, Deadline.NONE);
+    }
+
+    /**
+     * Never waits for a connection slot: a bank with every slot busy fails the future at once.
+     */
+    @Override
+    public CompletableFuture<TransferResponse> requestTransferAsync(TransferRequest transferRequest,
+                                                                    Deadline deadline) {
+        BankEndpoint bank = endpointFor(transferRequest.getBankCode());
+        HttpRequest request = newRequest(bank, transferRequest, deadline);
+        if (!bank.connections.tryAcquire()) {
+            CompletableFuture<TransferResponse> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(poolExhausted(bank));
+            return rejected;
+        }
+        long startNanos = System.nanoTime();
+        return bank.client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, ex) -> bank.connections.release())
+                .handle((response, ex) -> {
+                    if (ex != null) {
+                        throw failure(bank, ex instanceof CompletionException && ex.getCause() != null
+                                ? ex.getCause() : ex, request, startNanos);
+                    }
+                    return decode(bank, response);
+                });
+    }
+
+    public int getAvailableConnections(String bankCode) {
+        return endpointFor(bankCode).connections.availablePermits();
+    }
+
+    private void acquire(BankEndpoint bank, Deadline deadline) {
+        long waitMillis = Math.min(config.connectTimeoutMillis, deadline.remaining(TimeUnit.MILLISECONDS));
+        try {
+            if (!bank.connections.tryAcquire(waitMillis, TimeUnit.MILLISECONDS)) {
+                throw poolExhausted(bank);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw failure(bank, ex);
+        }
+    }
+
+    private HttpRequest newRequest(BankEndpoint bank, TransferRequest transferRequest, Deadline deadline) {
+        ByteBuffer body = ByteBuffer.allocate(REQUEST_CODEC.encodedSize(transferRequest));
+        REQUEST_CODEC.encode(transferRequest, body);
+        long timeoutMillis = Math.max(1, Math.min(config.readTimeoutMillis, deadline.remaining(TimeUnit.MILLISECONDS)));
+        return HttpRequest.newBuilder(bank.uri)
+                .timeout(Duration.ofMillis(timeoutMillis))
+                .header("Content-Type", CONTENT_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.array()))
+                .build();
+    }
+
+    private static TransferResponse decode(BankEndpoint bank, HttpResponse<byte[]> response) {
+        if (response.statusCode() != 200) {
+            throw new BankTransportException(BankTransportException.Kind.TRANSPORT_ERROR,
+                    "Bank " + bank.bankCode + " answered HTTP " + response.statusCode(), null);
+        }
+        try {
+            return RESPONSE_CODEC.decode(ByteBuffer.wrap(response.body()));
+        } catch (WireFormatException ex) {
+            throw new BankTransportException(BankTransportException.Kind.TRANSPORT_ERROR,
+                    "Unreadable reply from bank " + bank.bankCode, ex);
+        }
+    }
+
+    private BankEndpoint endpointFor(String bankCode) {
+        BankEndpoint bank = banks.get(bankCode);
+        if (bank == null) {
+            throw new BankTransportException(BankTransportException.Kind.TRANSPORT_ERROR,
+                    "No endpoint configured for bank " + bankCode, null);
+        }
+        return bank;
+    }
+
+    /**
+     * Local capacity, not a bank failure: neither retried nor counted against the bank's circuit.
+     */
+    private static BankBusyException poolExhausted(BankEndpoint bank) {
+        return new BankBusyException("503", "No free connection to bank " + bank.bankCode);
+    }
+
+    private static BankTransportException failure(BankEndpoint bank, Throwable cause) {
+        if (cause instanceof BankTransportException) {
+            return (BankTransportException) cause;
+        }
+        return new BankTransportException(classifyFailure(cause), "Bank " + bank.bankCode + " call failed", cause);
+    }
+
+    /**
+     * The JDK client reports its whole-request timeout as a connect timeout while a new connection is still
+     * being set up, even if the request may already be on the wire. Once the request timeout has run out,
+     * the failure is a read timeout, which is never retried.
+     */
+    private static BankTransportException failure(BankEndpoint bank, Throwable cause, HttpRequest request,
+                                                  long startNanos) {
+        BankTransportException failure = failure(bank, cause);
+        long requestTimeoutNanos = request.timeout().map(Duration::toNanos).orElse(Long.MAX_VALUE);
+        if (failure.getKind() == BankTransportException.Kind.CONNECT_TIMEOUT
+                && System.nanoTime() - startNanos >= requestTimeoutNanos) {
+            return new BankTransportException(BankTransportException.Kind.READ_TIMEOUT,
+                    "Bank " + bank.bankCode + " call timed out", cause);
+        }
+        return failure;
+    }
+
+    private static HttpClient newClient(Config config) {
+        return HttpClient.newBuilder()
+                .version(config.http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(config.connectTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.ascendcorp.exam.proxy;
+
+import com.ascendcorp.exam.exception.BankRateLimitedException;
+import com.ascendcorp.exam.exception.BankTransportException;
+import com.ascendcorp.exam.model.Deadline;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * One {@link TokenBucket} per {@code bankCode}, so calls stay within each partner bank's quota. In
+ * {@link Mode#REJECT} a call with no free permit fails at once with {@link BankRateLimitedException}; in
+ * {@link Mode#WAIT} it waits for its permit as long as that fits within {@code maxWait} and the deadline.
+ */
+public class RateLimitInterceptor implements BankCallInterceptor {
+
+    static final String RATE_LIMITED = "Rate limit reached for bank ";
+
+    public enum Mode {
+        REJECT,
+        WAIT
+    }
+
+    interface Sleeper {
+        void sleepNanos(long nanos) throws InterruptedException;
+    }
+
+    private final TokenBucket.Config defaults;
+    private final Map<String, TokenBucket.Config> bankConfigs;
+    private final Mode mode;
+    private final long maxWaitNanos;
+    private final LongSupplier nanoClock;
+    private final Sleeper sleeper;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimitInterceptor(TokenBucket.Config defaults, Map<String, TokenBucket.Config> bankConfigs, Mode mode,
+                                long maxWait, TimeUnit unit) {
+        this(defaults, bankConfigs, mode, maxWait, unit, System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+    }
+
+    RateLimitInterceptor(TokenBucket.Config defaults, Map<String, TokenBucket.Config> bankConfigs, Mode mode,
+                         long maxWait, TimeUnit unit, LongSupplier nanoClock, Sleeper sleeper) {
+        if (maxWait < 0) {
+            throw new IllegalArgumentException("Invalid rate limit wait");
+        }
+        this.defaults = defaults;
+        this.bankConfigs = Collections.unmodifiableMap(new LinkedHashMap<>(bankConfigs));
+        this.mode = mode;
+        this.maxWaitNanos = unit.toNanos(maxWait);
+        this.nanoClock = nanoClock;
+        this.sleeper = sleeper;
+    }
+
+    @Override
+    public TransferResponse intercept(TransferRequest transferRequest, Deadline deadline, BankCall next) {
+        TokenBucket bucket = bucketFor(transferRequest.getBankCode());
+        long waitNanos = reserve(bucket, deadline);
+        if (waitNanos > 0) {
+            try {
+                sleeper.sleepNanos(waitNanos);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new BankTransportException(BankTransportException.Kind.CANCELLED,
+                        "Interrupted waiting for rate limit of bank " + bucket.getBankCode(), ex);
+            }
+        }
+        return next.execute(transferRequest, deadline);
+    }
+
+    /**
+     * Waits for the permit on a timer rather than on the calling thread.
+     */
+    @Override
+    public CompletableFuture<TransferResponse> interceptAsync(TransferRequest transferRequest, Deadline deadline,
+                                                              AsyncBankCall next) {
+        long waitNanos = reserve(bucketFor(transferRequest.getBankCode()), deadline);
+        if (waitNanos == 0) {
+            return next.execute(transferRequest, deadline);
+        }
+        Executor afterWait = CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS);
+        return CompletableFuture.runAsync(() -> { }, afterWait)
+                .thenCompose(permitted -> next.execute(transferRequest, deadline));
+    }
+
+    private long reserve(TokenBucket bucket, Deadline deadline) {
+        long maxWait = mode == Mode.WAIT ? Math.min(maxWaitNanos, deadline.remaining(TimeUnit.NANOSECONDS)) : 0;
+        long waitNanos = bucket.reserve(maxWait);
+        if (waitNanos < 0) {
+            throw new BankRateLimitedException("503", RATE_LIMITED + bucket.getBankCode());
+        }
+        return waitNanos;
+    }
+
+    public TokenBucket bucketFor(String bankCode) {
+        TokenBucket bucket = buckets.get(bankCode);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(bankCode,
+                    code -> new TokenBucket(code, bankConfigs.getOrDefault(code, defaults), nanoClock));
+        }
+        return bucket;
+    }
+
+    /**
+     * Calls refused for want of a permit, per bank.
+     */
+    public Map<String, Long> getThrottledCounts() {
+        Map<String, Long> throttled = new TreeMap<>();
+        buckets.forEach((bankCode, bucket) -> throttled.put(bankCode, bucket.getThrottledCount()));
+        return throttled;
+    }
+
+    /**
+     * Calls that waited for their permit, per bank; only {@link Mode#WAIT} delays calls.
+     */
+    public Map<String, Long> getDelayedCounts() {
+        Map<String, Long> delayed = new TreeMap<>();
+        buckets.forEach((bankCode, bucket) -> delayed.put(bankCode, bucket.getDelayedCount()));
+        return delayed;
+    }
+
+    /**
+     * Parses per-bank quotas as {@code BANK1=20/40,BANK2=5/5} ({@code permitsPerSecond/burst}).
+     */
+    public static Map<String, TokenBucket.Config> parseBankConfigs(String value) {
+        Map<String, TokenBucket.Config> configs = new LinkedHashMap<>();
+        if (value == null || value.trim().isEmpty()) {
+            return configs;
+        }
+        for (String entry : value.split(",")) {
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid bank rate limit: " + entry.trim());
+            }
+            configs.put(entry.substring(0, separator).trim(), TokenBucket.Config.parse(entry.substring(separator + 1)));
+        }
+        return configs;
+    }
+}
@@ -0,0 +1,63 @@
+package com.ascendcorp.exam.proxy;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps extra bank calls (retries, hedges) to a fraction of the original ones. Every request deposits
+ * {@code ratio} of a token, every extra call withdraws a whole one, and the balance never exceeds
+ * {@code maxTokens}. While a bank is down the balance drains within {@code maxTokens} extra calls and then
+ * allows only {@code ratio} extra calls per request, so an outage cannot turn into a retry storm.
+ */
+public class RetryBudget {
+
+    private static final long TOKEN = 1000L;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+    private final LongAdder exhausted = new LongAdder();
+
+    public RetryBudget(double ratio, int maxTokens) {
+        if (ratio < 0 || ratio > 1 || maxTokens < 1) {
+            throw new IllegalArgumentException("ratio must be within 0..1 and maxTokens positive");
+        }
+        this.deposit = Math.round(ratio * TOKEN);
+        this.capacity = maxTokens * TOKEN;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    public void onRequest() {
+        while (true) {
+            long current = balance.get();
+            long next = Math.min(capacity, current + deposit);
+            if (next == current || balance.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    public boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < TOKEN) {
+                exhausted.increment();
+                return false;
+            }
+            if (balance.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    public double getTokens() {
+        return balance.get() / (double) TOKEN;
+    }
+
+    /**
+     * Extra calls refused because the budget was empty.
+     */
+    public long getExhaustedCount() {
+        return exhausted.sum();
+    }
+}
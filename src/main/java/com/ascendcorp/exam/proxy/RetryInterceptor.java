@@ -0,0 +1,130 @@
+package com.ascendcorp.exam.proxy;
+
+import com.ascendcorp.exam.exception.BankTransportException;
+import com.ascendcorp.exam.model.Deadline;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+import org.springframework.boot.web.server.WebServerException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Retries a bank call whose failure {@link BankTransportException.Kind#isRetryable() is retryable}: it
+ * never reached the bank and is safe to repeat. Attempts are bounded, spaced by exponential backoff with
+ * full jitter, and each retry must be paid for from the bank's {@link RetryBudget}. No retry is made whose
+ * backoff would outlast the deadline.
+ */
+public class RetryInterceptor implements BankCallInterceptor {
+
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final double budgetRatio;
+    private final int budgetMaxTokens;
+    private final Sleeper sleeper;
+    private final Map<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+    private final LongAdder retries = new LongAdder();
+
+    public RetryInterceptor(int maxAttempts, long baseBackoff, long maxBackoff, TimeUnit unit,
+                            double budgetRatio, int budgetMaxTokens) {
+        this(maxAttempts, baseBackoff, maxBackoff, unit, budgetRatio, budgetMaxTokens, Thread::sleep);
+    }
+
+    RetryInterceptor(int maxAttempts, long baseBackoff, long maxBackoff, TimeUnit unit,
+                     double budgetRatio, int budgetMaxTokens, Sleeper sleeper) {
+        if (maxAttempts < 1 || baseBackoff < 0 || maxBackoff < baseBackoff
+                || budgetRatio < 0 || budgetRatio > 1 || budgetMaxTokens < 1) {
+            throw new IllegalArgumentException("Invalid retry settings");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = unit.toMillis(baseBackoff);
+        this.maxBackoffMillis = unit.toMillis(maxBackoff);
+        this.budgetRatio = budgetRatio;
+        this.budgetMaxTokens = budgetMaxTokens;
+        this.sleeper = sleeper;
+    }
+
+    @Override
+    public TransferResponse intercept(TransferRequest transferRequest, Deadline deadline, BankCall next) {
+        RetryBudget budget = budgetFor(transferRequest.getBankCode());
+        budget.onRequest();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return next.execute(transferRequest, deadline);
+            } catch (WebServerException ex) {
+                long backoffMillis = backoffMillis(attempt);
+                if (attempt >= maxAttempts || !BankProxyGateway.classifyFailure(ex).isRetryable()
+                        || backoffMillis >= deadline.remaining(TimeUnit.MILLISECONDS) || !budget.tryWithdraw()) {
+                    throw ex;
+                }
+                retries.increment();
+                try {
+                    sleeper.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Same policy as {@link #intercept}, with the backoff waited on a timer rather than on a thread.
+     */
+    @Override
+    public CompletableFuture<TransferResponse> interceptAsync(TransferRequest transferRequest, Deadline deadline,
+                                                              AsyncBankCall next) {
+        RetryBudget budget = budgetFor(transferRequest.getBankCode());
+        budget.onRequest();
+        CompletableFuture<TransferResponse> result = new CompletableFuture<>();
+        attemptAsync(transferRequest, deadline, next, budget, 1, result);
+        return result;
+    }
+
+    private void attemptAsync(TransferRequest transferRequest, Deadline deadline, AsyncBankCall next,
+                              RetryBudget budget, int attempt, CompletableFuture<TransferResponse> result) {
+        next.execute(transferRequest, deadline).whenComplete((response, failure) -> {
+            if (failure == null) {
+                result.complete(response);
+                return;
+            }
+            Throwable cause = AsyncBankCall.causeOf(failure);
+            long backoffMillis = backoffMillis(attempt);
+            if (!(cause instanceof WebServerException) || attempt >= maxAttempts
+                    || !BankProxyGateway.classifyFailure(cause).isRetryable()
+                    || backoffMillis >= deadline.remaining(TimeUnit.MILLISECONDS) || !budget.tryWithdraw()) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            retries.increment();
+            CompletableFuture.delayedExecutor(backoffMillis, TimeUnit.MILLISECONDS).execute(
+                    () -> attemptAsync(transferRequest, deadline, next, budget, attempt + 1, result));
+        });
+    }
+
+    public RetryBudget budgetFor(String bankCode) {
+        RetryBudget budget = budgets.get(bankCode);
+        if (budget == null) {
+            budget = budgets.computeIfAbsent(bankCode, code -> new RetryBudget(budgetRatio, budgetMaxTokens));
+        }
+        return budget;
+    }
+
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
@@ -0,0 +1,116 @@
+package com.ascendcorp.exam.proxy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket for one bank, held as a single theoretical arrival time (GCRA): a permit is free once the
+ * clock has reached {@code tat - burst * interval}, and taking one moves {@code tat} on by one interval.
+ * The bucket starts full, refills one permit per {@code 1 / permitsPerSecond} and holds at most
+ * {@code burst}. The whole state is one {@code AtomicLong}, so taking a permit is a single CAS.
+ */
+public class TokenBucket {
+
+    private final String bankCode;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong theoreticalArrival;
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+
+    public TokenBucket(String bankCode, Config config) {
+        this(bankCode, config, System::nanoTime);
+    }
+
+    TokenBucket(String bankCode, Config config, LongSupplier nanoClock) {
+        this.bankCode = bankCode;
+        this.intervalNanos = config.intervalNanos;
+        this.burstNanos = config.burst * config.intervalNanos;
+        this.nanoClock = nanoClock;
+        this.theoreticalArrival = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    public boolean tryAcquire() {
+        return reserve(0) == 0;
+    }
+
+    /**
+     * Takes a permit that may only become free in the future. Returns how many nanoseconds the caller must
+     * wait before using it, {@code 0} if it is free now, or {@code -1} if the wait would exceed
+     * {@code maxWaitNanos}, in which case nothing is taken.
+     */
+    public long reserve(long maxWaitNanos) {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = theoreticalArrival.get();
+            long next = (current - now > 0 ? current : now) + intervalNanos;
+            long waitNanos = next - burstNanos - now;
+            if (waitNanos > maxWaitNanos) {
+                throttled.increment();
+                return -1;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                if (waitNanos <= 0) {
+                    return 0;
+                }
+                delayed.increment();
+                return waitNanos;
+            }
+        }
+    }
+
+    public String getBankCode() {
+        return bankCode;
+    }
+
+    /**
+     * Permits that could be taken right now without waiting.
+     */
+    public long getAvailablePermits() {
+        long now = nanoClock.getAsLong();
+        long current = theoreticalArrival.get();
+        long used = current - now > 0 ? current - now : 0;
+        return (burstNanos - used) / intervalNanos;
+    }
+
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    public long getDelayedCount() {
+        return delayed.sum();
+    }
+
+    public static final class Config {
+
+        private final long intervalNanos;
+        private final int burst;
+
+        /**
+         * @param permitsPerSecond sustained rate the bank allows
+         * @param burst            permits that may be taken back to back after an idle period
+         */
+        public Config(double permitsPerSecond, int burst) {
+            if (!(permitsPerSecond > 0) || burst < 1) {
+                throw new IllegalArgumentException("Invalid rate limit settings");
+            }
+            this.intervalNanos = Math.max(1L, Math.round(TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+            this.burst = burst;
+        }
+
+        /**
+         * Parses {@code permitsPerSecond/burst}, e.g. {@code 20/40}.
+         */
+        public static Config parse(String value) {
+            int separator = value.indexOf('/');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid rate limit: " + value);
+            }
+            return new Config(Double.parseDouble(value.substring(0, separator).trim()),
+                    Integer.parseInt(value.substring(separator + 1).trim()));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.ascendcorp.exam.service;
+
+/**
+ * Index-based view of a colon separated bank description ("short", "code:desc" and
+ * "prefix:code:desc"), matching {@code description.split(":")} without allocating.
+ * Segments are returned as packed {@code start/end} offsets into the original string.
+ */
+public final class BankDescriptionTokenizer {
+
+    private static final char SEPARATOR = ':';
+
+    private BankDescriptionTokenizer() {
+    }
+
+    /**
+     * Number of segments {@code split(":")} would return, trailing empty segments dropped.
+     */
+    public static int segmentCount(String description) {
+        if (description.indexOf(SEPARATOR) < 0) {
+            return 1;
+        }
+        int end = description.length();
+        while (end > 0 && description.charAt(end - 1) == SEPARATOR) {
+            end--;
+        }
+        if (end == 0) {
+            return 0;
+        }
+        int count = 1;
+        for (int i = 0; i < end; i++) {
+            if (description.charAt(i) == SEPARATOR) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Bounds of segment {@code index}, which must be below {@link #segmentCount(String)}.
+     */
+    public static long segment(String description, int index) {
+        int start = 0;
+        for (int i = 0; i < index; i++) {
+            start = description.indexOf(SEPARATOR, start) + 1;
+        }
+        int end = description.indexOf(SEPARATOR, start);
+        return pack(start, end < 0 ? description.length() : end);
+    }
+
+    public static int start(long segment) {
+        return (int) (segment >>> 32);
+    }
+
+    public static int end(long segment) {
+        return (int) segment;
+    }
+
+    public static int length(long segment) {
+        return end(segment) - start(segment);
+    }
+
+    /**
+     * Same test as {@code segment.trim().isEmpty()}.
+     */
+    public static boolean isBlank(String description, long segment) {
+        for (int i = start(segment), end = end(segment); i < end; i++) {
+            if (description.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean equalsIgnoreCase(String description, long segment, String value) {
+        return length(segment) == value.length()
+                && description.regionMatches(true, start(segment), value, 0, value.length());
+    }
+
+    /**
+     * Case-insensitive hash of the segment, equal to {@code segment.toLowerCase().hashCode()} for ASCII codes.
+     */
+    public static int hashIgnoreCase(String description, long segment) {
+        int hash = 0;
+        for (int i = start(segment), end = end(segment); i < end; i++) {
+            hash = 31 * hash + Character.toLowerCase(description.charAt(i));
+        }
+        return hash;
+    }
+
+    public static String substring(String description, long segment) {
+        return description.substring(start(segment), end(segment));
+    }
+
+    private static long pack(int start, int end) {
+        return ((long) start << 32) | (end & 0xFFFFFFFFL);
+    }
+}
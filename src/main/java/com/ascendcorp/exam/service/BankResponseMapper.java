@@ -0,0 +1,78 @@
+package com.ascendcorp.exam.service;
+
+import static com.ascendcorp.exam.service.InquiryService.GENERAL_INVALID_DATA;
+
+/**
+ * Maps non-approved bank descriptions to reason codes without throwing, so outage traffic
+ * does not pay for stack trace capture. Replies the bank contract does not define still
+ * fail with {@link IllegalStateException}.
+ */
+public class BankResponseMapper {
+
+    static final String INVALID_DATA = "invalid_data";
+    static final String TRANSACTION_ERROR = "transaction_error";
+    static final String UNKNOWN = "unknown";
+    static final String NOT_SUPPORT = "not_support";
+
+    static final InquiryOutcome GENERAL_INVALID_DATA_400 = InquiryOutcome.constant("400", GENERAL_INVALID_DATA);
+    static final InquiryOutcome INVALID_REQUEST = InquiryOutcome.constant(
+            TransferRequestValidator.INVALID_REQUEST_CODE, GENERAL_INVALID_DATA);
+    static final InquiryOutcome INTERNAL_ERROR = InquiryOutcome.of(InquiryService.ReasonCode.INTERNAL_ERROR);
+
+    private final ReasonCodeTable reasonCodeTable;
+
+    public BankResponseMapper() {
+        this(ReasonCodeTable.defaults());
+    }
+
+    public BankResponseMapper(ReasonCodeTable reasonCodeTable) {
+        this.reasonCodeTable = reasonCodeTable;
+    }
+
+    public ReasonCodeTable getReasonCodeTable() {
+        return reasonCodeTable;
+    }
+
+    public InquiryOutcome noResponse() {
+        return INTERNAL_ERROR;
+    }
+
+    public InquiryOutcome internalError() {
+        return INTERNAL_ERROR;
+    }
+
+    public InquiryOutcome noResponseCode() {
+        return GENERAL_INVALID_DATA_400;
+    }
+
+    public InquiryOutcome invalidRequest(String code) {
+        if (TransferRequestValidator.INVALID_REQUEST_CODE.equals(code)) {
+            return INVALID_REQUEST;
+        }
+        return InquiryOutcome.of(code, GENERAL_INVALID_DATA);
+    }
+
+    public InquiryOutcome notSupported() {
+        return map(NOT_SUPPORT, null);
+    }
+
+    public InquiryOutcome invalidData(String replyDesc) {
+        return map(INVALID_DATA, replyDesc);
+    }
+
+    public InquiryOutcome transactionError(String replyDesc) {
+        return map(TRANSACTION_ERROR, replyDesc);
+    }
+
+    public InquiryOutcome unknownCode(String replyDesc) {
+        return map(UNKNOWN, replyDesc);
+    }
+
+    public InquiryOutcome map(String responseCode, String replyDesc) {
+        ReasonCodeTable.ResponseRules rules = reasonCodeTable.rulesFor(responseCode);
+        if (rules == null || rules.isApproved()) {
+            throw new IllegalStateException("Unhandled response code: " + responseCode);
+        }
+        return rules.resolve(replyDesc);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ascendcorp.exam.service;
+
+public enum InquiryExecutionMode {
+    /** Fixed pool of platform threads; in-flight inquiries are capped by the pool size. */
+    PLATFORM,
+    /** One virtual thread per inquiry (Java 21+); blocking bank calls release their carrier thread. */
+    VIRTUAL
+}
@@ -0,0 +1,100 @@
+package com.ascendcorp.exam.service;
+
+import com.ascendcorp.exam.model.Deadline;
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import com.ascendcorp.exam.model.TransferRequest;
+import org.apache.log4j.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs blocking {@link InquiryService#inquiry(TransferRequest)} calls on a platform pool or on
+ * virtual threads. The build targets Java 11, so virtual threads are looked up at runtime and
+ * the executor falls back to the platform pool on older JVMs.
+ */
+public class InquiryExecutor implements AutoCloseable {
+
+    static final Logger log = Logger.getLogger(InquiryExecutor.class);
+
+    private final InquiryService inquiryService;
+    private final InquiryExecutionMode mode;
+    private final ExecutorService executorService;
+
+    public InquiryExecutor(InquiryService inquiryService, InquiryExecutionMode mode, int poolSize) {
+        this.inquiryService = inquiryService;
+        ExecutorService virtualThreads = mode == InquiryExecutionMode.VIRTUAL ? newVirtualThreadPerTaskExecutor() : null;
+        if (virtualThreads != null) {
+            this.mode = InquiryExecutionMode.VIRTUAL;
+            this.executorService = virtualThreads;
+        } else {
+            this.mode = InquiryExecutionMode.PLATFORM;
+            this.executorService = Executors.newFixedThreadPool(poolSize, new InquiryThreadFactory());
+        }
+    }
+
+    public CompletableFuture<InquiryServiceResultDTO> submit(TransferRequest transferRequest) {
+        return CompletableFuture.supplyAsync(() -> inquiryService.inquiry(transferRequest), executorService);
+    }
+
+    public CompletableFuture<InquiryServiceResultDTO> submit(TransferRequest transferRequest, Deadline deadline) {
+        return CompletableFuture.supplyAsync(() -> inquiryService.inquiry(transferRequest, deadline), executorService);
+    }
+
+    /**
+     * Mode actually in use, which is {@link InquiryExecutionMode#PLATFORM} when virtual threads were requested
+     * on a JVM without them.
+     */
+    public InquiryExecutionMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Waits up to 30 seconds for submitted inquiries, then interrupts the rest. An interrupted caller stops
+     * waiting at once and keeps its interrupt status.
+     */
+    @Override
+    public void close() {
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(30, TimeUnit.SECONDS)) {
+                executorService.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            MethodHandle factory = MethodHandles.publicLookup().findStatic(
+                    Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            return (ExecutorService) factory.invokeExact();
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            log.warn("Virtual threads need Java 21 or later, running inquiries on the platform pool");
+            return null;
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Cannot create virtual thread executor", ex);
+        }
+    }
+
+    private static final class InquiryThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "inquiry-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.ascendcorp.exam.service;
+
+import com.ascendcorp.exam.model.ImmutableInquiryResult;
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+
+import java.util.Objects;
+
+/**
+ * Reason code and description resolved for a non-approved bank reply, returned instead of thrown.
+ * Outcomes built with {@link #constant} carry a shared {@link ImmutableInquiryResult}, so
+ * {@link #asResult()} answers them without allocating.
+ */
+public final class InquiryOutcome {
+
+    private static final InquiryOutcome[] REASON_CODES = reasonCodeOutcomes();
+
+    private final String reasonCode;
+    private final String reasonDesc;
+    private final ImmutableInquiryResult template;
+
+    private InquiryOutcome(String reasonCode, String reasonDesc, boolean constant) {
+        this.reasonCode = reasonCode;
+        this.reasonDesc = reasonDesc;
+        this.template = constant ? ImmutableInquiryResult.of(reasonCode, reasonDesc) : null;
+    }
+
+    /**
+     * One-off outcome, for descriptions copied from a bank reply.
+     */
+    public static InquiryOutcome of(String reasonCode, String reasonDesc) {
+        return new InquiryOutcome(reasonCode, reasonDesc, false);
+    }
+
+    /**
+     * Outcome built once and handed out for every matching reply.
+     */
+    public static InquiryOutcome constant(String reasonCode, String reasonDesc) {
+        return new InquiryOutcome(reasonCode, reasonDesc, true);
+    }
+
+    public static InquiryOutcome of(InquiryService.ReasonCode reasonCode) {
+        return REASON_CODES[reasonCode.ordinal()];
+    }
+
+    public String getReasonCode() {
+        return reasonCode;
+    }
+
+    public String getReasonDesc() {
+        return reasonDesc;
+    }
+
+    /**
+     * Shared read-only result for constant outcomes, a new result otherwise.
+     */
+    public InquiryServiceResultDTO asResult() {
+        return template != null ? template : toResultDTO();
+    }
+
+    /**
+     * New result the caller may change.
+     */
+    public InquiryServiceResultDTO toResultDTO() {
+        InquiryServiceResultDTO resultDTO = new InquiryServiceResultDTO();
+        resultDTO.setReasonCode(reasonCode);
+        resultDTO.setReasonDesc(reasonDesc);
+        return resultDTO;
+    }
+
+    private static InquiryOutcome[] reasonCodeOutcomes() {
+        InquiryService.ReasonCode[] reasonCodes = InquiryService.ReasonCode.values();
+        InquiryOutcome[] outcomes = new InquiryOutcome[reasonCodes.length];
+        for (InquiryService.ReasonCode reasonCode : reasonCodes) {
+            outcomes[reasonCode.ordinal()] = constant(reasonCode.getCode(), reasonCode.getDescription());
+        }
+        return outcomes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof InquiryOutcome)) {
+            return false;
+        }
+        InquiryOutcome that = (InquiryOutcome) o;
+        return Objects.equals(reasonCode, that.reasonCode) && Objects.equals(reasonDesc, that.reasonDesc);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(reasonCode, reasonDesc);
+    }
+
+    @Override
+    public String toString() {
+        return "InquiryOutcome [reasonCode=" + reasonCode + ", reasonDesc=" + reasonDesc + "]";
+    }
+}
@@ -0,0 +1,240 @@
+package com.ascendcorp.exam.service;
+
+import com.ascendcorp.exam.logging.HotPathLogger;
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import com.ascendcorp.exam.model.TransferRequest;
+import org.apache.log4j.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * {@link Flow.Processor} running each upstream {@link TransferRequest} through
+ * {@link InquiryService#inquiryAsync(TransferRequest)} and emitting the results in upstream order to a single
+ * subscriber. Upstream is only asked for more while fewer than {@code maxConcurrency} inquiries are in flight
+ * or waiting for downstream demand, so a slow bank or a slow consumer throttles the publisher rather than
+ * growing a queue. An upstream error is delivered after the results already in flight.
+ */
+public class InquiryProcessor implements Flow.Processor<TransferRequest, InquiryServiceResultDTO> {
+
+    static final Logger log = Logger.getLogger(InquiryProcessor.class);
+    private static final HotPathLogger hotPathLog = new HotPathLogger(log);
+
+    private final Function<TransferRequest, CompletableFuture<InquiryServiceResultDTO>> inquiry;
+    private final int maxConcurrency;
+    private final Queue<CompletableFuture<InquiryServiceResultDTO>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicLong upstreamReceived = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile Flow.Subscription upstream;
+    private volatile Flow.Subscriber<? super InquiryServiceResultDTO> downstream;
+    private volatile boolean upstreamDone;
+    private volatile Throwable upstreamError;
+    private volatile Throwable downstreamError;
+    private volatile boolean cancelled;
+
+    // only touched inside drain()
+    private long upstreamRequested;
+    private boolean terminated;
+
+    public InquiryProcessor(InquiryService inquiryService, int maxConcurrency) {
+        this(inquiryService::inquiryAsync, maxConcurrency);
+    }
+
+    InquiryProcessor(Function<TransferRequest, CompletableFuture<InquiryServiceResultDTO>> inquiry,
+                     int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.inquiry = inquiry;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public synchronized void subscribe(Flow.Subscriber<? super InquiryServiceResultDTO> subscriber) {
+        if (downstream != null) {
+            subscriber.onSubscribe(NoSubscription.INSTANCE);
+            subscriber.onError(new IllegalStateException("InquiryProcessor allows a single subscriber"));
+            return;
+        }
+        downstream = subscriber;
+        subscriber.onSubscribe(new Downstream());
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        if (cancelled) {
+            subscription.cancel();
+            return;
+        }
+        drain();
+    }
+
+    @Override
+    public void onNext(TransferRequest transferRequest) {
+        if (cancelled) {
+            upstreamReceived.incrementAndGet();
+            return;
+        }
+        CompletableFuture<InquiryServiceResultDTO> result;
+        try {
+            result = inquiry.apply(transferRequest);
+        } catch (RuntimeException ex) {
+            result = CompletableFuture.failedFuture(ex);
+        }
+        // counted as pending before it stops counting as outstanding, so demand never overshoots
+        pendingCount.incrementAndGet();
+        pending.offer(result);
+        upstreamReceived.incrementAndGet();
+        result.whenComplete((inquiry, ex) -> drain());
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        upstreamError = throwable;
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    /**
+     * Emits finished results in order, terminates once upstream is done and nothing is pending, and tops up
+     * upstream demand. Runs on whichever thread signalled last; {@code wip} keeps it single threaded.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Flow.Subscriber<? super InquiryServiceResultDTO> subscriber = downstream;
+            if (cancelled) {
+                cancelUpstreamAndDiscard();
+            } else if (downstreamError != null && !terminated) {
+                terminated = true;
+                cancelUpstreamAndDiscard();
+                subscriber.onError(downstreamError);
+            } else if (subscriber != null && !terminated) {
+                emit(subscriber);
+                if (upstreamDone && pendingCount.get() == 0) {
+                    terminated = true;
+                    if (upstreamError != null) {
+                        subscriber.onError(upstreamError);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                } else {
+                    requestUpstream();
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void emit(Flow.Subscriber<? super InquiryServiceResultDTO> subscriber) {
+        long demand = requested.get();
+        long emitted = 0;
+        while (emitted != demand && !cancelled) {
+            CompletableFuture<InquiryServiceResultDTO> head = pending.peek();
+            if (head == null || !head.isDone()) {
+                break;
+            }
+            pending.poll();
+            pendingCount.decrementAndGet();
+            subscriber.onNext(resultOf(head));
+            emitted++;
+        }
+        if (emitted > 0 && demand != Long.MAX_VALUE) {
+            requested.addAndGet(-emitted);
+        }
+    }
+
+    private void requestUpstream() {
+        Flow.Subscription subscription = upstream;
+        if (subscription == null || upstreamDone) {
+            return;
+        }
+        long outstanding = upstreamRequested - upstreamReceived.get();
+        long wanted = maxConcurrency - pendingCount.get() - outstanding;
+        if (wanted > 0) {
+            upstreamRequested += wanted;
+            subscription.request(wanted);
+        }
+    }
+
+    private void cancelUpstreamAndDiscard() {
+        Flow.Subscription subscription = upstream;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        discardPending();
+    }
+
+    private void discardPending() {
+        CompletableFuture<InquiryServiceResultDTO> dropped;
+        while ((dropped = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            dropped.cancel(false);
+        }
+    }
+
+    private static InquiryServiceResultDTO resultOf(CompletableFuture<InquiryServiceResultDTO> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            hotPathLog.warn("Inquiry failed in stream: {}", ex.getCause());
+            return InquiryOutcome.of(InquiryService.ReasonCode.INTERNAL_ERROR).toResultDTO();
+        }
+    }
+
+    private final class Downstream implements Flow.Subscription {
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                downstreamError = new IllegalArgumentException("Demand must be positive, was " + n);
+                drain();
+                return;
+            }
+            requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+    }
+
+    private enum NoSubscription implements Flow.Subscription {
+        INSTANCE;
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.ascendcorp.exam.service;
+
+import com.ascendcorp.exam.cache.ExpiringCache;
+import com.ascendcorp.exam.model.ImmutableInquiryResult;
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Idempotent inquiry results keyed on {@code transactionId}. Concurrent retries of a transaction
+ * share one in-flight bank call; a loader that throws is not cached, so transport failures are
+ * retried. Every caller gets its own copy of the result unless it is a shared {@link ImmutableInquiryResult}.
+ */
+public class InquiryResultCache {
+
+    private final ExpiringCache<String, InquiryServiceResultDTO> results;
+    private final ConcurrentHashMap<String, CompletableFuture<InquiryServiceResultDTO>> inFlight =
+            new ConcurrentHashMap<>();
+    private final LongAdder collapsed = new LongAdder();
+
+    public InquiryResultCache(long timeToLive, TimeUnit unit, int maximumSize) {
+        this(new ExpiringCache<>(timeToLive, unit, maximumSize));
+    }
+
+    InquiryResultCache(ExpiringCache<String, InquiryServiceResultDTO> results) {
+        this.results = results;
+    }
+
+    public InquiryServiceResultDTO get(String transactionId, Supplier<InquiryServiceResultDTO> loader) {
+        InquiryServiceResultDTO cached = results.get(transactionId);
+        if (cached != null) {
+            return ImmutableInquiryResult.copyOf(cached);
+        }
+        CompletableFuture<InquiryServiceResultDTO> call = new CompletableFuture<>();
+        CompletableFuture<InquiryServiceResultDTO> running = inFlight.putIfAbsent(transactionId, call);
+        if (running != null) {
+            collapsed.increment();
+            return ImmutableInquiryResult.copyOf(await(running));
+        }
+        try {
+            InquiryServiceResultDTO result = loader.get();
+            results.put(transactionId, result);
+            call.complete(result);
+            return ImmutableInquiryResult.copyOf(result);
+        } catch (RuntimeException ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(transactionId, call);
+        }
+    }
+
+    public long getHitCount() {
+        return results.getHitCount();
+    }
+
+    public long getMissCount() {
+        return results.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return results.getEvictionCount();
+    }
+
+    /**
+     * Requests that joined another caller's in-flight bank call instead of making their own.
+     */
+    public long getCollapsedCount() {
+        return collapsed.sum();
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    private static InquiryServiceResultDTO await(CompletableFuture<InquiryServiceResultDTO> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+}
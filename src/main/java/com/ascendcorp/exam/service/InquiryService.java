@@ -1,22 +1,56 @@
 package com.ascendcorp.exam.service;
 
-import com.ascendcorp.exam.exception.*;
+import com.ascendcorp.exam.exception.BankBusyException;
+import com.ascendcorp.exam.exception.BankRateLimitedException;
+import com.ascendcorp.exam.exception.BankUnavailableException;
+import com.ascendcorp.exam.exception.DeadlineExceededException;
+import com.ascendcorp.exam.exception.GeneralInvalidDataException;
+import com.ascendcorp.exam.journal.InquiryJournal;
+import com.ascendcorp.exam.logging.HotPathLogger;
+import com.ascendcorp.exam.metrics.InquiryMetrics;
+import com.ascendcorp.exam.model.Deadline;
+import com.ascendcorp.exam.model.ImmutableInquiryResult;
 import com.ascendcorp.exam.model.InquiryServiceResultDTO;
 import com.ascendcorp.exam.model.TransferRequest;
 import com.ascendcorp.exam.model.TransferResponse;
+import com.ascendcorp.exam.proxy.AsyncBankCall;
+import com.ascendcorp.exam.proxy.BankCall;
+import com.ascendcorp.exam.proxy.BankCallInterceptor;
 import com.ascendcorp.exam.proxy.BankProxyGateway;
 import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.server.WebServerException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 @Service
 public class InquiryService {
 
     private final BankProxyGateway bankProxyGateway;
+    private BankCall bankCall;
+    private AsyncBankCall asyncBankCall;
+    private List<BankCallInterceptor> batchItemInterceptors = Collections.emptyList();
+    private List<BankCallInterceptor> batchCallInterceptors = Collections.emptyList();
+    private BankResponseMapper responseMapper = new BankResponseMapper();
+    private InquiryResultCache resultCache;
+    private NegativeResultCache negativeCache;
+    private InquiryMetrics metrics;
+    private InquiryJournal journal;
+    private long deadlineBudgetMillis;
+    private final TransferRequestValidator validator = new TransferRequestValidator();
     static final Logger log = Logger.getLogger(InquiryService.class);
+    private final HotPathLogger hotPathLog = new HotPathLogger(log);
 
     public static final String GENERAL_INVALID_DATA = "General Invalid Data";
 
@@ -24,126 +58,443 @@ public class InquiryService {
 
     public InquiryService(BankProxyGateway bankProxyGateway) {
         this.bankProxyGateway = bankProxyGateway;
+        this.bankCall = this::callGateway;
+        this.asyncBankCall = BankCallInterceptor.chainAsync(Collections.emptyList(), this::callGatewayAsync);
+    }
+
+    /**
+     * Interceptors guarding every bank call, outermost first: blocking, async and each item of a batch.
+     */
+    @Autowired(required = false)
+    public void setBankCallInterceptors(List<BankCallInterceptor> interceptors) {
+        this.bankCall = BankCallInterceptor.chain(interceptors, this::callGateway);
+        this.asyncBankCall = BankCallInterceptor.chainAsync(interceptors, this::callGatewayAsync);
+        List<BankCallInterceptor> batchItemInterceptors = new ArrayList<>();
+        List<BankCallInterceptor> batchCallInterceptors = new ArrayList<>();
+        for (BankCallInterceptor interceptor : interceptors) {
+            if (interceptor.appliesToBatchItems()) {
+                batchItemInterceptors.add(interceptor);
+            } else {
+                batchCallInterceptors.add(interceptor);
+            }
+        }
+        this.batchItemInterceptors = batchItemInterceptors;
+        this.batchCallInterceptors = batchCallInterceptors;
+    }
+
+    @Autowired(required = false)
+    public void setReasonCodeTable(ReasonCodeTable reasonCodeTable) {
+        this.responseMapper = new BankResponseMapper(reasonCodeTable);
+    }
+
+    @Autowired(required = false)
+    public void setResultCache(InquiryResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    @Autowired(required = false)
+    public void setNegativeCache(NegativeResultCache negativeCache) {
+        this.negativeCache = negativeCache;
+    }
+
+    @Autowired(required = false)
+    public void setMetrics(InquiryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Autowired(required = false)
+    public void setJournal(InquiryJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Per-request INFO lines are logged for about one inquiry in {@code sampleRate}, and at DEBUG otherwise.
+     */
+    @Value("${inquiry.logging.info-sample-rate:0}")
+    public void setLogSampleRate(int sampleRate) {
+        hotPathLog.setSampleRate(sampleRate);
+    }
+
+    /**
+     * Time a channel allows for an inquiry, counted from {@code tranDateTime}; {@code 0} disables the
+     * derived deadline.
+     */
+    @Value("${inquiry.deadline.budget-millis:0}")
+    public void setDeadlineBudgetMillis(long deadlineBudgetMillis) {
+        this.deadlineBudgetMillis = deadlineBudgetMillis;
     }
 
     public InquiryServiceResultDTO inquiry(TransferRequest transferRequest) {
-        InquiryServiceResultDTO respDTO;
+        return inquiry(transferRequest, deadlineFor(transferRequest));
+    }
+
+    /**
+     * Inquiry that must be answered by {@code deadline}. Work still pending when it passes is dropped, and
+     * the inquiry answers with {@link ReasonCode#DEADLINE_EXCEEDED}; the bank call gets the remaining time.
+     */
+    public InquiryServiceResultDTO inquiry(TransferRequest transferRequest, Deadline deadline) {
+        return ImmutableInquiryResult.mutable(answer(transferRequest, deadline));
+    }
+
+    /**
+     * Result of an inquiry, which is a shared {@link ImmutableInquiryResult} for fixed error outcomes. Public
+     * methods hand callers a copy-on-write view of those.
+     */
+    private InquiryServiceResultDTO answer(TransferRequest transferRequest, Deadline deadline) {
+        long startNanos = metrics != null ? System.nanoTime() : 0L;
+        InquiryServiceResultDTO result = null;
         try{
-            validateInquiry(transferRequest);
-            TransferResponse response = bankProxyGateway.requestTransfer(transferRequest);
-            respDTO = mapBankTransfer(response);
-        } catch (DataTypeInvalidException ex) {
-            respDTO = new InquiryServiceResultDTO();
-            respDTO.setReasonCode("1091");
-            respDTO.setReasonDesc("Data type is invalid.");
-        } catch (GeneralInvalidDataException ex) {
-            respDTO = new InquiryServiceResultDTO();
-            String code = ex.getCode();
-            if (code.equalsIgnoreCase("400")){
-                respDTO.setReasonCode("400");
-                respDTO.setReasonDesc(GENERAL_INVALID_DATA);
-            } else if (code.equalsIgnoreCase("500")){
-                respDTO.setReasonCode("500");
-                respDTO.setReasonDesc(GENERAL_INVALID_DATA);
-            } else if (code.equalsIgnoreCase("501")){
-                respDTO.setReasonCode("501");
-                respDTO.setReasonDesc(GENERAL_INVALID_DATA);
-            } else if (code.equalsIgnoreCase("5001")){
-                respDTO.setReasonCode("5001");
-                respDTO.setReasonDesc("Unknown error code 5001");
-            } else if (code.equalsIgnoreCase("5002")){
-                respDTO.setReasonCode("5002");
-                respDTO.setReasonDesc(GENERAL_INVALID_DATA);
-            }
-        } catch (TransactionErrorException ex) {
-            respDTO = new InquiryServiceResultDTO();
-            String code = ex.getCode();
-            if (code.equalsIgnoreCase("98") ||
-                code.equalsIgnoreCase("1091") ||
-                code.equalsIgnoreCase("1092")){
-                respDTO.setReasonCode(ex.getCode());
-                respDTO.setReasonDesc(ex.getMessage());
+            if (checkInquiry(transferRequest) != null) {
+                recordFailure(InquiryMetrics.FailurePath.VALIDATION);
+                result = invalidRequest();
             } else {
-                respDTO.setReasonCode("400");
-                respDTO.setReasonDesc(GENERAL_TRANSACTION_ERROR);
+                recordStage(transferRequest, InquiryMetrics.Stage.VALIDATION, startNanos);
+                checkDeadline(transferRequest, deadline);
+                result = knownRejection(transferRequest);
+                if (result == null) {
+                    result = resultCache != null
+                            ? resultCache.get(transferRequest.getTransactionId(),
+                                    () -> requestBank(transferRequest, deadline))
+                            : requestBank(transferRequest, deadline);
+                }
             }
-        } catch(WebServerException ex) {
-            String faultString = ex.getMessage();
-            respDTO = new InquiryServiceResultDTO();
-            if(faultString != null && faultString.indexOf("java.net.SocketTimeoutException") > -1) {
-                // bank socket timeout
-                respDTO.setReasonCode(ReasonCode.SOCKET_TIMEOUT.code);
-                respDTO.setReasonDesc(ReasonCode.SOCKET_TIMEOUT.getDescription());
-            } else if (faultString != null && faultString.indexOf("Connection timed out") > -1) {
-                // bank connection timeout
-                respDTO.setReasonCode(ReasonCode.CONNECTION_TIMEOUT.getCode());
-                respDTO.setReasonDesc(ReasonCode.CONNECTION_TIMEOUT.getDescription());
-            } else {
-                // bank general error
-                respDTO.setReasonCode(ReasonCode.INTERNAL_ERROR.getCode());
-                respDTO.setReasonDesc(ReasonCode.INTERNAL_ERROR.description);
+        } catch (GeneralInvalidDataException | WebServerException | BankUnavailableException
+                | DeadlineExceededException | IllegalStateException ex) {
+            result = mapFailure(ex);
+        } finally {
+            if (metrics != null) {
+                metrics.recordInquiry(transferRequest.getBankCode(), transferRequest.getChannel(),
+                        result != null ? result.getReasonCode() : null, System.nanoTime() - startNanos);
+            }
+            if (journal != null) {
+                journal.append(transferRequest, result);
             }
-        } catch (InternalServerErrorException ex) {
-            respDTO = new InquiryServiceResultDTO();
-            respDTO.setReasonCode(ReasonCode.INTERNAL_ERROR.getCode());
-            respDTO.setReasonDesc(ReasonCode.INTERNAL_ERROR.description);
-        } catch (IllegalStateException ex){
-            throw new IllegalStateException("Unsupported Error Reason Code");
         }
+        return result;
+    }
 
-        return respDTO;
+    private InquiryServiceResultDTO requestBank(TransferRequest transferRequest, Deadline deadline) {
+        long startNanos = metrics != null ? System.nanoTime() : 0L;
+        TransferResponse response = bankCall.execute(transferRequest, deadline);
+        long mappingNanos = recordStage(transferRequest, InquiryMetrics.Stage.BANK_CALL, startNanos);
+        checkDeadline(transferRequest, deadline);
+        InquiryServiceResultDTO result = mapBankReply(transferRequest, response);
+        recordStage(transferRequest, InquiryMetrics.Stage.MAPPING, mappingNanos);
+        return result;
     }
 
-    public void validateInquiry(TransferRequest transferRequest) throws GeneralInvalidDataException {
-        Map<String, Supplier<Object>> validateField = Map.of(
-                "transactionId", transferRequest::getTransactionId,
-                "tranDateTime", transferRequest::getTranDateTime,
-                "channel", transferRequest::getChannel,
-                "bankCode", transferRequest::getBankCode,
-                "bankNumber", transferRequest::getBankNumber,
-                "amount", transferRequest::getAmount
-        );
-        log.info("Validate transferRequest");
-        validateField.forEach((fieldName, getValue) -> {
-            Object value = getValue.get();
-            if (value == null) {
-                log.info(fieldName + " is Required!");
-                throw new GeneralInvalidDataException("500", fieldName + " cannot be null");
-            } else if (value instanceof Double) {
-                Double doubleValue = (Double) value;
-                if (doubleValue < 1) {
-                    log.info(fieldName + " must more than                                                                                                                                                       a zero!");
-                    throw new GeneralInvalidDataException("500", fieldName + " must more than zero");
+    private InquiryServiceResultDTO knownRejection(TransferRequest transferRequest) {
+        return negativeCache != null ? negativeCache.get(transferRequest) : null;
+    }
+
+    /**
+     * Maps a bank reply and remembers it when the bank would reject the same request data again.
+     */
+    private InquiryServiceResultDTO mapBankReply(TransferRequest transferRequest, TransferResponse response) {
+        InquiryServiceResultDTO result = mapBankTransfer(response);
+        if (negativeCache != null && response != null
+                && negativeCache.isDeterministic(response.getResponseCode())) {
+            negativeCache.put(transferRequest, result);
+        }
+        return result;
+    }
+
+    /**
+     * Innermost bank call, after every interceptor: the last point to drop a request whose deadline passed
+     * before spending a bank round-trip on it.
+     */
+    private TransferResponse callGateway(TransferRequest transferRequest, Deadline deadline) {
+        if (!deadline.isBounded()) {
+            return bankProxyGateway.requestTransfer(transferRequest);
+        }
+        checkDeadline(transferRequest, deadline);
+        return bankProxyGateway.requestTransfer(transferRequest, deadline);
+    }
+
+    private CompletableFuture<TransferResponse> callGatewayAsync(TransferRequest transferRequest, Deadline deadline) {
+        CompletableFuture<TransferResponse> response;
+        if (!deadline.isBounded()) {
+            response = bankProxyGateway.requestTransferAsync(transferRequest);
+        } else {
+            checkDeadline(transferRequest, deadline);
+            response = bankProxyGateway.requestTransferAsync(transferRequest, deadline);
+        }
+        return response != null ? response : CompletableFuture.completedFuture(null);
+    }
+
+    private Deadline deadlineFor(TransferRequest transferRequest) {
+        if (deadlineBudgetMillis <= 0 || transferRequest.getTranDateTime() == null) {
+            return Deadline.NONE;
+        }
+        return Deadline.fromTranDateTime(transferRequest.getTranDateTime(), deadlineBudgetMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static void checkDeadline(TransferRequest transferRequest, Deadline deadline) {
+        if (deadline.isExpired()) {
+            throw new DeadlineExceededException("Deadline passed for transaction " + transferRequest.getTransactionId());
+        }
+    }
+
+    private InquiryServiceResultDTO invalidRequest() {
+        return responseMapper.invalidRequest(TransferRequestValidator.INVALID_REQUEST_CODE).asResult();
+    }
+
+    private long recordStage(TransferRequest transferRequest, InquiryMetrics.Stage stage, long startNanos) {
+        if (metrics == null) {
+            return 0L;
+        }
+        long now = System.nanoTime();
+        metrics.recordStage(transferRequest.getBankCode(), stage, now - startNanos);
+        return now;
+    }
+
+    /**
+     * Same validation and reason-code mapping as {@link #inquiry(TransferRequest)}, but the bank round-trip
+     * does not hold the calling thread.
+     */
+    public CompletableFuture<InquiryServiceResultDTO> inquiryAsync(TransferRequest transferRequest) {
+        long startNanos = metrics != null ? System.nanoTime() : 0L;
+        CompletableFuture<InquiryServiceResultDTO> result = requestBankAsync(transferRequest);
+        if (metrics != null) {
+            result.whenComplete((inquiry, ex) -> metrics.recordInquiry(transferRequest.getBankCode(),
+                    transferRequest.getChannel(), inquiry != null ? inquiry.getReasonCode() : null,
+                    System.nanoTime() - startNanos));
+        }
+        if (journal != null) {
+            result.whenComplete((inquiry, ex) -> journal.append(transferRequest, inquiry));
+        }
+        return result.thenApply(ImmutableInquiryResult::mutable);
+    }
+
+    private CompletableFuture<InquiryServiceResultDTO> requestBankAsync(TransferRequest transferRequest) {
+        if (checkInquiry(transferRequest) != null) {
+            return CompletableFuture.completedFuture(invalidRequest());
+        }
+        InquiryServiceResultDTO rejected = knownRejection(transferRequest);
+        if (rejected != null) {
+            return CompletableFuture.completedFuture(rejected);
+        }
+        return asyncBankCall.execute(transferRequest, deadlineFor(transferRequest))
+                .thenApply(reply -> mapBankReply(transferRequest, reply))
+                .exceptionally(this::mapAsyncFailure);
+    }
+
+    /**
+     * Validates every request, then sends one gateway batch per bank code. Each item still passes the bank
+     * call interceptors on its own, so an item refused by one of them is answered without joining the batch.
+     * Results keep the input order; a reply outside the bank contract maps to an internal error for that
+     * item instead of failing the batch.
+     */
+    public List<InquiryServiceResultDTO> inquiryBatch(List<TransferRequest> transferRequests) {
+        long startNanos = metrics != null ? System.nanoTime() : 0L;
+        InquiryServiceResultDTO[] results = new InquiryServiceResultDTO[transferRequests.size()];
+        List<CompletableFuture<TransferResponse>> replies = new ArrayList<>(Collections.nCopies(results.length, null));
+        Map<String, PendingBatch> batches = new LinkedHashMap<>();
+        for (int i = 0; i < results.length; i++) {
+            TransferRequest transferRequest = transferRequests.get(i);
+            Deadline deadline = deadlineFor(transferRequest);
+            if (checkInquiry(transferRequest) != null) {
+                results[i] = invalidRequest();
+            } else if (deadline.isExpired()) {
+                results[i] = mapFailure(new DeadlineExceededException("Deadline passed for transaction "
+                        + transferRequest.getTransactionId()));
+            } else {
+                results[i] = knownRejection(transferRequest);
+                if (results[i] == null) {
+                    PendingBatch batch = batches.computeIfAbsent(transferRequest.getBankCode(), PendingBatch::new);
+                    replies.set(i, batch.call.execute(transferRequest, deadline));
                 }
             }
-        });
-        log.info("Validate transferRequest Success");
+        }
+        batches.values().forEach(PendingBatch::send);
+        for (int i = 0; i < results.length; i++) {
+            TransferRequest transferRequest = transferRequests.get(i);
+            if (replies.get(i) != null) {
+                results[i] = mapBatchItem(transferRequest, replies.get(i));
+            }
+            if (metrics != null) {
+                metrics.recordInquiry(transferRequest.getBankCode(), transferRequest.getChannel(),
+                        results[i].getReasonCode(), System.nanoTime() - startNanos);
+            }
+            if (journal != null) {
+                journal.append(transferRequest, results[i]);
+            }
+            results[i] = ImmutableInquiryResult.mutable(results[i]);
+        }
+        return Arrays.asList(results);
     }
 
-    public InquiryServiceResultDTO mapBankTransfer(TransferResponse transferResponse) {
-        if (transferResponse != null) {
-            String responseCode = transferResponse.getResponseCode();
-            if (responseCode == null){
-                throw new GeneralInvalidDataException("400", GENERAL_INVALID_DATA);
-            } else {
-                if (responseCode.equalsIgnoreCase("approved")) {
-                    return approved(transferResponse);
-                } else if (responseCode.equalsIgnoreCase("invalid_data")) {
-                    invalidData(transferResponse);
-                } else if (responseCode.equalsIgnoreCase("transaction_error")) {
-                    transactionError(transferResponse);
-                } else if (responseCode.equalsIgnoreCase("unknown")) {
-                    unknownCode(transferResponse);
-                } else if (responseCode.equalsIgnoreCase("not_support")) {
-                    throw new InternalServerErrorException("504", "Internal Application Error");
-                } else {
-                    throw new IllegalStateException("Unhandled response code: " + responseCode);
+    private InquiryServiceResultDTO mapBatchItem(TransferRequest transferRequest,
+                                                 CompletableFuture<TransferResponse> reply) {
+        TransferResponse response;
+        try {
+            response = reply.join();
+        } catch (CompletionException ex) {
+            return mapAsyncFailure(ex);
+        }
+        try {
+            return mapBankReply(transferRequest, response);
+        } catch (IllegalStateException ex) {
+            hotPathLog.warn("Unsupported bank reply in batch: {}", ex.getMessage());
+            return responseMapper.internalError().asResult();
+        }
+    }
+
+    /**
+     * Innermost call of a batch item: collects the items for one gateway batch per bank. An item reaching it
+     * after {@link #send()}, because a rate limit wait or a retry delayed it, goes to the bank on its own.
+     */
+    private final class PendingBatch implements AsyncBankCall {
+
+        private final String bankCode;
+        private final AsyncBankCall call;
+        private final List<TransferRequest> requests = new ArrayList<>();
+        private final List<CompletableFuture<TransferResponse>> replies = new ArrayList<>();
+        private boolean sent;
+
+        PendingBatch(String bankCode) {
+            this.bankCode = bankCode;
+            this.call = BankCallInterceptor.chainAsync(batchItemInterceptors, this);
+        }
+
+        @Override
+        public CompletableFuture<TransferResponse> execute(TransferRequest transferRequest, Deadline deadline) {
+            synchronized (this) {
+                if (!sent) {
+                    CompletableFuture<TransferResponse> reply = new CompletableFuture<>();
+                    requests.add(transferRequest);
+                    replies.add(reply);
+                    return reply;
                 }
             }
-        } else {
-            throw new InternalServerErrorException("504", "Internal Application Error");
+            return callGatewayAsync(transferRequest, deadline);
+        }
+
+        void send() {
+            synchronized (this) {
+                sent = true;
+            }
+            if (requests.isEmpty()) {
+                return;
+            }
+            List<TransferResponse> responses;
+            try {
+                responses = callBatch();
+            } catch (RuntimeException ex) {
+                replies.forEach(reply -> reply.completeExceptionally(ex));
+                return;
+            }
+            for (int i = 0; i < replies.size(); i++) {
+                replies.get(i).complete(responses != null && i < responses.size() ? responses.get(i) : null);
+            }
+        }
+
+        /**
+         * The gateway batch call, wrapped by the interceptors that apply to a whole batch rather than its items.
+         */
+        private List<TransferResponse> callBatch() {
+            Supplier<List<TransferResponse>> call = () -> bankProxyGateway.requestTransferBatch(bankCode, requests);
+            for (int i = batchCallInterceptors.size() - 1; i >= 0; i--) {
+                BankCallInterceptor interceptor = batchCallInterceptors.get(i);
+                Supplier<List<TransferResponse>> next = call;
+                call = () -> interceptor.interceptBatch(bankCode, next);
+            }
+            return call.get();
+        }
+    }
+
+    InquiryServiceResultDTO mapFailure(RuntimeException ex) {
+        if (ex instanceof GeneralInvalidDataException) {
+            recordFailure(InquiryMetrics.FailurePath.VALIDATION);
+            return responseMapper.invalidRequest(((GeneralInvalidDataException) ex).getCode()).asResult();
+        } else if (ex instanceof WebServerException) {
+            switch (BankProxyGateway.classifyFailure(ex)) {
+                case READ_TIMEOUT:
+                    // bank socket timeout
+                    recordFailure(InquiryMetrics.FailurePath.SOCKET_TIMEOUT);
+                    return InquiryOutcome.of(ReasonCode.SOCKET_TIMEOUT).asResult();
+                case CONNECT_TIMEOUT:
+                    // bank connection timeout
+                    recordFailure(InquiryMetrics.FailurePath.CONNECTION_TIMEOUT);
+                    return InquiryOutcome.of(ReasonCode.CONNECTION_TIMEOUT).asResult();
+                default:
+                    // bank general error
+                    recordFailure(InquiryMetrics.FailurePath.TRANSPORT_ERROR);
+                    return InquiryOutcome.of(ReasonCode.INTERNAL_ERROR).asResult();
+            }
+        } else if (ex instanceof DeadlineExceededException) {
+            // answer is no longer wanted by the channel
+            recordFailure(InquiryMetrics.FailurePath.DEADLINE_EXCEEDED);
+            return InquiryOutcome.of(ReasonCode.DEADLINE_EXCEEDED).asResult();
+        } else if (ex instanceof BankRateLimitedException) {
+            // bank quota used up, no call was made
+            recordFailure(InquiryMetrics.FailurePath.RATE_LIMITED);
+            return InquiryOutcome.of(ReasonCode.BANK_RATE_LIMITED).asResult();
+        } else if (ex instanceof BankBusyException) {
+            // bank bulkhead full, no call was made
+            recordFailure(InquiryMetrics.FailurePath.BANK_BUSY);
+            return InquiryOutcome.of(ReasonCode.BANK_BUSY).asResult();
+        } else if (ex instanceof BankUnavailableException) {
+            // bank refused locally, no call was made
+            recordFailure(InquiryMetrics.FailurePath.BANK_UNAVAILABLE);
+            return InquiryOutcome.of(ReasonCode.BANK_UNAVAILABLE).asResult();
+        } else if (ex instanceof IllegalStateException) {
+            recordFailure(InquiryMetrics.FailurePath.UNSUPPORTED_REPLY);
+            throw new IllegalStateException("Unsupported Error Reason Code");
+        }
+        throw ex;
+    }
+
+    private void recordFailure(InquiryMetrics.FailurePath path) {
+        if (metrics != null) {
+            metrics.recordFailure(path);
+        }
+    }
+
+    private InquiryServiceResultDTO mapAsyncFailure(Throwable failure) {
+        Throwable cause = AsyncBankCall.causeOf(failure);
+        if (cause instanceof RuntimeException) {
+            return mapFailure((RuntimeException) cause);
+        }
+        throw new CompletionException(cause);
+    }
+
+    public void validateInquiry(TransferRequest transferRequest) throws GeneralInvalidDataException {
+        hotPathLog.sampled("Validate transferRequest");
+        validator.validate(transferRequest);
+        hotPathLog.sampled("Validate transferRequest Success");
+    }
+
+    public void validateInquiry(TransferRequest transferRequest, Deadline deadline)
+            throws GeneralInvalidDataException, DeadlineExceededException {
+        validateInquiry(transferRequest);
+        checkDeadline(transferRequest, deadline);
+    }
+
+    private TransferRequestValidator.Violation checkInquiry(TransferRequest transferRequest) {
+        hotPathLog.sampled("Validate transferRequest");
+        TransferRequestValidator.Violation violation = validator.check(transferRequest);
+        if (violation == null) {
+            hotPathLog.sampled("Validate transferRequest Success");
+        }
+        return violation;
+    }
+
+    public InquiryServiceResultDTO mapBankTransfer(TransferResponse transferResponse) {
+        if (transferResponse == null) {
+            return responseMapper.noResponse().asResult();
+        }
+        String responseCode = transferResponse.getResponseCode();
+        if (responseCode == null) {
+            return responseMapper.noResponseCode().asResult();
         }
-        throw new IllegalStateException("Unexpected error");
+        ReasonCodeTable.ResponseRules rules = responseMapper.getReasonCodeTable().rulesFor(responseCode);
+        if (rules == null) {
+            throw new IllegalStateException("Unhandled response code: " + responseCode);
+        } else if (rules.isApproved()) {
+            return approved(transferResponse);
+        }
+        return rules.resolve(transferResponse.getDescription()).asResult();
     }
 
     public InquiryServiceResultDTO approved (TransferResponse transferResponse){
@@ -154,87 +505,31 @@ public class InquiryService {
         resultDTO.setTranID(transferResponse.getBankTransactionID());
         resultDTO.setReasonCode("200");
         resultDTO.setReasonDesc(transferResponse.getDescription());
-        log.info("Mapping response success");
+        hotPathLog.sampled("Mapping response success");
         return resultDTO;
     }
 
-    public void invalidData (TransferResponse transferResponse){
-        String replyDesc = transferResponse.getDescription();
-        if (replyDesc != null) {
-            String[] respDesc = replyDesc.split(":");
-            if (respDesc != null && respDesc.length >= 3) {
-                // bank description full format
-                String reasonCode = respDesc[1];
-                String description = respDesc[2];
-                if (reasonCode.equalsIgnoreCase("1091")) {
-                    throw new DataTypeInvalidException(reasonCode, description);
-                }
-            } else {
-                // bank description short format
-                throw new GeneralInvalidDataException("400", GENERAL_INVALID_DATA);
-            }
-        } else {
-            throw new GeneralInvalidDataException("400", GENERAL_INVALID_DATA);
-        }
+    public InquiryServiceResultDTO invalidData (TransferResponse transferResponse){
+        return responseMapper.invalidData(transferResponse.getDescription()).asResult();
     }
 
-    public void transactionError (TransferResponse transferResponse){
+    public InquiryServiceResultDTO transactionError (TransferResponse transferResponse){
         // bank response code = transaction_error
-        String replyDesc = transferResponse.getDescription();
-        if (replyDesc != null) {
-            String[] respDesc = replyDesc.split(":");
-            if (respDesc != null && respDesc.length == 2) {
-                String reasonCode = respDesc[0];
-                String description = respDesc[1];
-                if (reasonCode.equalsIgnoreCase("98") || reasonCode.equalsIgnoreCase("1092")) {
-                    // bank code 98 or 1092
-                    throw new TransactionErrorException(reasonCode, description);
-                }
-            } else if (respDesc != null &&respDesc.length == 3) {
-                String reasonCode = respDesc[1];
-                String description = respDesc[2];
-                if (reasonCode.equalsIgnoreCase("1091")) {
-                    throw new TransactionErrorException(reasonCode, description);
-                }
-                // bank description full format
-            } else {
-                // bank description incorrect format
-                throw new TransactionErrorException("400", GENERAL_TRANSACTION_ERROR);
-            }
-        } else {
-            // bank no description
-            throw new TransactionErrorException("400", GENERAL_TRANSACTION_ERROR);
-        }
+        return responseMapper.transactionError(transferResponse.getDescription()).asResult();
     }
-    public void unknownCode(TransferResponse transferResponse) {
-        String replyDesc = transferResponse.getDescription();
-        if (replyDesc != null) {
-            String[] respDesc = replyDesc.split(":");
-            if (respDesc != null && respDesc.length >= 2) {
-                // bank description full format
-                String reasonCode = respDesc[0];
-                String description = respDesc[1];
-                if (description == null || !reasonCode.equalsIgnoreCase("5002") && description.trim().isEmpty()) {
-                    throw new GeneralInvalidDataException("501", GENERAL_INVALID_DATA);
-                } else if (reasonCode.equalsIgnoreCase("5001")){
-                    throw new GeneralInvalidDataException(reasonCode, description);
-                } else if (reasonCode.equalsIgnoreCase("5002") && description.trim().isEmpty()){
-                    throw new GeneralInvalidDataException(reasonCode, GENERAL_INVALID_DATA);
-                }
-            } else {
-                // bank description short format
-                throw new GeneralInvalidDataException("501", GENERAL_INVALID_DATA);
-            }
-        } else {
-            // bank no description
-            throw new GeneralInvalidDataException("501", GENERAL_INVALID_DATA);
-        }
+
+    public InquiryServiceResultDTO unknownCode(TransferResponse transferResponse) {
+        return responseMapper.unknownCode(transferResponse.getDescription()).asResult();
     }
 
     public enum ReasonCode {
         CONNECTION_TIMEOUT("503", "Error timeout"),
         SOCKET_TIMEOUT("503", "Error timeout"),
         INTERNAL_ERROR("504", "Internal Application Error"),
+        BANK_UNAVAILABLE("503", "Bank unavailable"),
+        BANK_BUSY("503", "Bank busy"),
+        BANK_RATE_LIMITED("503", "Bank rate limited"),
+        DEADLINE_EXCEEDED("503", "Error timeout"),
 
         ;
         private final String code;
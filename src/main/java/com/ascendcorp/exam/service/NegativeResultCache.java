@@ -0,0 +1,146 @@
+package com.ascendcorp.exam.service;
+
+import com.ascendcorp.exam.cache.ExpiringCache;
+import com.ascendcorp.exam.model.ImmutableInquiryResult;
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import com.ascendcorp.exam.model.TransferRequest;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived rejections keyed on what a request asks for rather than on its {@code transactionId}, so a
+ * client resending the same bad transfer under new transaction ids is answered without a bank call. Only
+ * bank response codes listed in {@code responseCodes} are remembered; those must depend on the request
+ * data alone, never on bank state. Every caller gets its own copy of the result unless it is a shared
+ * {@link ImmutableInquiryResult}.
+ */
+public class NegativeResultCache {
+
+    public static final String DEFAULT_RESPONSE_CODES = "invalid_data,not_support";
+
+    private final ExpiringCache<Fingerprint, InquiryServiceResultDTO> results;
+    private final Set<String> responseCodes;
+
+    public NegativeResultCache(long timeToLive, TimeUnit unit, int maximumSize, Set<String> responseCodes) {
+        this(new ExpiringCache<>(timeToLive, unit, maximumSize), responseCodes);
+    }
+
+    NegativeResultCache(ExpiringCache<Fingerprint, InquiryServiceResultDTO> results, Set<String> responseCodes) {
+        this.results = results;
+        Set<String> normalized = new HashSet<>();
+        for (String responseCode : responseCodes) {
+            normalized.add(ReasonCodeTable.normalize(responseCode));
+        }
+        this.responseCodes = Collections.unmodifiableSet(normalized);
+    }
+
+    /**
+     * Parses a comma separated list of bank response codes; blank input gives none.
+     */
+    public static Set<String> parseResponseCodes(String responseCodes) {
+        Set<String> parsed = new HashSet<>();
+        if (responseCodes == null) {
+            return parsed;
+        }
+        for (String responseCode : responseCodes.split(",")) {
+            if (!responseCode.trim().isEmpty()) {
+                parsed.add(responseCode.trim());
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Whether a bank reply with this response code always rejects the same request data.
+     */
+    public boolean isDeterministic(String responseCode) {
+        return responseCode != null && responseCodes.contains(ReasonCodeTable.normalize(responseCode));
+    }
+
+    public InquiryServiceResultDTO get(TransferRequest transferRequest) {
+        InquiryServiceResultDTO cached = results.get(new Fingerprint(transferRequest));
+        return cached != null ? ImmutableInquiryResult.copyOf(cached) : null;
+    }
+
+    public void put(TransferRequest transferRequest, InquiryServiceResultDTO result) {
+        results.put(new Fingerprint(transferRequest), ImmutableInquiryResult.copyOf(result));
+    }
+
+    public long getHitCount() {
+        return results.getHitCount();
+    }
+
+    public long getMissCount() {
+        return results.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return results.getEvictionCount();
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * Every request field the bank sees except {@code transactionId} and {@code tranDateTime}, which a
+     * resending client changes on each attempt.
+     */
+    static final class Fingerprint {
+
+        private final String channel;
+        private final String locationCode;
+        private final String bankCode;
+        private final String bankNumber;
+        private final long amountBits;
+        private final String reference1;
+        private final String reference2;
+        private final String firstName;
+        private final String lastName;
+        private final int hash;
+
+        Fingerprint(TransferRequest transferRequest) {
+            this.channel = transferRequest.getChannel();
+            this.locationCode = transferRequest.getLocationCode();
+            this.bankCode = transferRequest.getBankCode();
+            this.bankNumber = transferRequest.getBankNumber();
+            this.amountBits = Double.doubleToLongBits(transferRequest.getAmount());
+            this.reference1 = transferRequest.getReference1();
+            this.reference2 = transferRequest.getReference2();
+            this.firstName = transferRequest.getFirstName();
+            this.lastName = transferRequest.getLastName();
+            this.hash = Objects.hash(channel, locationCode, bankCode, bankNumber, amountBits, reference1, reference2,
+                    firstName, lastName);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Fingerprint)) {
+                return false;
+            }
+            Fingerprint that = (Fingerprint) o;
+            return hash == that.hash
+                    && amountBits == that.amountBits
+                    && Objects.equals(bankNumber, that.bankNumber)
+                    && Objects.equals(bankCode, that.bankCode)
+                    && Objects.equals(channel, that.channel)
+                    && Objects.equals(locationCode, that.locationCode)
+                    && Objects.equals(reference1, that.reference1)
+                    && Objects.equals(reference2, that.reference2)
+                    && Objects.equals(firstName, that.firstName)
+                    && Objects.equals(lastName, that.lastName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
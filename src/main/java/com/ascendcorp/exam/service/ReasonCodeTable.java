@@ -0,0 +1,296 @@
+package com.ascendcorp.exam.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Bank response code and reason code decision table, keyed on the normalized response code
+ * plus the bank reason code. Built once from {@code reason-codes.properties} (or an external
+ * file) and read-only afterwards; the file format is described in the default resource.
+ */
+public final class ReasonCodeTable {
+
+    public static final String DEFAULT_RESOURCE = "reason-codes.properties";
+
+    static final String FORMAT_SUFFIX = ".format";
+    static final String BLANK_SUFFIX = ".blank";
+    static final String BANK_DESCRIPTION = "{description}";
+
+    private final Map<String, ResponseRules> rules;
+
+    private ReasonCodeTable(Map<String, ResponseRules> rules) {
+        this.rules = rules;
+    }
+
+    public static ReasonCodeTable defaults() {
+        return DefaultHolder.TABLE;
+    }
+
+    public static ReasonCodeTable load(InputStream inputStream) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return fromProperties(properties);
+    }
+
+    public static ReasonCodeTable fromProperties(Properties properties) {
+        Map<String, ResponseRules> rules = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.endsWith(FORMAT_SUFFIX)) {
+                String responseCode = normalize(key.substring(0, key.length() - FORMAT_SUFFIX.length()));
+                DescriptionFormat format = DescriptionFormat.valueOf(
+                        properties.getProperty(key).trim().toUpperCase(Locale.ROOT));
+                rules.put(responseCode, new ResponseRules(format, rule(properties, responseCode)));
+            }
+        }
+        for (String key : properties.stringPropertyNames()) {
+            int dot = key.indexOf('.');
+            if (dot < 0 || key.endsWith(FORMAT_SUFFIX)) {
+                continue;
+            }
+            String responseCode = normalize(key.substring(0, dot));
+            ResponseRules responseRules = rules.get(responseCode);
+            if (responseRules == null) {
+                throw new IllegalArgumentException("No " + responseCode + FORMAT_SUFFIX + " for " + key);
+            }
+            String reasonCode = key.substring(dot + 1);
+            Rule rule = parseRule(key, properties.getProperty(key));
+            int segments = responseRules.format == DescriptionFormat.CODED ? segmentQualifier(reasonCode) : 0;
+            if (segments > 0) {
+                responseRules.rulesForSegments(segments).put(normalize(reasonCode.substring(2)), rule);
+            } else if (reasonCode.endsWith(BLANK_SUFFIX)) {
+                responseRules.blankRules.put(
+                        normalize(reasonCode.substring(0, reasonCode.length() - BLANK_SUFFIX.length())), rule);
+            } else {
+                responseRules.rules.put(normalize(reasonCode), rule);
+            }
+        }
+        rules.values().forEach(ResponseRules::freeze);
+        return new ReasonCodeTable(rules);
+    }
+
+    /**
+     * Returns the rules for a bank response code, or {@code null} when the bank contract does not define it.
+     */
+    public ResponseRules rulesFor(String responseCode) {
+        return rules.get(normalize(responseCode));
+    }
+
+    static String normalize(String code) {
+        // toLowerCase hands back the same instance when the code is already lower case
+        return code.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Segment count of a coded rule written as {@code <segments>.<bankReasonCode>}, or {@code 0} when the
+     * rule applies to both coded forms.
+     */
+    private static int segmentQualifier(String reasonCode) {
+        if (reasonCode.length() > 2 && reasonCode.charAt(1) == '.'
+                && (reasonCode.charAt(0) == '2' || reasonCode.charAt(0) == '3')
+                && !reasonCode.substring(2).equals(BLANK_SUFFIX.substring(1))) {
+            return reasonCode.charAt(0) - '0';
+        }
+        return 0;
+    }
+
+    private static Rule rule(Properties properties, String responseCode) {
+        String value = properties.getProperty(responseCode);
+        if (value == null) {
+            return null;
+        }
+        Rule rule = parseRule(responseCode, value);
+        if (rule.fixedOutcome == null) {
+            throw new IllegalArgumentException(BANK_DESCRIPTION + " needs a bank reason code, not allowed for " + responseCode);
+        }
+        return rule;
+    }
+
+    private static Rule parseRule(String key, String value) {
+        int separator = value.indexOf('|');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Expected <reasonCode>|<reasonDesc> for " + key + " but was " + value);
+        }
+        String reasonCode = value.substring(0, separator).trim();
+        String reasonDesc = value.substring(separator + 1);
+        return BANK_DESCRIPTION.equals(reasonDesc) ? new Rule(reasonCode, null) : new Rule(reasonCode, reasonDesc);
+    }
+
+    public enum DescriptionFormat {
+        APPROVED,
+        NONE,
+        FULL,
+        CODED,
+        LEADING
+    }
+
+    public static final class ResponseRules {
+
+        private final DescriptionFormat format;
+        private final Rule defaultRule;
+        private final Map<String, Rule> rules = new HashMap<>();
+        private final Map<String, Rule> blankRules = new HashMap<>();
+        private final Map<String, Rule> twoPartRules = new HashMap<>();
+        private final Map<String, Rule> threePartRules = new HashMap<>();
+        private RuleIndex index;
+        private RuleIndex blankIndex;
+        private RuleIndex twoPartIndex;
+        private RuleIndex threePartIndex;
+
+        ResponseRules(DescriptionFormat format, Rule defaultRule) {
+            this.format = format;
+            this.defaultRule = defaultRule;
+        }
+
+        public boolean isApproved() {
+            return format == DescriptionFormat.APPROVED;
+        }
+
+        public DescriptionFormat getFormat() {
+            return format;
+        }
+
+        /**
+         * Resolves a bank description to an outcome, or throws {@link IllegalStateException} when the
+         * description carries a reason code that the table does not define.
+         */
+        public InquiryOutcome resolve(String replyDesc) {
+            if (replyDesc == null || format == DescriptionFormat.NONE) {
+                return defaultOutcome();
+            }
+            int segments = BankDescriptionTokenizer.segmentCount(replyDesc);
+            int codeIndex;
+            if (format == DescriptionFormat.FULL && segments >= 3) {
+                codeIndex = 1;
+            } else if (format == DescriptionFormat.CODED && (segments == 2 || segments == 3)) {
+                codeIndex = segments - 2;
+            } else if (format == DescriptionFormat.LEADING && segments >= 2) {
+                codeIndex = 0;
+            } else {
+                return defaultOutcome();
+            }
+            long reasonCode = BankDescriptionTokenizer.segment(replyDesc, codeIndex);
+            long description = BankDescriptionTokenizer.segment(replyDesc, codeIndex + 1);
+            Rule rule = null;
+            if (BankDescriptionTokenizer.isBlank(replyDesc, description)) {
+                rule = blankIndex.find(replyDesc, reasonCode);
+                if (rule == null && format == DescriptionFormat.LEADING) {
+                    return defaultOutcome();
+                }
+            }
+            if (rule == null && format == DescriptionFormat.CODED) {
+                rule = (segments == 2 ? twoPartIndex : threePartIndex).find(replyDesc, reasonCode);
+            }
+            if (rule == null) {
+                rule = index.find(replyDesc, reasonCode);
+            }
+            if (rule == null) {
+                throw new IllegalStateException("Unexpected error");
+            }
+            return rule.apply(replyDesc, description);
+        }
+
+        void freeze() {
+            index = new RuleIndex(rules);
+            blankIndex = new RuleIndex(blankRules);
+            twoPartIndex = new RuleIndex(twoPartRules);
+            threePartIndex = new RuleIndex(threePartRules);
+        }
+
+        private Map<String, Rule> rulesForSegments(int segments) {
+            return segments == 2 ? twoPartRules : threePartRules;
+        }
+
+        private InquiryOutcome defaultOutcome() {
+            if (defaultRule == null) {
+                throw new IllegalStateException("Unexpected error");
+            }
+            return defaultRule.fixedOutcome;
+        }
+    }
+
+    private static final class Rule {
+
+        private final String reasonCode;
+        private final InquiryOutcome fixedOutcome;
+
+        Rule(String reasonCode, String reasonDesc) {
+            this.reasonCode = reasonCode;
+            this.fixedOutcome = reasonDesc == null ? null : InquiryOutcome.constant(reasonCode, reasonDesc);
+        }
+
+        InquiryOutcome apply(String replyDesc, long description) {
+            if (fixedOutcome != null) {
+                return fixedOutcome;
+            }
+            return InquiryOutcome.of(reasonCode, BankDescriptionTokenizer.substring(replyDesc, description));
+        }
+    }
+
+    /**
+     * Open-addressed reason code index probed with a segment of the bank description, so lookups
+     * never need a substring key.
+     */
+    private static final class RuleIndex {
+
+        private final String[] keys;
+        private final Rule[] values;
+        private final int mask;
+
+        RuleIndex(Map<String, Rule> rules) {
+            int capacity = Integer.highestOneBit(Math.max(2, rules.size() * 2 - 1)) << 1;
+            keys = new String[capacity];
+            values = new Rule[capacity];
+            mask = capacity - 1;
+            for (Map.Entry<String, Rule> entry : rules.entrySet()) {
+                int slot = spread(entry.getKey().hashCode()) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = entry.getKey();
+                values[slot] = entry.getValue();
+            }
+        }
+
+        Rule find(String replyDesc, long reasonCode) {
+            int slot = spread(BankDescriptionTokenizer.hashIgnoreCase(replyDesc, reasonCode)) & mask;
+            String key;
+            while ((key = keys[slot]) != null) {
+                if (BankDescriptionTokenizer.equalsIgnoreCase(replyDesc, reasonCode, key)) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+    private static final class DefaultHolder {
+
+        static final ReasonCodeTable TABLE = loadDefault();
+
+        private static ReasonCodeTable loadDefault() {
+            InputStream inputStream = ReasonCodeTable.class.getClassLoader().getResourceAsStream(DEFAULT_RESOURCE);
+            if (inputStream == null) {
+                throw new IllegalStateException(DEFAULT_RESOURCE + " is missing from the classpath");
+            }
+            try {
+                return load(inputStream);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
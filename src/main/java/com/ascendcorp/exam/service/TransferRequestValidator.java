@@ -0,0 +1,79 @@
+package com.ascendcorp.exam.service;
+
+import com.ascendcorp.exam.exception.GeneralInvalidDataException;
+import com.ascendcorp.exam.model.TransferRequest;
+import org.apache.log4j.Logger;
+
+/**
+ * Required-field and amount checks for {@link TransferRequest}. Messages are built once per field,
+ * so a valid request is checked without lambdas, boxing, collections or string concatenation.
+ */
+public final class TransferRequestValidator {
+
+    static final Logger log = Logger.getLogger(TransferRequestValidator.class);
+
+    public static final String INVALID_REQUEST_CODE = "500";
+
+    public enum Violation {
+        TRANSACTION_ID_REQUIRED("transactionId"),
+        TRAN_DATE_TIME_REQUIRED("tranDateTime"),
+        CHANNEL_REQUIRED("channel"),
+        BANK_CODE_REQUIRED("bankCode"),
+        BANK_NUMBER_REQUIRED("bankNumber"),
+        AMOUNT_REQUIRED("amount"),
+        AMOUNT_NOT_POSITIVE("amount", " must more than zero", " must more than a zero!");
+
+        private final String message;
+        private final String logMessage;
+
+        Violation(String fieldName) {
+            this(fieldName, " cannot be null", " is Required!");
+        }
+
+        Violation(String fieldName, String message, String logMessage) {
+            this.message = fieldName + message;
+            this.logMessage = fieldName + logMessage;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * First rule the request breaks, or {@code null} when it is valid.
+     */
+    public Violation check(TransferRequest transferRequest) {
+        Violation violation = firstViolation(transferRequest);
+        if (violation != null) {
+            log.info(violation.logMessage);
+        }
+        return violation;
+    }
+
+    public void validate(TransferRequest transferRequest) throws GeneralInvalidDataException {
+        Violation violation = check(transferRequest);
+        if (violation != null) {
+            throw new GeneralInvalidDataException(INVALID_REQUEST_CODE, violation.message);
+        }
+    }
+
+    private static Violation firstViolation(TransferRequest transferRequest) {
+        if (transferRequest.getTransactionId() == null) {
+            return Violation.TRANSACTION_ID_REQUIRED;
+        } else if (transferRequest.getTranDateTime() == null) {
+            return Violation.TRAN_DATE_TIME_REQUIRED;
+        } else if (transferRequest.getChannel() == null) {
+            return Violation.CHANNEL_REQUIRED;
+        } else if (transferRequest.getBankCode() == null) {
+            return Violation.BANK_CODE_REQUIRED;
+        } else if (transferRequest.getBankNumber() == null) {
+            return Violation.BANK_NUMBER_REQUIRED;
+        } else if (!transferRequest.hasAmount()) {
+            return Violation.AMOUNT_REQUIRED;
+        } else if (transferRequest.getAmount() < 1) {
+            return Violation.AMOUNT_NOT_POSITIVE;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,68 @@
+package com.ascendcorp.exam;
+
+import com.ascendcorp.exam.bulk.BulkInquiryJob;
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.service.InquiryService;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+
+/**
+ * Shipped configuration must answer inquiries whose {@code tranDateTime} is long past, such as replayed
+ * reconciliation records, instead of dropping them as timed out.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = ExamApplication.class)
+public class InquiryDeadlineDefaultsTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Autowired
+    private InquiryService inquiryService;
+
+    @Autowired
+    private BulkInquiryJob bulkInquiryJob;
+
+    @Test
+    public void should_callBank_when_tranDateTimeOld() {
+        TransferRequest request = new TransferRequest();
+        request.setTransactionId("old-1");
+        request.setTranDateTime(new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1)));
+        request.setChannel("Mobile");
+        request.setBankCode("BANK1");
+        request.setBankNumber("4321000");
+        request.setAmount(100d);
+
+        InquiryServiceResultDTO inquiry = inquiryService.inquiry(request);
+
+        // the stub gateway answers without a response code
+        assertEquals("400", inquiry.getReasonCode());
+    }
+
+    @Test
+    public void should_callBank_when_bulkRecordOld() throws Exception {
+        Path input = Files.write(folder.getRoot().toPath().resolve("input.txt"),
+                "T0|2024-01-31T10:15:30Z|Mobile||BANK1|4321000|100|ref1|ref2||\n".getBytes(StandardCharsets.UTF_8));
+        Path output = folder.getRoot().toPath().resolve("output.txt");
+
+        bulkInquiryJob.run(input, output, folder.getRoot().toPath().resolve("output.checkpoint"));
+
+        String row = Files.readAllLines(output, StandardCharsets.UTF_8).get(0);
+        assertFalse(row, row.contains("Error timeout"));
+    }
+}
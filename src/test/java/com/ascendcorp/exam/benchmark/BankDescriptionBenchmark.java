@@ -0,0 +1,57 @@
+package com.ascendcorp.exam.benchmark;
+
+import com.ascendcorp.exam.service.InquiryOutcome;
+import com.ascendcorp.exam.service.ReasonCodeTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving a bank description through the reason-code table, against the {@code split(":")} it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BankDescriptionBenchmark {
+
+    @Param({
+            "invalid_data|100:1091:Data type is invalid.",
+            "transaction_error|1092:Transaction is error with code 1092.",
+            "unknown|5002: ",
+            "unknown|General Invalid Data code 501"
+    })
+    private String reply;
+
+    private ReasonCodeTable.ResponseRules rules;
+    private String description;
+
+    @Setup
+    public void setUp() {
+        int separator = reply.indexOf('|');
+        rules = ReasonCodeTable.defaults().rulesFor(reply.substring(0, separator));
+        description = reply.substring(separator + 1);
+    }
+
+    @Benchmark
+    public InquiryOutcome resolve() {
+        return rules.resolve(description);
+    }
+
+    @Benchmark
+    public String[] split() {
+        return description.split(":");
+    }
+}
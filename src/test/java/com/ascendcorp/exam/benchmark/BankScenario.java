@@ -0,0 +1,46 @@
+package com.ascendcorp.exam.benchmark;
+
+import com.ascendcorp.exam.model.TransferResponse;
+import org.springframework.boot.web.server.WebServerException;
+
+/**
+ * Bank replies covering every branch of InquiryService mapping, taken from the README data dictionary.
+ */
+public enum BankScenario {
+    APPROVED("approved", "approved"),
+    INVALID_DATA_1091("invalid_data", "100:1091:Data type is invalid."),
+    INVALID_DATA_GENERAL("invalid_data", "General error."),
+    TRANSACTION_ERROR_GENERAL("transaction_error", "Transaction error."),
+    TRANSACTION_ERROR_1091("transaction_error", "100:1091:Transaction is error with code 1091."),
+    TRANSACTION_ERROR_1092("transaction_error", "1092:Transaction is error with code 1092."),
+    TRANSACTION_ERROR_98("transaction_error", "98:Transaction is error with code 98."),
+    UNKNOWN_5001("unknown", "5001:Unknown error code 5001"),
+    UNKNOWN_5002("unknown", "5002: "),
+    UNKNOWN_TEXT("unknown", "General Invalid Data code 501"),
+    NOT_SUPPORT("not_support", "Not Support"),
+    NULL_RESPONSE(null, null),
+    SOCKET_TIMEOUT(null, "java.net.SocketTimeoutException: Read timed out"),
+    CONNECTION_TIMEOUT(null, "Server Connection timed out"),
+    WEB_SERVER_ERROR(null, "Bad Gateway");
+
+    private final String responseCode;
+    private final String description;
+
+    BankScenario(String responseCode, String description) {
+        this.responseCode = responseCode;
+        this.description = description;
+    }
+
+    public void applyTo(StubBankProxyGateway gateway) {
+        if (responseCode != null) {
+            TransferResponse response = new TransferResponse();
+            response.setResponseCode(responseCode);
+            response.setDescription(description);
+            gateway.respondWith(response);
+        } else if (description != null) {
+            gateway.failWith(new WebServerException(description, null));
+        } else {
+            gateway.respondWith(null);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.ascendcorp.exam.benchmark;
+
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.proxy.HedgingInterceptor;
+import com.ascendcorp.exam.service.InquiryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inquiry latency percentiles against a bank with a long tail: {@code tailRatio} of calls take
+ * {@code tailLatencyMillis} instead of {@code latencyMillis}. Compare p99/p99.9 with and without hedging.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configuration=log4j-benchmark.properties")
+public class HedgingBenchmark {
+
+    @Param({"false", "true"})
+    private boolean hedging;
+
+    @Param("2")
+    private long latencyMillis;
+
+    @Param("0.02")
+    private double tailRatio;
+
+    @Param("50")
+    private long tailLatencyMillis;
+
+    private InquiryService inquiryService;
+    private HedgingInterceptor hedgingInterceptor;
+    private TransferRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StubBankProxyGateway gateway = new StubBankProxyGateway();
+        BankScenario.APPROVED.applyTo(gateway);
+        gateway.setLatencyMillis(latencyMillis);
+        gateway.setLatencyTail(tailRatio, tailLatencyMillis);
+        inquiryService = new InquiryService(gateway);
+        if (hedging) {
+            hedgingInterceptor = new HedgingInterceptor(new HedgingInterceptor.Config(0.95, 1, 100, 100, 500,
+                    TimeUnit.MILLISECONDS, 0.1, 20));
+            inquiryService.setBankCallInterceptors(Collections.singletonList(hedgingInterceptor));
+        }
+        request = InquiryServiceBenchmark.createTransferRequest();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (hedgingInterceptor != null) {
+            hedgingInterceptor.close();
+        }
+    }
+
+    @Benchmark
+    public InquiryServiceResultDTO inquiry() {
+        return inquiryService.inquiry(request);
+    }
+}
@@ -0,0 +1,67 @@
+package com.ascendcorp.exam.benchmark;
+
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+import com.ascendcorp.exam.proxy.HttpBankProxyGateway;
+import com.ascendcorp.exam.proxy.StubBankServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round-trip to an in-process {@link StubBankServer}: {@code pooled} reuses one gateway and its keep-alive
+ * connections, {@code connectionPerCall} builds a fresh gateway (and so a fresh connection) for every call,
+ * as the old transport did. Over TLS the gap widens by a handshake per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configuration=log4j-benchmark.properties")
+public class HttpGatewayBenchmark {
+
+    private StubBankServer bank;
+    private HttpBankProxyGateway.Config config;
+    private HttpBankProxyGateway gateway;
+    private TransferRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        bank = StubBankServer.start(8);
+        config = new HttpBankProxyGateway.Config(Collections.singletonMap("BANK1", bank.endpoint("BANK1")), 16,
+                1000, 5000, TimeUnit.MILLISECONDS, false);
+        gateway = new HttpBankProxyGateway(config);
+        request = InquiryServiceBenchmark.createTransferRequest();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        bank.close();
+    }
+
+    @Benchmark
+    public TransferResponse pooled() {
+        return gateway.requestTransfer(request);
+    }
+
+    @Benchmark
+    public TransferResponse connectionPerCall() {
+        return new HttpBankProxyGateway(config).requestTransfer(request);
+    }
+}
@@ -0,0 +1,79 @@
+package com.ascendcorp.exam.benchmark;
+
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.service.InquiryExecutionMode;
+import com.ascendcorp.exam.service.InquiryExecutor;
+import com.ascendcorp.exam.service.InquiryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waves of {@code concurrency} inquiries in flight against a bank that answers after {@code latencyMillis};
+ * multiply the score by {@code concurrency} for inquiries per second. A platform pool finishes a wave in
+ * about {@code concurrency / poolSize * latencyMillis}, virtual threads in about one bank latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configuration=log4j-benchmark.properties")
+public class InquiryExecutorLoadBenchmark {
+
+    @Param({"1000", "10000"})
+    private int concurrency;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private InquiryExecutionMode mode;
+
+    @Param("200")
+    private int poolSize;
+
+    @Param("20")
+    private long latencyMillis;
+
+    private InquiryExecutor executor;
+    private TransferRequest request;
+    private CompletableFuture<?>[] inFlight;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StubBankProxyGateway gateway = new StubBankProxyGateway();
+        BankScenario.APPROVED.applyTo(gateway);
+        gateway.setLatencyMillis(latencyMillis);
+        executor = new InquiryExecutor(new InquiryService(gateway), mode, poolSize);
+        request = InquiryServiceBenchmark.createTransferRequest();
+        inFlight = new CompletableFuture<?>[concurrency];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public void inquiries(Blackhole blackhole) {
+        for (int i = 0; i < concurrency; i++) {
+            inFlight[i] = executor.submit(request);
+        }
+        for (CompletableFuture<?> inquiry : inFlight) {
+            blackhole.consume((InquiryServiceResultDTO) inquiry.join());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ascendcorp.exam.benchmark;
+
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.service.InquiryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configuration=log4j-benchmark.properties")
+public class InquiryServiceBenchmark {
+
+    @Param
+    private BankScenario scenario;
+
+    private InquiryService inquiryService;
+    private TransferRequest request;
+
+    @Setup
+    public void setUp() {
+        StubBankProxyGateway gateway = new StubBankProxyGateway();
+        scenario.applyTo(gateway);
+        inquiryService = new InquiryService(gateway);
+        request = createTransferRequest();
+    }
+
+    @Benchmark
+    public InquiryServiceResultDTO inquiry() {
+        return inquiryService.inquiry(request);
+    }
+
+    static TransferRequest createTransferRequest() {
+        TransferRequest request = new TransferRequest();
+        request.setTransactionId("1234");
+        request.setTranDateTime(new Date());
+        request.setChannel("Mobile");
+        request.setBankCode("BANK1");
+        request.setBankNumber("4321000");
+        request.setAmount(100d);
+        request.setReference1("ref1");
+        request.setReference2("ref2");
+        request.setFirstName("test");
+        request.setLastName("data");
+        return request;
+    }
+}
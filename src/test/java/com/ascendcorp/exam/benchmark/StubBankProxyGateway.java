@@ -0,0 +1,61 @@
+package com.ascendcorp.exam.benchmark;
+
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+import com.ascendcorp.exam.proxy.BankProxyGateway;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Gateway stub for benchmarks: replays a canned response or failure without touching the network.
+ */
+public class StubBankProxyGateway extends BankProxyGateway {
+
+    private TransferResponse response;
+    private RuntimeException failure;
+    private long latencyMillis;
+    private double tailRatio;
+    private long tailLatencyMillis;
+
+    public void respondWith(TransferResponse response) {
+        this.response = response;
+        this.failure = null;
+    }
+
+    public void failWith(RuntimeException failure) {
+        this.response = null;
+        this.failure = failure;
+    }
+
+    /**
+     * Simulated bank round-trip; the calling thread blocks for this long on every request.
+     */
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Long tail: a random {@code tailRatio} of requests take {@code tailLatencyMillis} instead.
+     */
+    public void setLatencyTail(double tailRatio, long tailLatencyMillis) {
+        this.tailRatio = tailRatio;
+        this.tailLatencyMillis = tailLatencyMillis;
+    }
+
+    @Override
+    public TransferResponse requestTransfer(TransferRequest transferRequest) {
+        long latencyMillis = tailRatio > 0 && ThreadLocalRandom.current().nextDouble() < tailRatio
+                ? tailLatencyMillis : this.latencyMillis;
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return response;
+    }
+}
@@ -0,0 +1,118 @@
+package com.ascendcorp.exam.benchmark;
+
+import com.ascendcorp.exam.codec.InquiryResultCodec;
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode time of an inquiry result with the binary codec against Java serialization. The encode
+ * benchmarks also report the encoded size in bytes as the {@code encodedBytes} secondary result.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireCodecBenchmark {
+
+    private final InquiryResultCodec codec = new InquiryResultCodec();
+    private final ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+    private InquiryServiceResultDTO result;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws IOException {
+        result = new InquiryServiceResultDTO();
+        result.setTranID("bank-1");
+        result.setReasonCode("200");
+        result.setReasonDesc("approved");
+        result.setBalance("2500.10");
+        result.setRef_no1("ref1");
+        result.setRef_no2("ref2");
+        result.setAmount("100.00");
+        result.setAccountName("test data");
+        serialized = serialize(result);
+        buffer.clear();
+        codec.encode(result, buffer);
+        buffer.flip();
+    }
+
+    @Benchmark
+    public int encodeBinary(EncodedSize size) {
+        ByteBuffer target = buffer.duplicate();
+        target.clear();
+        codec.encode(result, target);
+        size.record(target.position());
+        return target.position();
+    }
+
+    @Benchmark
+    public InquiryServiceResultDTO decodeBinary() {
+        return codec.decode(buffer.duplicate());
+    }
+
+    @Benchmark
+    public byte[] encodeSerializable(EncodedSize size) throws IOException {
+        byte[] bytes = serialize(result);
+        size.record(bytes.length);
+        return bytes;
+    }
+
+    @Benchmark
+    public Object decodeSerializable() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * Encoded size of the value, the same on every call. JMH sums event counters over the measurement
+     * iterations, so each iteration reports its share and the summary shows the size itself.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+
+        public double encodedBytes;
+        private int measurementIterations;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchmarkParams params) {
+            measurementIterations = params.getMeasurement().getCount();
+        }
+
+        void record(int bytes) {
+            encodedBytes = (double) bytes / measurementIterations;
+        }
+    }
+
+    private static byte[] serialize(InquiryServiceResultDTO value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,160 @@
+package com.ascendcorp.exam.bulk;
+
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.proxy.BankProxyGateway;
+import com.ascendcorp.exam.service.InquiryExecutionMode;
+import com.ascendcorp.exam.service.InquiryExecutor;
+import com.ascendcorp.exam.service.InquiryService;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+
+public class BulkInquiryJobTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void should_writeRowsInInputOrder_when_inquiriesCompleteOutOfOrder() throws Exception {
+        Path input = createInput(200);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        try {
+            BulkInquiryJob job = new BulkInquiryJob(request -> CompletableFuture.supplyAsync(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                sleepQuietly(ThreadLocalRandom.current().nextInt(3));
+                inFlight.decrementAndGet();
+                return approved(request);
+            }, executor), 4, 50);
+
+            BulkCheckpoint checkpoint = job.run(input, output(), checkpointFile());
+
+            assertEquals(200, checkpoint.getRecords());
+            assertEquals(Files.size(input), checkpoint.getInputOffset());
+            assertEquals(Files.size(output()), checkpoint.getOutputOffset());
+            assertTrue(maxInFlight.get() <= 4);
+            List<String> rows = Files.readAllLines(output(), StandardCharsets.UTF_8);
+            assertEquals(200, rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                assertEquals("T" + i + "|200|approved|1000.00||||", rows.get(i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void should_resumeFromCheckpoint_when_previousRunCrashed() throws Exception {
+        Path input = createInput(100);
+        AtomicInteger calls = new AtomicInteger();
+        BulkInquiryJob crashing = new BulkInquiryJob(request -> {
+            if (calls.incrementAndGet() > 65) {
+                throw new IllegalStateException("worker died");
+            }
+            return CompletableFuture.completedFuture(approved(request));
+        }, 1, 30);
+        try {
+            crashing.run(input, output(), checkpointFile());
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // crash after the second checkpoint
+        }
+        assertEquals(60, BulkCheckpoint.load(checkpointFile()).getRecords());
+
+        AtomicInteger resumedCalls = new AtomicInteger();
+        BulkInquiryJob resumed = new BulkInquiryJob(request -> {
+            resumedCalls.incrementAndGet();
+            return CompletableFuture.completedFuture(approved(request));
+        }, 1, 30);
+        BulkCheckpoint checkpoint = resumed.run(input, output(), checkpointFile());
+
+        assertEquals(40, resumedCalls.get());
+        assertEquals(100, checkpoint.getRecords());
+        List<String> rows = Files.readAllLines(output(), StandardCharsets.UTF_8);
+        assertEquals(100, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertTrue(rows.get(i).startsWith("T" + i + "|"));
+        }
+    }
+
+    @Test
+    public void should_writeInternalErrorRow_when_inquiryFails() throws Exception {
+        Path input = createInput(2);
+        Function<TransferRequest, CompletableFuture<InquiryServiceResultDTO>> inquiry = request -> {
+            CompletableFuture<InquiryServiceResultDTO> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalStateException("Unsupported Error Reason Code"));
+            return failed;
+        };
+
+        new BulkInquiryJob(inquiry, 2, 10).run(input, output(), checkpointFile());
+
+        assertEquals("T0|504|Internal Application Error|||||",
+                Files.readAllLines(output(), StandardCharsets.UTF_8).get(0));
+    }
+
+    @Test
+    public void should_ignoreDeadlineBudget_when_replayingOldRecords() throws Exception {
+        Path input = createInput(3);
+        InquiryService inquiryService = new InquiryService(new BankProxyGateway());
+        inquiryService.setDeadlineBudgetMillis(30000);
+        try (InquiryExecutor executor = new InquiryExecutor(inquiryService, InquiryExecutionMode.PLATFORM, 2)) {
+            new BulkInquiryJob(executor, 2, 10).run(input, output(), checkpointFile());
+        }
+
+        // the stub gateway answers without a response code
+        for (String row : Files.readAllLines(output(), StandardCharsets.UTF_8)) {
+            assertTrue(row, row.contains("|400|General Invalid Data|"));
+        }
+    }
+
+    private Path createInput(int records) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < records; i++) {
+            content.append('T').append(i).append("|2024-01-31T10:15:30Z|Mobile||BANK1|4321000|100|ref1|ref2||\n");
+        }
+        return Files.write(folder.getRoot().toPath().resolve("input.txt"),
+                content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Path output() {
+        return folder.getRoot().toPath().resolve("output.txt");
+    }
+
+    private Path checkpointFile() {
+        return folder.getRoot().toPath().resolve("output.checkpoint");
+    }
+
+    private static InquiryServiceResultDTO approved(TransferRequest request) {
+        InquiryServiceResultDTO result = new InquiryServiceResultDTO();
+        result.setReasonCode("200");
+        result.setReasonDesc("approved");
+        result.setBalance("1000.00");
+        return result;
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
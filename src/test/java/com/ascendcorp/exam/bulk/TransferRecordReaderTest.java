@@ -0,0 +1,96 @@
+package com.ascendcorp.exam.bulk;
+
+import com.ascendcorp.exam.model.TransferRequest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.fail;
+
+public class TransferRecordReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void should_mapAllFields_when_recordComplete() throws IOException {
+        Path input = write("1234|2024-01-31T10:15:30Z|Mobile|LOC1|BANK1|4321000|100.50|ref1|ref2|test|data\n");
+
+        try (TransferRecordReader reader = new TransferRecordReader(input, 0, 16, 1024)) {
+            TransferRequest request = reader.next();
+
+            assertEquals("1234", request.getTransactionId());
+            assertEquals(1706696130000L, request.getTranDateTime().getTime());
+            assertEquals("Mobile", request.getChannel());
+            assertEquals("LOC1", request.getLocationCode());
+            assertEquals("BANK1", request.getBankCode());
+            assertEquals("4321000", request.getBankNumber());
+            assertEquals(100.5d, request.getAmount());
+            assertEquals("ref1", request.getReference1());
+            assertEquals("ref2", request.getReference2());
+            assertEquals("test", request.getFirstName());
+            assertEquals("data", request.getLastName());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void should_leaveFieldsUnset_when_emptyOrUnparseable() throws IOException {
+        Path input = write("1234|yesterday|Mobile||BANK1|4321000|12.345||||\n");
+
+        try (TransferRecordReader reader = new TransferRecordReader(input, 0, 64, 1024)) {
+            TransferRequest request = reader.next();
+
+            assertNull(request.getTranDateTime());
+            assertNull(request.getLocationCode());
+            assertFalse(request.hasAmount());
+            assertNull(request.getLastName());
+        }
+    }
+
+    @Test
+    public void should_trackOffsets_when_crlfBlankAndUnterminatedLines() throws IOException {
+        Path input = write("1|||||||||\r\n\n2|||||||||\r\n3");
+
+        try (TransferRecordReader reader = new TransferRecordReader(input, 0, 4, 1024)) {
+            assertEquals("1", reader.next().getTransactionId());
+            assertEquals(12, reader.getOffset());
+            assertEquals("2", reader.next().getTransactionId());
+            assertEquals(25, reader.getOffset());
+            assertEquals("3", reader.next().getTransactionId());
+            assertEquals(26, reader.getOffset());
+            assertNull(reader.next());
+        }
+        try (TransferRecordReader reader = new TransferRecordReader(input, 12, 4, 1024)) {
+            assertEquals("2", reader.next().getTransactionId());
+        }
+    }
+
+    @Test
+    public void should_fail_when_recordLongerThanLimit() throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            line.append("0123456789");
+        }
+        Path input = write(line.append('\n').toString());
+
+        try (TransferRecordReader reader = new TransferRecordReader(input, 0, 16, 256)) {
+            reader.next();
+            fail("expected IOException");
+        } catch (IOException expected) {
+            // record does not fit the buffer limit
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.write(folder.newFile().toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
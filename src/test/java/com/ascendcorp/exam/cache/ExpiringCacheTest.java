@@ -0,0 +1,56 @@
+package com.ascendcorp.exam.cache;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNull;
+
+public class ExpiringCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    public void should_returnValue_until_timeToLiveElapses() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, TimeUnit.SECONDS, 10, now::get);
+        cache.put("1234", "result");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        assertEquals("result", cache.get("1234"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertNull(cache.get("1234"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void should_evictOldest_when_full() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, TimeUnit.SECONDS, 2, now::get);
+        cache.put("1", "first");
+        cache.put("2", "second");
+        cache.put("3", "third");
+
+        assertNull(cache.get("1"));
+        assertEquals("second", cache.get("2"));
+        assertEquals("third", cache.get("3"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void should_keepReplacedEntry_when_oldSlotEvicted() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, TimeUnit.SECONDS, 2, now::get);
+        cache.put("1", "first");
+        cache.put("2", "second");
+        cache.put("1", "first again");
+        cache.put("3", "third");
+
+        assertEquals("first again", cache.get("1"));
+        assertNull(cache.get("2"));
+        assertEquals(2, cache.size());
+    }
+}
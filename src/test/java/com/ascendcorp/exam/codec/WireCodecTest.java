@@ -0,0 +1,210 @@
+package com.ascendcorp.exam.codec;
+
+import com.ascendcorp.exam.exception.WireFormatException;
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+
+public class WireCodecTest {
+
+    private final TransferRequestCodec requestCodec = new TransferRequestCodec();
+    private final TransferResponseCodec responseCodec = new TransferResponseCodec();
+    private final InquiryResultCodec resultCodec = new InquiryResultCodec();
+
+    @Test
+    public void should_roundTrip_when_transferRequestEncoded() {
+        TransferRequest request = createTransferRequest();
+        ByteBuffer buffer = ByteBuffer.allocate(requestCodec.encodedSize(request));
+
+        requestCodec.encode(request, buffer);
+        assertFalse(buffer.hasRemaining());
+        buffer.flip();
+        TransferRequest decoded = requestCodec.decode(buffer);
+
+        assertFalse(buffer.hasRemaining());
+        assertEquals(request.getTransactionId(), decoded.getTransactionId());
+        assertEquals(request.getTranDateTime(), decoded.getTranDateTime());
+        assertEquals(request.getChannel(), decoded.getChannel());
+        assertNull(decoded.getLocationCode());
+        assertEquals(request.getBankCode(), decoded.getBankCode());
+        assertEquals(request.getBankNumber(), decoded.getBankNumber());
+        assertEquals(request.getAmount(), decoded.getAmount());
+        assertEquals(request.getReference1(), decoded.getReference1());
+        assertEquals(request.getReference2(), decoded.getReference2());
+        assertEquals(request.getFirstName(), decoded.getFirstName());
+        assertEquals(request.getLastName(), decoded.getLastName());
+    }
+
+    @Test
+    public void should_keepAbsentFields_when_requestEmpty() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        requestCodec.encode(new TransferRequest(), buffer);
+        buffer.flip();
+        TransferRequest decoded = requestCodec.decode(buffer);
+
+        assertFalse(decoded.hasAmount());
+        assertNull(decoded.getTranDateTime());
+        assertNull(decoded.getTransactionId());
+    }
+
+    @Test
+    public void should_roundTrip_when_transferResponseEncodedToDirectBuffer() {
+        TransferResponse response = new TransferResponse();
+        response.setResponseCode("approved");
+        response.setDescription("approved");
+        response.setReferenceCode1("ref1");
+        response.setBalance("2500.10");
+        response.setBankTransactionID("bank-1");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(responseCodec.encodedSize(response));
+
+        responseCodec.encode(response, buffer);
+        buffer.flip();
+        TransferResponse decoded = responseCodec.decode(buffer);
+
+        assertEquals("approved", decoded.getResponseCode());
+        assertEquals("approved", decoded.getDescription());
+        assertEquals("ref1", decoded.getReferenceCode1());
+        assertNull(decoded.getReferenceCode2());
+        assertEquals("2500.10", decoded.getBalance());
+        assertEquals("bank-1", decoded.getBankTransactionID());
+    }
+
+    @Test
+    public void should_roundTrip_when_resultHasNonAsciiText() {
+        InquiryServiceResultDTO result = createResult();
+        result.setAccountName("สมชาย ใจดี 😀");
+        ByteBuffer buffer = ByteBuffer.allocate(resultCodec.encodedSize(result));
+
+        resultCodec.encode(result, buffer);
+        assertFalse(buffer.hasRemaining());
+        buffer.flip();
+
+        assertEquals(result.toString(), resultCodec.decode(buffer).toString());
+    }
+
+    @Test
+    public void should_readFramesInOrder_when_packedBackToBack() {
+        ByteBuffer buffer = ByteBuffer.allocate(512);
+        requestCodec.encode(createTransferRequest(), buffer);
+        resultCodec.encode(createResult(), buffer);
+        buffer.flip();
+
+        assertEquals("1234", requestCodec.decode(buffer).getTransactionId());
+        assertEquals("200", resultCodec.decode(buffer).getReasonCode());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void should_rejectAndKeepPosition_when_frameTypeDiffers() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        requestCodec.encode(createTransferRequest(), buffer);
+        buffer.flip();
+
+        try {
+            resultCodec.decode(buffer);
+            fail("expected WireFormatException");
+        } catch (WireFormatException ex) {
+            assertEquals(0, buffer.position());
+        }
+    }
+
+    @Test(expected = WireFormatException.class)
+    public void should_reject_when_versionUnknown() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        resultCodec.encode(createResult(), buffer);
+        buffer.flip();
+        buffer.put(0, (byte) 9);
+
+        resultCodec.decode(buffer);
+    }
+
+    @Test(expected = WireFormatException.class)
+    public void should_reject_when_frameTruncated() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        resultCodec.encode(createResult(), buffer);
+        buffer.flip();
+        buffer.limit(buffer.limit() - 1);
+
+        resultCodec.decode(buffer);
+    }
+
+    @Test
+    public void should_skipTrailingFields_when_payloadLongerThanKnown() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        resultCodec.encode(createResult(), buffer);
+        int end = buffer.position();
+        buffer.put((byte) 42).put((byte) 43);
+        buffer.putInt(2, end - AbstractWireCodec.HEADER_SIZE + 2);
+        buffer.flip();
+
+        assertEquals("approved", resultCodec.decode(buffer).getReasonDesc());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void should_leavePosition_when_bufferTooSmall() {
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        buffer.put((byte) 1);
+
+        try {
+            resultCodec.encode(createResult(), buffer);
+            fail("expected BufferOverflowException");
+        } catch (BufferOverflowException ex) {
+            assertEquals(1, buffer.position());
+        }
+    }
+
+    @Test
+    public void should_beSmallerThanJavaSerialization_when_encodingResult() throws IOException {
+        InquiryServiceResultDTO result = createResult();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(result);
+        }
+
+        assertTrue(resultCodec.encodedSize(result) * 4 < bytes.size());
+    }
+
+    private TransferRequest createTransferRequest() {
+        TransferRequest request = new TransferRequest();
+        request.setTransactionId("1234");
+        request.setTranDateTime(new Date(1500000000000L));
+        request.setChannel("Mobile");
+        request.setBankCode("BANK1");
+        request.setBankNumber("4321000");
+        request.setAmount(100.25d);
+        request.setReference1("ref1");
+        request.setReference2("ref2");
+        request.setFirstName("test");
+        request.setLastName("data");
+        return request;
+    }
+
+    private InquiryServiceResultDTO createResult() {
+        InquiryServiceResultDTO result = new InquiryServiceResultDTO();
+        result.setTranID("bank-1");
+        result.setReasonCode("200");
+        result.setReasonDesc("approved");
+        result.setBalance("2500.10");
+        result.setRef_no1("ref1");
+        result.setRef_no2("ref2");
+        result.setAmount("100.00");
+        result.setAccountName("test data");
+        return result;
+    }
+}
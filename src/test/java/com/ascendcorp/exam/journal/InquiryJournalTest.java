@@ -0,0 +1,205 @@
+package com.ascendcorp.exam.journal;
+
+import com.ascendcorp.exam.codec.TransferRequestCodec;
+import com.ascendcorp.exam.codec.WireCodec;
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import com.ascendcorp.exam.model.TransferRequest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertTrue;
+
+public class InquiryJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void should_readBackRecordsInOrder_when_journalClosed() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (InquiryJournal journal = new InquiryJournal(directory, 1 << 20, 1024)) {
+            for (int i = 0; i < 100; i++) {
+                assertTrue(journal.append(createTransferRequest("txn-" + i), createResult("200")));
+            }
+        }
+
+        List<JournalRecord> records = readAll(directory);
+
+        assertEquals(100, records.size());
+        assertEquals("txn-0", records.get(0).getRequest().getTransactionId());
+        assertEquals("txn-99", records.get(99).getRequest().getTransactionId());
+        assertEquals(100d, records.get(99).getRequest().getAmount());
+        assertEquals("200", records.get(99).getResult().getReasonCode());
+        assertTrue(records.get(0).getTimestampMillis() > 0);
+    }
+
+    @Test
+    public void should_rollOverSegments_when_segmentFull() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (InquiryJournal journal = new InquiryJournal(directory, 1024, 1024)) {
+            for (int i = 0; i < 50; i++) {
+                journal.append(createTransferRequest("txn-" + i), createResult("200"));
+            }
+        }
+
+        assertTrue(InquiryJournal.segments(directory).size() > 1);
+        List<JournalRecord> records = readAll(directory);
+        assertEquals(50, records.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals("txn-" + i, records.get(i).getRequest().getTransactionId());
+        }
+    }
+
+    @Test
+    public void should_startNewSegment_when_reopened() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (InquiryJournal journal = new InquiryJournal(directory, 1 << 16, 16)) {
+            journal.append(createTransferRequest("first"), createResult("200"));
+        }
+        try (InquiryJournal journal = new InquiryJournal(directory, 1 << 16, 16)) {
+            journal.append(createTransferRequest("second"), null);
+        }
+
+        List<JournalRecord> records = readAll(directory);
+
+        assertEquals(2, InquiryJournal.segments(directory).size());
+        assertEquals("first", records.get(0).getRequest().getTransactionId());
+        assertEquals("second", records.get(1).getRequest().getTransactionId());
+        assertNull(records.get(1).getResult());
+    }
+
+    @Test
+    public void should_keepQueuedValues_when_callerMutatesAfterAppend() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        TransferRequest request = createTransferRequest("txn-1");
+        InquiryServiceResultDTO result = createResult("200");
+        try (InquiryJournal journal = new InquiryJournal(directory, 1 << 16, 16)) {
+            journal.append(request, result);
+            request.setTransactionId("changed");
+            result.setReasonCode("500");
+        }
+
+        JournalRecord record = readAll(directory).get(0);
+
+        assertEquals("txn-1", record.getRequest().getTransactionId());
+        assertEquals("200", record.getResult().getReasonCode());
+    }
+
+    @Test
+    public void should_dropAndCount_when_closed() throws IOException {
+        InquiryJournal journal = new InquiryJournal(folder.getRoot().toPath(), 1 << 16, 16);
+        journal.close();
+
+        assertFalse(journal.append(createTransferRequest("late"), createResult("200")));
+        assertEquals(1, journal.getDroppedCount());
+        assertEquals(0, journal.getWrittenCount());
+    }
+
+    @Test
+    public void should_writeEveryAcceptedRecord_when_appendsRaceClose() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        InquiryJournal journal = new InquiryJournal(directory, 1 << 22, 1 << 16);
+        AtomicBoolean closing = new AtomicBoolean();
+        AtomicLong accepted = new AtomicLong();
+        List<Thread> appenders = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread appender = new Thread(() -> {
+                for (int i = 0; ; i++) {
+                    if (journal.append(createTransferRequest("race-" + i), null)) {
+                        accepted.incrementAndGet();
+                    } else if (closing.get()) {
+                        return;
+                    }
+                }
+            });
+            appender.start();
+            appenders.add(appender);
+        }
+        Thread.sleep(20);
+        closing.set(true);
+        journal.close();
+        for (Thread appender : appenders) {
+            appender.join();
+        }
+
+        List<JournalRecord> records = new ArrayList<>();
+        new InquiryJournalReader(directory).scan(records::add);
+        assertEquals(accepted.get(), journal.getWrittenCount());
+        assertEquals(accepted.get(), records.size());
+    }
+
+    @Test
+    public void should_dropRecordAndKeepWriting_when_encodingFails() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        TransferRequestCodec codec = new TransferRequestCodec();
+        WireCodec<TransferRequest> failingCodec = new WireCodec<TransferRequest>() {
+            @Override
+            public int encodedSize(TransferRequest value) {
+                return codec.encodedSize(value);
+            }
+
+            @Override
+            public void encode(TransferRequest value, ByteBuffer target) {
+                codec.encode(value, target);
+                if ("broken".equals(value.getTransactionId())) {
+                    throw new IllegalStateException("encoder failure");
+                }
+            }
+
+            @Override
+            public TransferRequest decode(ByteBuffer source) {
+                return codec.decode(source);
+            }
+        };
+        InquiryJournal journal = new InquiryJournal(directory, 1 << 16, 16, failingCodec);
+        journal.append(createTransferRequest("first"), createResult("200"));
+        journal.append(createTransferRequest("broken"), createResult("200"));
+        journal.append(createTransferRequest("last"), null);
+        journal.close();
+
+        List<JournalRecord> records = readAll(directory);
+
+        assertEquals(1, journal.getDroppedCount());
+        assertEquals(2, journal.getWrittenCount());
+        assertEquals(2, records.size());
+        assertEquals("first", records.get(0).getRequest().getTransactionId());
+        assertEquals("last", records.get(1).getRequest().getTransactionId());
+    }
+
+    private List<JournalRecord> readAll(Path directory) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        new InquiryJournalReader(directory).scan(records::add);
+        return records;
+    }
+
+    private TransferRequest createTransferRequest(String transactionId) {
+        TransferRequest request = new TransferRequest();
+        request.setTransactionId(transactionId);
+        request.setTranDateTime(new Date());
+        request.setChannel("Mobile");
+        request.setBankCode("BANK1");
+        request.setBankNumber("4321000");
+        request.setAmount(100d);
+        return request;
+    }
+
+    private InquiryServiceResultDTO createResult(String reasonCode) {
+        InquiryServiceResultDTO result = new InquiryServiceResultDTO();
+        result.setReasonCode(reasonCode);
+        result.setReasonDesc("approved");
+        return result;
+    }
+}
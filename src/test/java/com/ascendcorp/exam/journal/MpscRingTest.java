@@ -0,0 +1,74 @@
+package com.ascendcorp.exam.journal;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertTrue;
+
+public class MpscRingTest {
+
+    @Test
+    public void should_rejectOffer_when_full() {
+        MpscRing<String> ring = new MpscRing<>(2);
+
+        assertTrue(ring.offer("a"));
+        assertTrue(ring.offer("b"));
+        assertFalse(ring.offer("c"));
+        assertEquals("a", ring.poll());
+        assertTrue(ring.offer("c"));
+        assertEquals("b", ring.poll());
+        assertEquals("c", ring.poll());
+        assertNull(ring.poll());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_reject_when_capacityNotPowerOfTwo() {
+        new MpscRing<String>(3);
+    }
+
+    @Test
+    public void should_deliverEveryElement_when_manyProducers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 10_000;
+        MpscRing<Integer> ring = new MpscRing<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+        start.countDown();
+
+        long sum = 0;
+        int received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (received < producers * perProducer && System.nanoTime() < deadline) {
+            Integer value = ring.poll();
+            if (value != null) {
+                sum += value;
+                received++;
+            }
+        }
+        executor.shutdownNow();
+
+        assertEquals(producers * perProducer, received);
+        assertEquals((long) producers * perProducer * (perProducer - 1) / 2, sum);
+    }
+}
@@ -0,0 +1,45 @@
+package com.ascendcorp.exam.logging;
+
+import org.apache.log4j.AsyncAppender;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertTrue;
+
+public class AsyncLoggingTest {
+
+    @Test
+    public void should_deliverThroughAsyncAppender_when_installed() {
+        Logger logger = Logger.getLogger("async-logging-test");
+        logger.setAdditivity(false);
+        logger.setLevel(Level.INFO);
+        HotPathLoggerTest.RecordingAppender appender = new HotPathLoggerTest.RecordingAppender();
+        logger.addAppender(appender);
+
+        AsyncLogging asyncLogging = AsyncLogging.install(logger, 128);
+        assertTrue(logger.getAppender(AsyncLogging.APPENDER_NAME) instanceof AsyncAppender);
+        assertFalse(logger.isAttached(appender));
+
+        logger.info("Mapping response success");
+        asyncLogging.close();
+
+        assertNull(logger.getAppender(AsyncLogging.APPENDER_NAME));
+        assertEquals(1, appender.events.size());
+        assertEquals("Mapping response success", appender.events.get(0).getRenderedMessage());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void should_reject_when_installedTwice() {
+        Logger logger = Logger.getLogger("async-logging-twice-test");
+        AsyncLogging asyncLogging = AsyncLogging.install(logger, 128);
+        try {
+            AsyncLogging.install(logger, 128);
+        } finally {
+            asyncLogging.close();
+        }
+    }
+}
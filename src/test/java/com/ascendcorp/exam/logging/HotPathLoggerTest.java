@@ -0,0 +1,117 @@
+package com.ascendcorp.exam.logging;
+
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+public class HotPathLoggerTest {
+
+    private final Logger logger = Logger.getLogger("hot-path-test");
+    private final RecordingAppender appender = new RecordingAppender();
+    private final HotPathLogger hotPathLogger = new HotPathLogger(logger);
+
+    @Before
+    public void setUp() {
+        logger.setAdditivity(false);
+        logger.addAppender(appender);
+    }
+
+    @After
+    public void tearDown() {
+        logger.removeAppender(appender);
+    }
+
+    @Test
+    public void should_logAtDebug_when_sampleRateZero() {
+        logger.setLevel(Level.DEBUG);
+
+        hotPathLogger.sampled("Validate transferRequest");
+
+        assertEquals(1, appender.events.size());
+        assertEquals(Level.DEBUG, appender.events.get(0).getLevel());
+    }
+
+    @Test
+    public void should_logNothing_when_sampledAndDebugDisabled() {
+        logger.setLevel(Level.INFO);
+
+        hotPathLogger.sampled("Validate transferRequest");
+
+        assertTrue(appender.events.isEmpty());
+    }
+
+    @Test
+    public void should_logEveryCallAtInfo_when_sampleRateOne() {
+        logger.setLevel(Level.INFO);
+        hotPathLogger.setSampleRate(1);
+
+        for (int i = 0; i < 10; i++) {
+            hotPathLogger.sampled("Mapping response success");
+        }
+
+        assertEquals(10, appender.events.size());
+        assertEquals(Level.INFO, appender.events.get(0).getLevel());
+    }
+
+    @Test
+    public void should_logAboutOneInRate_when_sampling() {
+        logger.setLevel(Level.INFO);
+        hotPathLogger.setSampleRate(10);
+
+        for (int i = 0; i < 10_000; i++) {
+            hotPathLogger.sampled("Mapping response success");
+        }
+
+        assertTrue(appender.events.size() > 700 && appender.events.size() < 1300);
+    }
+
+    @Test
+    public void should_formatOnlyWhenEnabled_when_parameterized() {
+        logger.setLevel(Level.WARN);
+
+        hotPathLogger.info("bank {} answered {}", "BANK1", "approved");
+        hotPathLogger.warn("bank {} answered {}", "BANK1", "declined");
+
+        assertEquals(1, appender.events.size());
+        assertEquals("bank BANK1 answered declined", appender.events.get(0).getRenderedMessage());
+    }
+
+    @Test
+    public void should_substitutePlaceholders_when_formatting() {
+        assertEquals("no placeholder", HotPathLogger.format("no placeholder", "x"));
+        assertEquals("a=1 b={}", HotPathLogger.format("a={} b={}", 1));
+        assertEquals("a=1 b=2!", HotPathLogger.format("a={} b={}!", 1, 2));
+        assertEquals("a=null", HotPathLogger.format("a={}", null, null));
+        assertEquals("a=1 b=null", HotPathLogger.format("a={} b={}", 1, null));
+        assertEquals("a=null b=null", HotPathLogger.format("a={} b={}", null, null));
+    }
+
+    static class RecordingAppender extends AppenderSkeleton {
+
+        final List<LoggingEvent> events = new ArrayList<>();
+
+        @Override
+        protected void append(LoggingEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean requiresLayout() {
+            return false;
+        }
+    }
+}
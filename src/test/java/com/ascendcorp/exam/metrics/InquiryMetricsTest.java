@@ -0,0 +1,69 @@
+package com.ascendcorp.exam.metrics;
+
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+public class InquiryMetricsTest {
+
+    private final InquiryMetrics metrics = new InquiryMetrics();
+
+    @Test
+    public void should_splitSeriesByBankChannelAndReasonCode() {
+        metrics.recordInquiry("BANK1", "Mobile", "200", 1_000);
+        metrics.recordInquiry("BANK1", "Mobile", "200", 2_000);
+        metrics.recordInquiry("BANK1", "Web", "503", 3_000);
+        metrics.recordInquiry(null, null, "500", 4_000);
+
+        InquiryMetricsSnapshot snapshot = metrics.snapshot();
+
+        assertEquals(3, snapshot.getInquiries().size());
+        assertEquals(2, series(snapshot, "BANK1", "Mobile", "200").getLatency().getCount());
+        assertEquals(1, series(snapshot, "-", "-", "500").getLatency().getCount());
+    }
+
+    @Test
+    public void should_recordAsOther_when_labelLimitReached() {
+        InquiryMetrics bounded = new InquiryMetrics(2, 1, 1);
+        bounded.recordInquiry("BANK1", "Mobile", "200", 1_000);
+        bounded.recordInquiry("BANK1", "Web", "200", 2_000);
+        bounded.recordInquiry("BANK1", "Mobile", "503", 3_000);
+        bounded.recordInquiry("BANK2", "Mobile", "200", 4_000);
+        bounded.recordInquiry("BANK3", "Mobile", "200", 5_000);
+        bounded.recordInquiry("BANK4", "Mobile", "200", 6_000);
+
+        InquiryMetricsSnapshot snapshot = bounded.snapshot();
+
+        assertEquals(1, series(snapshot, "BANK1", "other", "200").getLatency().getCount());
+        assertEquals(1, series(snapshot, "BANK1", "Mobile", "other").getLatency().getCount());
+        assertEquals(2, series(snapshot, "other", "Mobile", "200").getLatency().getCount());
+        assertEquals(5, snapshot.getInquiries().size());
+    }
+
+    @Test
+    public void should_recordStagesAndFailurePaths() {
+        metrics.recordStage("BANK1", InquiryMetrics.Stage.BANK_CALL, 5_000);
+        metrics.recordFailure(InquiryMetrics.FailurePath.SOCKET_TIMEOUT);
+        metrics.recordFailure(InquiryMetrics.FailurePath.SOCKET_TIMEOUT);
+
+        InquiryMetricsSnapshot snapshot = metrics.snapshot();
+
+        assertEquals(3, snapshot.getStages().size());
+        assertEquals(2, snapshot.getFailureCount(InquiryMetrics.FailurePath.SOCKET_TIMEOUT));
+        assertEquals(0, snapshot.getFailureCount(InquiryMetrics.FailurePath.VALIDATION));
+        String text = snapshot.toPrometheusText();
+        assertTrue(text, text.contains("inquiry_stage_seconds_count{bank=\"BANK1\",stage=\"bank_call\"} 1"));
+        assertTrue(text, text.contains("inquiry_failures_total{path=\"socket_timeout\"} 2"));
+    }
+
+    private static InquiryMetricsSnapshot.InquirySeries series(InquiryMetricsSnapshot snapshot, String bankCode,
+                                                               String channel, String reasonCode) {
+        return snapshot.getInquiries().stream()
+                .filter(series -> series.getBankCode().equals(bankCode)
+                        && series.getChannel().equals(channel)
+                        && series.getReasonCode().equals(reasonCode))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+    }
+}
@@ -0,0 +1,56 @@
+package com.ascendcorp.exam.metrics;
+
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void should_keepValueInsideItsBucket() {
+        long[] values = {0, 1, 15, 16, 17, 1_000, 123_456, 5_000_000_000L, LatencyHistogram.MAX_VALUE};
+        for (long value : values) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            long highest = LatencyHistogram.highestValueIn(bucket);
+
+            assertTrue(value + " <= " + highest, value <= highest);
+            assertTrue(value + " within 1/16 of " + highest, highest - value <= Math.max(value / 16, 0));
+            if (bucket > 0) {
+                assertTrue(value > LatencyHistogram.highestValueIn(bucket - 1));
+            }
+        }
+    }
+
+    @Test
+    public void should_reportQuantiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500_500, snapshot.getMeanNanos());
+        assertEquals(1_000_000, snapshot.getMaxNanos());
+        assertWithinPrecision(500_000, snapshot.getP50Nanos());
+        assertWithinPrecision(990_000, snapshot.getP99Nanos());
+    }
+
+    @Test
+    public void should_clampOutOfRangeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(2, snapshot.getCount());
+        assertEquals(LatencyHistogram.MAX_VALUE, snapshot.getMaxNanos());
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue(expected + " ~ " + actual, Math.abs(actual - expected) <= expected / 16);
+    }
+}
@@ -0,0 +1,140 @@
+package com.ascendcorp.exam.model;
+
+import org.junit.Test;
+
+import java.util.Date;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNull;
+
+public class CompactModelTest {
+
+    @Test
+    public void should_roundTrip_when_transferRequestConverted() {
+        TransferRequest request = new TransferRequest();
+        request.setTransactionId("1234");
+        request.setTranDateTime(new Date(1500000000000L));
+        request.setChannel("Mobile");
+        request.setLocationCode("BKK");
+        request.setBankCode("BANK1");
+        request.setBankNumber("4321000");
+        request.setAmount(100.25d);
+        request.setReference1("ref1");
+        request.setReference2("ref2");
+        request.setFirstName("test");
+        request.setLastName("data");
+
+        CompactTransferRequest compact = CompactTransferRequest.from(request);
+        assertEquals(10025L, compact.getAmountMinor());
+        assertEquals(1500000000000L, compact.getTranDateTimeMillis());
+
+        TransferRequest back = compact.toTransferRequest();
+        assertEquals(request.getTransactionId(), back.getTransactionId());
+        assertEquals(request.getTranDateTime(), back.getTranDateTime());
+        assertEquals(request.getChannel(), back.getChannel());
+        assertEquals(request.getLocationCode(), back.getLocationCode());
+        assertEquals(request.getBankCode(), back.getBankCode());
+        assertEquals(request.getBankNumber(), back.getBankNumber());
+        assertEquals(request.getAmount(), back.getAmount());
+        assertEquals(request.getReference1(), back.getReference1());
+        assertEquals(request.getReference2(), back.getReference2());
+        assertEquals(request.getFirstName(), back.getFirstName());
+        assertEquals(request.getLastName(), back.getLastName());
+    }
+
+    @Test
+    public void should_keepMissingFields_when_requestEmpty() {
+        CompactTransferRequest compact = CompactTransferRequest.from(new TransferRequest());
+
+        assertFalse(compact.hasAmount());
+        assertFalse(compact.hasTranDateTime());
+        TransferRequest back = compact.toTransferRequest();
+        assertFalse(back.hasAmount());
+        assertNull(back.getTranDateTime());
+    }
+
+    @Test
+    public void should_parseBalance_when_transferResponseConverted() {
+        TransferResponse response = new TransferResponse();
+        response.setResponseCode("approved");
+        response.setDescription("approved");
+
+        CompactTransferResponse compact = CompactTransferResponse.from(response);
+
+        assertEquals("approved", compact.getResponseCode());
+        assertFalse(compact.hasBalance());
+    }
+
+    @Test
+    public void should_keepBankText_when_amountNotPlainDecimal() {
+        String[] unreadable = {"", "1,000.00", "1.005", "1E3", "N/A"};
+        for (String text : unreadable) {
+            InquiryServiceResultDTO result = new InquiryServiceResultDTO();
+            result.setReasonCode("200");
+            result.setBalance(text);
+            result.setAmount("100.00");
+
+            CompactInquiryResult compact = CompactInquiryResult.from(result);
+
+            assertEquals(MoneyUnits.NO_AMOUNT, compact.getBalanceMinor());
+            assertEquals(text, compact.getBalanceText());
+            assertEquals(10000L, compact.getAmountMinor());
+            assertEquals(text, compact.toResultDTO().getBalance());
+            assertEquals("100.00", compact.toResultDTO().getAmount());
+        }
+    }
+
+    @Test
+    public void should_keepBalanceText_when_bankBalanceUnreadable() {
+        TransferResponse response = new TransferResponse();
+        response.setResponseCode("approved");
+        response.setBalance("1,000.00");
+
+        CompactTransferResponse compact = CompactTransferResponse.from(response);
+
+        assertFalse(compact.hasBalance());
+        assertEquals("1,000.00", compact.getBalanceText());
+        assertEquals("1,000.00", compact.toTransferResponse().getBalance());
+    }
+
+    @Test
+    public void should_roundTrip_when_transferResponseConverted() {
+        TransferResponse response = new TransferResponse();
+        response.setResponseCode("approved");
+        response.setDescription("approved");
+        response.setReferenceCode1("ref1");
+        response.setReferenceCode2("ref2");
+        response.setBalance("1500.25");
+        response.setBankTransactionID("bank-1");
+
+        TransferResponse back = CompactTransferResponse.from(response).toTransferResponse();
+
+        assertEquals("approved", back.getResponseCode());
+        assertEquals("approved", back.getDescription());
+        assertEquals("ref1", back.getReferenceCode1());
+        assertEquals("ref2", back.getReferenceCode2());
+        assertEquals("1500.25", back.getBalance());
+        assertEquals("bank-1", back.getBankTransactionID());
+    }
+
+    @Test
+    public void should_roundTrip_when_resultConverted() {
+        InquiryServiceResultDTO result = new InquiryServiceResultDTO();
+        result.setTranID("bank-1");
+        result.setReasonCode("200");
+        result.setReasonDesc("approved");
+        result.setBalance("2500.10");
+        result.setAmount("100.00");
+        result.setRef_no1("ref1");
+        result.setRef_no2("ref2");
+        result.setAccountName("test data");
+
+        CompactInquiryResult compact = CompactInquiryResult.from(result);
+        assertEquals(250010L, compact.getBalanceMinor());
+        assertEquals(10000L, compact.getAmountMinor());
+
+        InquiryServiceResultDTO back = compact.toResultDTO();
+        assertEquals(result.toString(), back.toString());
+    }
+}
@@ -0,0 +1,46 @@
+package com.ascendcorp.exam.model;
+
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class DeadlineTest {
+
+    @Test
+    public void should_neverExpire_when_none() {
+        assertFalse(Deadline.NONE.isBounded());
+        assertFalse(Deadline.NONE.isExpired());
+        assertEquals(Long.MAX_VALUE, Deadline.NONE.remaining(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void should_reportRemainingTime_when_notExpired() {
+        Deadline deadline = Deadline.after(10, TimeUnit.SECONDS);
+
+        assertTrue(deadline.isBounded());
+        assertFalse(deadline.isExpired());
+        long remaining = deadline.remaining(TimeUnit.MILLISECONDS);
+        assertTrue(remaining > 9_000 && remaining <= 10_000);
+    }
+
+    @Test
+    public void should_beExpired_when_tranDateTimeOlderThanBudget() {
+        Deadline deadline = Deadline.fromTranDateTime(new Date(System.currentTimeMillis() - 5_000), 1, TimeUnit.SECONDS);
+
+        assertTrue(deadline.isExpired());
+        assertEquals(0, deadline.remaining(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void should_shortenBudget_when_tranDateTimeInPast() {
+        Deadline deadline = Deadline.fromTranDateTime(new Date(System.currentTimeMillis() - 2_000), 10, TimeUnit.SECONDS);
+
+        assertFalse(deadline.isExpired());
+        assertTrue(deadline.remaining(TimeUnit.MILLISECONDS) <= 8_000);
+    }
+}
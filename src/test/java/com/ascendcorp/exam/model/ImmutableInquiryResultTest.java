@@ -0,0 +1,68 @@
+package com.ascendcorp.exam.model;
+
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.fail;
+
+public class ImmutableInquiryResultTest {
+
+    private final ImmutableInquiryResult shared = ImmutableInquiryResult.of("503", "Error timeout");
+
+    @Test
+    public void should_reject_when_sharedResultChanged() {
+        try {
+            shared.setReasonCode("200");
+            fail("expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // every inquiry with this outcome holds the same instance
+        }
+        assertEquals("503", shared.getReasonCode());
+    }
+
+    @Test
+    public void should_copy_when_sharedResultNeedsChanging() {
+        InquiryServiceResultDTO mutable = ImmutableInquiryResult.mutable(shared);
+        mutable.setTranID("bank-1");
+
+        assertNotSame(shared, mutable);
+        assertFalse(mutable instanceof ImmutableInquiryResult);
+        assertEquals("503", mutable.getReasonCode());
+        assertEquals("Error timeout", mutable.getReasonDesc());
+        assertEquals(null, shared.getTranID());
+    }
+
+    @Test
+    public void should_readThroughUntilFirstWrite_when_viewOfSharedResult() {
+        InquiryServiceResultDTO view = ImmutableInquiryResult.mutable(shared);
+
+        assertEquals("503", view.getReasonCode());
+        assertEquals(shared.toString(), view.toString());
+        view.setReasonDesc("Bank timeout");
+
+        assertEquals("503", view.getReasonCode());
+        assertEquals("Bank timeout", view.getReasonDesc());
+        assertEquals("Error timeout", shared.getReasonDesc());
+        assertEquals("Bank timeout", new InquiryServiceResultDTO(view).getReasonDesc());
+    }
+
+    @Test
+    public void should_notCopy_when_resultAlreadyMutableForMutable() {
+        InquiryServiceResultDTO result = new InquiryServiceResultDTO();
+
+        assertSame(result, ImmutableInquiryResult.mutable(result));
+    }
+
+    @Test
+    public void should_copyOnlyMutableResults_when_handingOutCopies() {
+        InquiryServiceResultDTO result = new InquiryServiceResultDTO();
+        result.setReasonCode("200");
+
+        assertSame(shared, ImmutableInquiryResult.copyOf(shared));
+        assertNotSame(result, ImmutableInquiryResult.copyOf(result));
+        assertEquals("200", ImmutableInquiryResult.copyOf(result).getReasonCode());
+    }
+}
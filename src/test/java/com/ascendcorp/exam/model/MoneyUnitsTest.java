@@ -0,0 +1,60 @@
+package com.ascendcorp.exam.model;
+
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNull;
+
+public class MoneyUnitsTest {
+
+    @Test
+    public void should_parseMinorUnits_when_plainDecimal() {
+        assertEquals(150000L, MoneyUnits.parse("1500"));
+        assertEquals(150050L, MoneyUnits.parse("1500.5"));
+        assertEquals(75L, MoneyUnits.parse("0.75"));
+        assertEquals(75L, MoneyUnits.parse(".75"));
+        assertEquals(-2050L, MoneyUnits.parse("-20.50"));
+        assertEquals(MoneyUnits.NO_AMOUNT, MoneyUnits.parse(null));
+    }
+
+    @Test
+    public void should_returnNoAmount_when_parseOrNoneGivenUnreadableText() {
+        assertEquals(MoneyUnits.NO_AMOUNT, MoneyUnits.parseOrNone(""));
+        assertEquals(MoneyUnits.NO_AMOUNT, MoneyUnits.parseOrNone("1.005"));
+        assertEquals(MoneyUnits.NO_AMOUNT, MoneyUnits.parseOrNone("1,000"));
+        assertEquals(MoneyUnits.NO_AMOUNT, MoneyUnits.parseOrNone("1E3"));
+        assertEquals(MoneyUnits.NO_AMOUNT, MoneyUnits.parseOrNone("99999999999999999999"));
+        assertEquals(150050L, MoneyUnits.parseOrNone("1500.50"));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void should_reject_when_moreThanTwoDecimals() {
+        MoneyUnits.parse("1.005");
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void should_reject_when_notANumber() {
+        MoneyUnits.parse("12a");
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void should_reject_when_empty() {
+        MoneyUnits.parse("");
+    }
+
+    @Test
+    public void should_formatTwoDecimals_when_formatting() {
+        assertEquals("1500.00", MoneyUnits.format(150000L));
+        assertEquals("0.05", MoneyUnits.format(5L));
+        assertEquals("-20.50", MoneyUnits.format(-2050L));
+        assertNull(MoneyUnits.format(MoneyUnits.NO_AMOUNT));
+    }
+
+    @Test
+    public void should_roundToNearestMinorUnit_when_fromDouble() {
+        assertEquals(10000L, MoneyUnits.fromDouble(100d));
+        assertEquals(1010L, MoneyUnits.fromDouble(10.1d));
+        assertEquals(29L, MoneyUnits.fromDouble(0.29d));
+        assertEquals(100.25d, MoneyUnits.toDouble(10025L));
+    }
+}
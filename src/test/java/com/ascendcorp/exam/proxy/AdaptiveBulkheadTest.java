@@ -0,0 +1,102 @@
+package com.ascendcorp.exam.proxy;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class AdaptiveBulkheadTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    public void should_reject_when_limitReached() {
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("BANK1", new AdaptiveBulkhead.Config(2, 1, 10, 0.5, 2.0, 100));
+
+        assertTrue(bulkhead.tryAcquire());
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire());
+        assertEquals(1, bulkhead.getRejectedCount());
+
+        bulkhead.onIgnored();
+        assertTrue(bulkhead.tryAcquire());
+        assertEquals(2, bulkhead.getInFlight());
+    }
+
+    @Test
+    public void should_backOff_when_callsSlowOrFailing() {
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("BANK1", new AdaptiveBulkhead.Config(16, 2, 32, 0.5, 2.0, 100));
+        complete(bulkhead, FAST, false);
+
+        complete(bulkhead, SLOW, false);
+        assertEquals(8, bulkhead.getLimit());
+
+        complete(bulkhead, FAST, true);
+        assertEquals(4, bulkhead.getLimit());
+
+        complete(bulkhead, SLOW, false);
+        complete(bulkhead, SLOW, false);
+        assertEquals(2, bulkhead.getLimit());
+    }
+
+    @Test
+    public void should_growLimit_when_fastCallsKeepBulkheadBusy() {
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("BANK1", new AdaptiveBulkhead.Config(2, 1, 4, 0.5, 2.0, 100));
+
+        for (int round = 0; round < 20; round++) {
+            int limit = bulkhead.getLimit();
+            for (int i = 0; i < limit; i++) {
+                assertTrue(bulkhead.tryAcquire());
+            }
+            for (int i = 0; i < limit; i++) {
+                bulkhead.onSuccess(FAST);
+            }
+        }
+
+        assertEquals(4, bulkhead.getLimit());
+    }
+
+    @Test
+    public void should_keepLimit_when_fastCallsLeaveBulkheadIdle() {
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("BANK1", new AdaptiveBulkhead.Config(10, 1, 40, 0.5, 2.0, 100));
+
+        for (int i = 0; i < 100; i++) {
+            complete(bulkhead, FAST, false);
+        }
+
+        assertEquals(10, bulkhead.getLimit());
+    }
+
+    @Test
+    public void should_relearnBaseline_when_minLatencyWindowPasses() {
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("BANK1", new AdaptiveBulkhead.Config(10, 1, 40, 0.5, 2.0, 3));
+        complete(bulkhead, FAST, false);
+        complete(bulkhead, FAST * 3, false);
+        assertEquals(5, bulkhead.getLimit());
+
+        complete(bulkhead, FAST * 3, false);
+        complete(bulkhead, FAST * 3, false);
+        int afterReset = bulkhead.getLimit();
+        complete(bulkhead, FAST * 3, false);
+
+        assertEquals(afterReset, bulkhead.getLimit());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_reject_when_initialLimitOutOfRange() {
+        new AdaptiveBulkhead.Config(50, 1, 10, 0.5, 2.0, 100);
+    }
+
+    private void complete(AdaptiveBulkhead bulkhead, long latencyNanos, boolean failed) {
+        assertTrue(bulkhead.tryAcquire());
+        if (failed) {
+            bulkhead.onFailure(latencyNanos);
+        } else {
+            bulkhead.onSuccess(latencyNanos);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.ascendcorp.exam.proxy;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class BankCircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final BankCircuitBreaker breaker = new BankCircuitBreaker("BANK1",
+            new BankCircuitBreaker.Config(50, 4, 4, 10, TimeUnit.SECONDS, 2), now::get);
+
+    @Test
+    public void should_stayClosed_until_minimumCallsReached() {
+        fail(3);
+
+        assertEquals(BankCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void should_open_when_failureRateReached() {
+        succeed(2);
+        fail(2);
+
+        assertEquals(BankCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(1, breaker.getRejectedCount());
+    }
+
+    @Test
+    public void should_slideWindow_when_oldFailuresAgeOut() {
+        fail(1);
+        succeed(3);
+        fail(1);
+
+        assertEquals(BankCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void should_closeAfterProbes_when_openDurationElapsed() {
+        fail(4);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(BankCircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(BankCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void should_reopen_when_probeFails() {
+        fail(4);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onFailure();
+
+        assertEquals(BankCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void should_releaseProbe_when_outcomeIgnored() {
+        fail(4);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+
+        breaker.onIgnored();
+
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    private void succeed(int calls) {
+        for (int i = 0; i < calls; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.onSuccess();
+        }
+    }
+
+    private void fail(int calls) {
+        for (int i = 0; i < calls; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.onFailure();
+        }
+    }
+}
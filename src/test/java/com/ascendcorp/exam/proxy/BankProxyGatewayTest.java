@@ -0,0 +1,105 @@
+package com.ascendcorp.exam.proxy;
+
+import com.ascendcorp.exam.exception.BankTransportException;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+import org.junit.Test;
+import org.springframework.boot.web.server.WebServerException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpConnectTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+
+public class BankProxyGatewayTest {
+
+    @Test
+    public void should_completeWithBlockingReply_when_asyncNotOverridden() {
+        TransferResponse response = new TransferResponse();
+        BankProxyGateway gateway = new BankProxyGateway() {
+            @Override
+            public TransferResponse requestTransfer(TransferRequest transferRequest) {
+                return response;
+            }
+        };
+
+        assertSame(response, gateway.requestTransferAsync(new TransferRequest()).join());
+    }
+
+    @Test
+    public void should_failFuture_when_blockingCallThrows() {
+        WebServerException failure = new WebServerException("Server Connection timed out", null);
+        BankProxyGateway gateway = new BankProxyGateway() {
+            @Override
+            public TransferResponse requestTransfer(TransferRequest transferRequest) {
+                throw failure;
+            }
+        };
+
+        CompletableFuture<TransferResponse> reply = gateway.requestTransferAsync(new TransferRequest());
+
+        assertTrue(reply.isCompletedExceptionally());
+        try {
+            reply.join();
+            fail("expected CompletionException");
+        } catch (CompletionException ex) {
+            assertSame(failure, ex.getCause());
+        }
+    }
+
+    @Test
+    public void should_useTypedKind_when_bankTransportException() {
+        WebServerException failure = new BankTransportException(BankTransportException.Kind.CONNECT_REFUSED,
+                "java.net.SocketTimeoutException in message is ignored", null);
+
+        assertEquals(BankTransportException.Kind.CONNECT_REFUSED, BankProxyGateway.classifyFailure(failure));
+    }
+
+    @Test
+    public void should_classifyJdkCause_when_wrapped() {
+        assertEquals(BankTransportException.Kind.READ_TIMEOUT, BankProxyGateway.classifyFailure(
+                new WebServerException("Bank call failed", new SocketTimeoutException("Read timed out"))));
+        assertEquals(BankTransportException.Kind.CONNECT_TIMEOUT, BankProxyGateway.classifyFailure(
+                new WebServerException("Bank call failed", new HttpConnectTimeoutException("connect"))));
+        assertEquals(BankTransportException.Kind.CONNECT_REFUSED, BankProxyGateway.classifyFailure(
+                new WebServerException("Bank call failed", new ExecutionException(new ConnectException()))));
+        assertEquals(BankTransportException.Kind.CANCELLED, BankProxyGateway.classifyFailure(
+                new WebServerException("Bank call failed", new InterruptedException())));
+    }
+
+    @Test
+    public void should_classifyConnectTimeout_when_osConnectTimedOut() {
+        assertEquals(BankTransportException.Kind.CONNECT_TIMEOUT, BankProxyGateway.classifyFailure(
+                new WebServerException("Bank call failed", new ConnectException("Connection timed out"))));
+        assertEquals(BankTransportException.Kind.CONNECT_REFUSED, BankProxyGateway.classifyFailure(
+                new WebServerException("Bank call failed", new ConnectException("Connection refused"))));
+    }
+
+    @Test
+    public void should_classifyConnectTimeout_when_socketConnectTimedOut() {
+        assertEquals(BankTransportException.Kind.CONNECT_TIMEOUT, BankProxyGateway.classifyFailure(
+                new WebServerException("Bank call failed", new SocketTimeoutException("Connect timed out"))));
+        assertEquals(BankTransportException.Kind.READ_TIMEOUT, BankProxyGateway.classifyFailure(
+                new WebServerException("Bank call failed", new SocketTimeoutException())));
+    }
+
+    @Test
+    public void should_fallBackToMessage_when_untypedWebServerException() {
+        assertEquals(BankTransportException.Kind.READ_TIMEOUT, BankProxyGateway.classifyFailure(
+                new WebServerException("java.net.SocketTimeoutException error", null)));
+        assertEquals(BankTransportException.Kind.CONNECT_TIMEOUT, BankProxyGateway.classifyFailure(
+                new WebServerException("Server Connection timed out", null)));
+        assertEquals(BankTransportException.Kind.TRANSPORT_ERROR, BankProxyGateway.classifyFailure(
+                new WebServerException("Bank call failed", new IOException("reset"))));
+        assertEquals(BankTransportException.Kind.TRANSPORT_ERROR, BankProxyGateway.classifyFailure(
+                new WebServerException(null, null)));
+    }
+}
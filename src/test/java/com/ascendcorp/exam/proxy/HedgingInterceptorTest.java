@@ -0,0 +1,187 @@
+package com.ascendcorp.exam.proxy;
+
+import com.ascendcorp.exam.model.Deadline;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.boot.web.server.WebServerException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+
+public class HedgingInterceptorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HedgingInterceptor hedging;
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        if (hedging != null) {
+            hedging.close();
+        }
+    }
+
+    @Test
+    public void should_returnHedgeReply_when_firstAttemptSlow() {
+        hedging = new HedgingInterceptor(new HedgingInterceptor.Config(0.95, 1, 20, 100, 60_000,
+                TimeUnit.MILLISECONDS, 0.1, 5));
+        AtomicInteger calls = new AtomicInteger();
+        TransferResponse fast = new TransferResponse();
+
+        TransferResponse result = hedging.intercept(createTransferRequest(), Deadline.NONE, (request, deadline) -> {
+            if (calls.incrementAndGet() == 1) {
+                await(release);
+                return new TransferResponse();
+            }
+            return fast;
+        });
+
+        assertSame(fast, result);
+        assertEquals(1, hedging.getHedgedCount());
+        assertEquals(1, hedging.getHedgeWinCount());
+    }
+
+    @Test
+    public void should_cancelFirstAttempt_when_hedgeWins() throws Exception {
+        hedging = new HedgingInterceptor(new HedgingInterceptor.Config(0.95, 1, 20, 100, 60_000,
+                TimeUnit.MILLISECONDS, 0.1, 5));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch cancelled = new CountDownLatch(1);
+
+        hedging.intercept(createTransferRequest(), Deadline.NONE, (request, deadline) -> {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    cancelled.countDown();
+                }
+            }
+            return new TransferResponse();
+        });
+
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void should_notHedge_when_noThreadLeft() {
+        hedging = new HedgingInterceptor(new HedgingInterceptor.Config(0.95, 1, 5, 100, 60_000,
+                TimeUnit.MILLISECONDS, 0.1, 5), 1);
+        AtomicInteger calls = new AtomicInteger();
+        TransferResponse slow = new TransferResponse();
+
+        TransferResponse result = hedging.intercept(createTransferRequest(), Deadline.NONE, (request, deadline) -> {
+            calls.incrementAndGet();
+            sleep(30);
+            return slow;
+        });
+
+        assertSame(slow, result);
+        assertEquals(1, calls.get());
+        assertEquals(0, hedging.getHedgedCount());
+    }
+
+    @Test
+    public void should_notHedge_when_firstAttemptFast() {
+        hedging = new HedgingInterceptor(new HedgingInterceptor.Config(0.95, 1, 1000, 100, 60_000,
+                TimeUnit.MILLISECONDS, 0.1, 5));
+        AtomicInteger calls = new AtomicInteger();
+
+        hedging.intercept(createTransferRequest(), Deadline.NONE, (request, deadline) -> {
+            calls.incrementAndGet();
+            return new TransferResponse();
+        });
+
+        assertEquals(1, calls.get());
+        assertEquals(0, hedging.getHedgedCount());
+    }
+
+    @Test
+    public void should_waitForOriginal_when_budgetExhausted() {
+        hedging = new HedgingInterceptor(new HedgingInterceptor.Config(0.95, 1, 5, 100, 60_000,
+                TimeUnit.MILLISECONDS, 0.0, 1));
+        hedging.hedgeFor("BANK1").getBudget().tryWithdraw();
+        AtomicInteger calls = new AtomicInteger();
+        TransferResponse slow = new TransferResponse();
+
+        TransferResponse result = hedging.intercept(createTransferRequest(), Deadline.NONE, (request, deadline) -> {
+            calls.incrementAndGet();
+            sleep(30);
+            return slow;
+        });
+
+        assertSame(slow, result);
+        assertEquals(1, calls.get());
+        assertEquals(0, hedging.getHedgedCount());
+    }
+
+    @Test
+    public void should_throwLastFailure_when_bothAttemptsFail() {
+        hedging = new HedgingInterceptor(new HedgingInterceptor.Config(0.95, 1, 5, 100, 60_000,
+                TimeUnit.MILLISECONDS, 0.1, 5));
+
+        try {
+            hedging.intercept(createTransferRequest(), Deadline.NONE, (request, deadline) -> {
+                sleep(30);
+                throw new WebServerException("Server Connection timed out", null);
+            });
+            fail("expected WebServerException");
+        } catch (WebServerException ex) {
+            assertEquals("Server Connection timed out", ex.getMessage());
+            assertEquals(1, hedging.getHedgedCount());
+        }
+    }
+
+    @Test
+    public void should_learnDelayFromLatency_when_windowRefreshed() {
+        long[] now = {0L};
+        hedging = new HedgingInterceptor(new HedgingInterceptor.Config(0.5, 1, 1000, 2, 1,
+                TimeUnit.MILLISECONDS, 0.1, 5), Executors.newCachedThreadPool(), () -> now[0]);
+
+        HedgingInterceptor.BankHedge hedge = hedging.hedgeFor("BANK1");
+        assertEquals(TimeUnit.SECONDS.toNanos(1), hedge.getDelayNanos());
+        hedging.intercept(createTransferRequest(), Deadline.NONE, (request, deadline) -> {
+            now[0] += TimeUnit.MILLISECONDS.toNanos(10);
+            return new TransferResponse();
+        });
+        hedging.intercept(createTransferRequest(), Deadline.NONE, (request, deadline) -> {
+            now[0] += TimeUnit.MILLISECONDS.toNanos(10);
+            return new TransferResponse();
+        });
+        hedging.intercept(createTransferRequest(), Deadline.NONE, (request, deadline) -> new TransferResponse());
+
+        assertTrue(hedge.getDelayNanos() >= TimeUnit.MILLISECONDS.toNanos(10));
+        assertTrue(hedge.getDelayNanos() < TimeUnit.MILLISECONDS.toNanos(11));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private TransferRequest createTransferRequest() {
+        TransferRequest request = new TransferRequest();
+        request.setTransactionId("1234");
+        request.setBankCode("BANK1");
+        return request;
+    }
+}
@@ -0,0 +1,226 @@
+package com.ascendcorp.exam.proxy;
+
+import com.ascendcorp.exam.exception.BankBusyException;
+import com.ascendcorp.exam.exception.BankTransportException;
+import com.ascendcorp.exam.model.Deadline;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+
+public class HttpBankProxyGatewayTest {
+
+    private StubBankServer bank;
+
+    @Before
+    public void setUp() throws Exception {
+        bank = StubBankServer.start(4);
+    }
+
+    @After
+    public void tearDown() {
+        bank.close();
+    }
+
+    @Test
+    public void should_decodeBankReply_when_bankApproves() {
+        HttpBankProxyGateway gateway = createGateway(5000);
+
+        TransferResponse response = gateway.requestTransfer(createTransferRequest());
+
+        assertEquals("approved", response.getResponseCode());
+        assertEquals("approved", response.getDescription());
+        assertEquals("1234", response.getBankTransactionID());
+        assertEquals(10, gateway.getAvailableConnections("BANK1"));
+    }
+
+    @Test
+    public void should_reuseConnection_when_callsAreSequential() {
+        HttpBankProxyGateway gateway = createGateway(5000);
+
+        for (int i = 0; i < 20; i++) {
+            gateway.requestTransfer(createTransferRequest());
+        }
+
+        assertEquals(20, bank.getRequestCount());
+        assertEquals(1, bank.getConnectionCount());
+    }
+
+    @Test
+    public void should_throwReadTimeout_when_bankTooSlow() {
+        bank.setLatencyMillis(1000);
+
+        assertKind(BankTransportException.Kind.READ_TIMEOUT, createGateway(50), Deadline.NONE);
+    }
+
+    @Test
+    public void should_capTimeoutAtDeadline_when_deadlineShorter() {
+        HttpBankProxyGateway gateway = createGateway(5000);
+        gateway.requestTransfer(createTransferRequest());
+        bank.setLatencyMillis(1000);
+        long startNanos = System.nanoTime();
+
+        assertKind(BankTransportException.Kind.READ_TIMEOUT, gateway, Deadline.after(50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.MILLISECONDS.toNanos(900));
+    }
+
+    @Test
+    public void should_throwTransportError_when_bankAnswersHttpError() {
+        bank.setStatus(503);
+
+        assertKind(BankTransportException.Kind.TRANSPORT_ERROR, createGateway(5000), Deadline.NONE);
+    }
+
+    @Test
+    public void should_throwConnectRefused_when_bankDown() {
+        HttpBankProxyGateway gateway = createGateway(5000);
+        bank.close();
+
+        assertKind(BankTransportException.Kind.CONNECT_REFUSED, gateway, Deadline.NONE);
+    }
+
+    @Test
+    public void should_throwTransportError_when_bankNotConfigured() {
+        TransferRequest request = createTransferRequest();
+        request.setBankCode("BANK9");
+
+        try {
+            createGateway(5000).requestTransfer(request);
+            fail("expected BankTransportException");
+        } catch (BankTransportException ex) {
+            assertEquals(BankTransportException.Kind.TRANSPORT_ERROR, ex.getKind());
+        }
+    }
+
+    @Test
+    public void should_completeFuture_when_requestedAsync() throws Exception {
+        HttpBankProxyGateway gateway = createGateway(5000);
+
+        TransferResponse response = gateway.requestTransferAsync(createTransferRequest()).get(5, TimeUnit.SECONDS);
+
+        assertEquals("1234", response.getBankTransactionID());
+    }
+
+    @Test
+    public void should_capAsyncTimeoutAtDeadline_when_deadlineShorter() {
+        HttpBankProxyGateway gateway = createGateway(5000);
+        gateway.requestTransfer(createTransferRequest());
+        bank.setLatencyMillis(1000);
+        long startNanos = System.nanoTime();
+
+        try {
+            gateway.requestTransferAsync(createTransferRequest(), Deadline.after(50, TimeUnit.MILLISECONDS)).join();
+            fail("expected CompletionException");
+        } catch (CompletionException ex) {
+            assertEquals(BankTransportException.Kind.READ_TIMEOUT,
+                    ((BankTransportException) ex.getCause()).getKind());
+        }
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.MILLISECONDS.toNanos(900));
+    }
+
+    @Test
+    public void should_failFuture_when_asyncBankAnswersHttpError() {
+        bank.setStatus(500);
+
+        try {
+            createGateway(5000).requestTransferAsync(createTransferRequest()).join();
+            fail("expected CompletionException");
+        } catch (CompletionException ex) {
+            assertEquals(BankTransportException.Kind.TRANSPORT_ERROR,
+                    ((BankTransportException) ex.getCause()).getKind());
+        }
+        assertEquals(1, bank.getRequestCount());
+    }
+
+    @Test
+    public void should_failBankBusy_when_noFreeConnection() throws Exception {
+        bank.setLatencyMillis(500);
+        HttpBankProxyGateway gateway = new HttpBankProxyGateway(new HttpBankProxyGateway.Config(
+                Collections.singletonMap("BANK1", bank.endpoint("BANK1")), 1, 1000, 5000,
+                TimeUnit.MILLISECONDS, true));
+        CompletableFuture<TransferResponse> inFlight = gateway.requestTransferAsync(createTransferRequest());
+
+        try {
+            gateway.requestTransferAsync(createTransferRequest()).join();
+            fail("expected CompletionException");
+        } catch (CompletionException ex) {
+            assertTrue(ex.getCause() instanceof BankBusyException);
+        }
+        try {
+            gateway.requestTransfer(createTransferRequest(), Deadline.after(20, TimeUnit.MILLISECONDS));
+            fail("expected BankBusyException");
+        } catch (BankBusyException expected) {
+            // the only connection is still held by the first call
+        }
+        assertEquals("1234", inFlight.get(5, TimeUnit.SECONDS).getBankTransactionID());
+    }
+
+    @Test
+    public void should_keepConnectionPermits_when_requestCannotBeBuilt() {
+        HttpBankProxyGateway gateway = new HttpBankProxyGateway(new HttpBankProxyGateway.Config(
+                Collections.singletonMap("BANK1", URI.create("ftp://bank1/transfer")), 1, 1000, 5000,
+                TimeUnit.MILLISECONDS, true));
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                gateway.requestTransfer(createTransferRequest());
+                fail("expected IllegalArgumentException");
+            } catch (IllegalArgumentException expected) {
+                assertEquals(1, gateway.getAvailableConnections("BANK1"));
+            }
+            try {
+                gateway.requestTransferAsync(createTransferRequest());
+                fail("expected IllegalArgumentException");
+            } catch (IllegalArgumentException expected) {
+                assertEquals(1, gateway.getAvailableConnections("BANK1"));
+            }
+        }
+    }
+
+    @Test
+    public void should_parseEndpoints_when_commaSeparated() {
+        Map<String, URI> endpoints = HttpBankProxyGateway.Config.parseEndpoints(
+                "BANK1=http://bank1/transfer, BANK2=https://bank2:8443/transfer");
+
+        assertEquals(2, endpoints.size());
+        assertEquals(URI.create("https://bank2:8443/transfer"), endpoints.get("BANK2"));
+        assertTrue(HttpBankProxyGateway.Config.parseEndpoints(" ").isEmpty());
+    }
+
+    private void assertKind(BankTransportException.Kind expected, HttpBankProxyGateway gateway, Deadline deadline) {
+        try {
+            gateway.requestTransfer(createTransferRequest(), deadline);
+            fail("expected BankTransportException");
+        } catch (BankTransportException ex) {
+            assertEquals(expected, ex.getKind());
+        }
+    }
+
+    private HttpBankProxyGateway createGateway(long readTimeoutMillis) {
+        return new HttpBankProxyGateway(new HttpBankProxyGateway.Config(
+                Collections.singletonMap("BANK1", bank.endpoint("BANK1")), 10, 1000, readTimeoutMillis,
+                TimeUnit.MILLISECONDS, true));
+    }
+
+    private TransferRequest createTransferRequest() {
+        TransferRequest request = new TransferRequest();
+        request.setTransactionId("1234");
+        request.setChannel("Mobile");
+        request.setBankCode("BANK1");
+        request.setBankNumber("4321000");
+        request.setAmount(100d);
+        return request;
+    }
+}
@@ -0,0 +1,109 @@
+package com.ascendcorp.exam.proxy;
+
+import com.ascendcorp.exam.exception.BankRateLimitedException;
+import com.ascendcorp.exam.model.Deadline;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+
+public class RateLimitInterceptorTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<Long> sleeps = new ArrayList<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    public void should_rejectWithoutCall_when_quotaUsedUp() {
+        RateLimitInterceptor limiter = createInterceptor(RateLimitInterceptor.Mode.REJECT, 100);
+        call(limiter, "BANK1", Deadline.NONE);
+        call(limiter, "BANK1", Deadline.NONE);
+
+        try {
+            call(limiter, "BANK1", Deadline.NONE);
+            fail("expected BankRateLimitedException");
+        } catch (BankRateLimitedException ex) {
+            assertEquals("503", ex.getCode());
+        }
+
+        assertEquals(2, calls.get());
+        assertEquals(Long.valueOf(1), limiter.getThrottledCounts().get("BANK1"));
+        assertTrue(sleeps.isEmpty());
+    }
+
+    @Test
+    public void should_waitForPermit_when_waitMode() {
+        RateLimitInterceptor limiter = createInterceptor(RateLimitInterceptor.Mode.WAIT, 100);
+        call(limiter, "BANK1", Deadline.NONE);
+        call(limiter, "BANK1", Deadline.NONE);
+
+        call(limiter, "BANK1", Deadline.NONE);
+
+        assertEquals(3, calls.get());
+        assertEquals(Collections.singletonList(TimeUnit.MILLISECONDS.toNanos(100)), sleeps);
+        assertEquals(Long.valueOf(1), limiter.getDelayedCounts().get("BANK1"));
+    }
+
+    @Test
+    public void should_reject_when_waitOutlastsDeadline() {
+        RateLimitInterceptor limiter = createInterceptor(RateLimitInterceptor.Mode.WAIT, 1000);
+        call(limiter, "BANK1", Deadline.NONE);
+        call(limiter, "BANK1", Deadline.NONE);
+
+        try {
+            call(limiter, "BANK1", Deadline.after(50, TimeUnit.MILLISECONDS));
+            fail("expected BankRateLimitedException");
+        } catch (BankRateLimitedException expected) {
+            // permit is 100 ms away, deadline only 50 ms
+        }
+        assertTrue(sleeps.isEmpty());
+    }
+
+    @Test
+    public void should_useBankQuota_when_configured() {
+        RateLimitInterceptor limiter = createInterceptor(RateLimitInterceptor.Mode.REJECT, 0);
+
+        for (int i = 0; i < 5; i++) {
+            call(limiter, "BANK2", Deadline.NONE);
+        }
+
+        assertEquals(5, calls.get());
+        assertEquals(0, limiter.bucketFor("BANK2").getAvailablePermits());
+        assertEquals(2, limiter.bucketFor("BANK1").getAvailablePermits());
+    }
+
+    @Test
+    public void should_parseBankConfigs() {
+        Map<String, TokenBucket.Config> configs = RateLimitInterceptor.parseBankConfigs("BANK1=20/40, BANK2=0.5/1");
+
+        assertEquals(2, configs.size());
+        assertTrue(RateLimitInterceptor.parseBankConfigs("").isEmpty());
+    }
+
+    private RateLimitInterceptor createInterceptor(RateLimitInterceptor.Mode mode, long maxWaitMillis) {
+        return new RateLimitInterceptor(new TokenBucket.Config(10, 2),
+                RateLimitInterceptor.parseBankConfigs("BANK2=10/5"), mode, maxWaitMillis, TimeUnit.MILLISECONDS,
+                now::get, sleeps::add);
+    }
+
+    private TransferResponse call(RateLimitInterceptor limiter, String bankCode, Deadline deadline) {
+        TransferRequest request = new TransferRequest();
+        request.setTransactionId("1234");
+        request.setBankCode(bankCode);
+        return limiter.intercept(request, deadline, (transferRequest, callDeadline) -> {
+            calls.incrementAndGet();
+            return new TransferResponse();
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package com.ascendcorp.exam.proxy;
+
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class RetryBudgetTest {
+
+    @Test
+    public void should_allowBurstThenRatio_when_withdrawing() {
+        RetryBudget budget = new RetryBudget(0.1, 2);
+
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+
+        for (int i = 0; i < 9; i++) {
+            budget.onRequest();
+        }
+        assertFalse(budget.tryWithdraw());
+        budget.onRequest();
+        assertTrue(budget.tryWithdraw());
+        assertEquals(2, budget.getExhaustedCount());
+    }
+
+    @Test
+    public void should_capBalance_when_manyRequests() {
+        RetryBudget budget = new RetryBudget(0.5, 3);
+
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest();
+        }
+
+        assertEquals(3.0, budget.getTokens());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_reject_when_ratioAboveOne() {
+        new RetryBudget(1.5, 10);
+    }
+}
@@ -0,0 +1,155 @@
+package com.ascendcorp.exam.proxy;
+
+import com.ascendcorp.exam.exception.BankTransportException;
+import com.ascendcorp.exam.model.Deadline;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+import org.junit.Test;
+import org.springframework.boot.web.server.WebServerException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+
+public class RetryInterceptorTest {
+
+    private final List<Long> sleeps = new ArrayList<>();
+
+    @Test
+    public void should_retry_when_connectionTimedOut() {
+        RetryInterceptor retry = createInterceptor(3, 10);
+        AtomicInteger calls = new AtomicInteger();
+        TransferResponse response = new TransferResponse();
+
+        TransferResponse result = retry.intercept(createTransferRequest(), Deadline.NONE, (request, deadline) -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new WebServerException("Server Connection timed out", null);
+            }
+            return response;
+        });
+
+        assertSame(response, result);
+        assertEquals(3, calls.get());
+        assertEquals(2, retry.getRetryCount());
+        assertEquals(2, sleeps.size());
+        assertTrue(sleeps.get(0) <= 20 && sleeps.get(1) <= 40);
+    }
+
+    @Test
+    public void should_retryOnTimer_when_asyncConnectionTimedOut() throws Exception {
+        RetryInterceptor retry = createInterceptor(3, 10);
+        AtomicInteger calls = new AtomicInteger();
+        TransferResponse response = new TransferResponse();
+
+        TransferResponse result = retry.interceptAsync(createTransferRequest(), Deadline.NONE, (request, deadline) ->
+                calls.incrementAndGet() < 3
+                        ? CompletableFuture.failedFuture(new WebServerException("Server Connection timed out", null))
+                        : CompletableFuture.completedFuture(response))
+                .get(5, TimeUnit.SECONDS);
+
+        assertSame(response, result);
+        assertEquals(3, calls.get());
+        assertEquals(2, retry.getRetryCount());
+        assertTrue(sleeps.isEmpty());
+    }
+
+    @Test
+    public void should_notRetry_when_socketTimeout() {
+        RetryInterceptor retry = createInterceptor(3, 10);
+        AtomicInteger calls = new AtomicInteger();
+
+        try {
+            retry.intercept(createTransferRequest(), Deadline.NONE, (request, deadline) -> {
+                calls.incrementAndGet();
+                throw new WebServerException("java.net.SocketTimeoutException read timed out", null);
+            });
+            fail("expected WebServerException");
+        } catch (WebServerException ex) {
+            assertEquals(1, calls.get());
+        }
+    }
+
+    @Test
+    public void should_retry_when_typedConnectRefused() {
+        RetryInterceptor retry = createInterceptor(2, 10);
+        AtomicInteger calls = new AtomicInteger();
+        TransferResponse response = new TransferResponse();
+
+        TransferResponse result = retry.intercept(createTransferRequest(), Deadline.NONE, (request, deadline) -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new BankTransportException(BankTransportException.Kind.CONNECT_REFUSED, "refused", null);
+            }
+            return response;
+        });
+
+        assertSame(response, result);
+        assertEquals(1, retry.getRetryCount());
+    }
+
+    @Test
+    public void should_notRetry_when_typedReadTimeout() {
+        RetryInterceptor retry = createInterceptor(3, 10);
+        AtomicInteger calls = new AtomicInteger();
+
+        try {
+            retry.intercept(createTransferRequest(), Deadline.NONE, (request, deadline) -> {
+                calls.incrementAndGet();
+                throw new BankTransportException(BankTransportException.Kind.READ_TIMEOUT,
+                        "Server Connection timed out", null);
+            });
+            fail("expected BankTransportException");
+        } catch (BankTransportException ex) {
+            assertEquals(1, calls.get());
+        }
+    }
+
+    @Test
+    public void should_stopRetrying_when_budgetExhausted() {
+        RetryInterceptor retry = createInterceptor(5, 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            try {
+                retry.intercept(createTransferRequest(), Deadline.NONE, (request, deadline) -> {
+                    calls.incrementAndGet();
+                    throw new WebServerException("Server Connection timed out", null);
+                });
+                fail("expected WebServerException");
+            } catch (WebServerException expected) {
+                // bank stays down
+            }
+        }
+
+        assertEquals(3 + 2, calls.get());
+        assertEquals(2, retry.getRetryCount());
+    }
+
+    @Test
+    public void should_stayWithinCeiling_when_backingOff() {
+        RetryInterceptor retry = createInterceptor(10, 10);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(retry.backoffMillis(1) <= 20);
+            assertTrue(retry.backoffMillis(8) <= 100);
+        }
+    }
+
+    private RetryInterceptor createInterceptor(int maxAttempts, int budgetMaxTokens) {
+        return new RetryInterceptor(maxAttempts, 20, 100, TimeUnit.MILLISECONDS, 0.0, budgetMaxTokens,
+                sleeps::add);
+    }
+
+    private TransferRequest createTransferRequest() {
+        TransferRequest request = new TransferRequest();
+        request.setTransactionId("1234");
+        request.setBankCode("BANK1");
+        return request;
+    }
+}
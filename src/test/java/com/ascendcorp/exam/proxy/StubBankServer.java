@@ -0,0 +1,116 @@
+package com.ascendcorp.exam.proxy;
+
+import com.ascendcorp.exam.codec.TransferRequestCodec;
+import com.ascendcorp.exam.codec.TransferResponseCodec;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process bank for tests and benchmarks: answers codec-framed transfer requests on
+ * {@code http://127.0.0.1:<port>/banks/<bankCode>/transfer}. The reply echoes the transaction id as
+ * {@code bankTransactionID}; latency and HTTP status can be set. Distinct client ports are counted so
+ * callers can check connections are reused.
+ */
+public class StubBankServer implements AutoCloseable {
+
+    private static final TransferRequestCodec REQUEST_CODEC = new TransferRequestCodec();
+    private static final TransferResponseCodec RESPONSE_CODEC = new TransferResponseCodec();
+
+    static {
+        // headers and body go out as separate writes; without this keep-alive replies stall on delayed ACKs
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final Set<InetSocketAddress> clients = ConcurrentHashMap.newKeySet();
+    private volatile String responseCode = "approved";
+    private volatile String description = "approved";
+    private volatile int status = 200;
+    private volatile long latencyMillis;
+
+    private StubBankServer(int threads) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext("/banks/", this::handle);
+        server.start();
+    }
+
+    public static StubBankServer start(int threads) throws IOException {
+        return new StubBankServer(threads);
+    }
+
+    public URI endpoint(String bankCode) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/banks/" + bankCode + "/transfer");
+    }
+
+    public void respondWith(String responseCode, String description) {
+        this.responseCode = responseCode;
+        this.description = description;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    public int getRequestCount() {
+        return requests.get();
+    }
+
+    public int getConnectionCount() {
+        return clients.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        clients.add(exchange.getRemoteAddress());
+        try (InputStream in = exchange.getRequestBody(); OutputStream out = exchange.getResponseBody()) {
+            TransferRequest request = REQUEST_CODEC.decode(ByteBuffer.wrap(in.readAllBytes()));
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            if (status != 200) {
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            TransferResponse response = new TransferResponse();
+            response.setResponseCode(responseCode);
+            response.setDescription(description);
+            response.setBankTransactionID(request.getTransactionId());
+            ByteBuffer body = ByteBuffer.allocate(RESPONSE_CODEC.encodedSize(response));
+            RESPONSE_CODEC.encode(response, body);
+            exchange.getResponseHeaders().set("Content-Type", HttpBankProxyGateway.CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.capacity());
+            out.write(body.array());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,98 @@
+package com.ascendcorp.exam.proxy;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private final TokenBucket bucket = new TokenBucket("BANK1", new TokenBucket.Config(10, 3), now::get);
+
+    @Test
+    public void should_allowBurst_then_reject() {
+        assertEquals(3, bucket.getAvailablePermits());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+
+        assertFalse(bucket.tryAcquire());
+        assertEquals(1, bucket.getThrottledCount());
+        assertEquals(0, bucket.getAvailablePermits());
+    }
+
+    @Test
+    public void should_refillOnePermitPerInterval() {
+        drain();
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(3, bucket.getAvailablePermits());
+    }
+
+    @Test
+    public void should_returnWait_when_reservingAhead() {
+        drain();
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.reserve(TimeUnit.MILLISECONDS.toNanos(150)));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), bucket.reserve(TimeUnit.MILLISECONDS.toNanos(250)));
+        assertEquals(-1, bucket.reserve(TimeUnit.MILLISECONDS.toNanos(250)));
+        assertEquals(2, bucket.getDelayedCount());
+        assertEquals(1, bucket.getThrottledCount());
+    }
+
+    @Test
+    public void should_grantExactlyBurst_when_contended() throws Exception {
+        TokenBucket contended = new TokenBucket("BANK1", new TokenBucket.Config(0.001, 50), now::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        try {
+            for (int thread = 0; thread < 8; thread++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    for (int i = 0; i < 100; i++) {
+                        if (contended.tryAcquire()) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(50, granted.get());
+        assertEquals(750, contended.getThrottledCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_rejectConfig_when_rateNotPositive() {
+        new TokenBucket.Config(0, 1);
+    }
+
+    private void drain() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(bucket.tryAcquire());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.ascendcorp.exam.service;
+
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class BankDescriptionTokenizerTest {
+
+    private static final String[] DESCRIPTIONS = {
+            "approved",
+            "100:1091:Data type is invalid.",
+            "General error.",
+            "1092:Transaction is error with code 1092.",
+            "5002: ",
+            "5002:",
+            "5002::",
+            ":5002",
+            "a::b",
+            ":",
+            "::",
+            "",
+            "1:2:3:4"
+    };
+
+    @Test
+    public void should_matchStringSplit() {
+        for (String description : DESCRIPTIONS) {
+            String[] expected = description.split(":");
+
+            assertEquals(description, expected.length, BankDescriptionTokenizer.segmentCount(description));
+            for (int i = 0; i < expected.length; i++) {
+                long segment = BankDescriptionTokenizer.segment(description, i);
+                assertEquals(description, expected[i], BankDescriptionTokenizer.substring(description, segment));
+                assertEquals(description, expected[i].trim().isEmpty(),
+                        BankDescriptionTokenizer.isBlank(description, segment));
+            }
+        }
+    }
+
+    @Test
+    public void should_compareSegment_ignoringCase() {
+        String description = "100:AbC:Data type is invalid.";
+        long segment = BankDescriptionTokenizer.segment(description, 1);
+
+        assertTrue(BankDescriptionTokenizer.equalsIgnoreCase(description, segment, "abc"));
+        assertFalse(BankDescriptionTokenizer.equalsIgnoreCase(description, segment, "ab"));
+        assertEquals("abc".hashCode(), BankDescriptionTokenizer.hashIgnoreCase(description, segment));
+    }
+}
@@ -0,0 +1,105 @@
+package com.ascendcorp.exam.service;
+
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.fail;
+
+public class BankResponseMapperTest {
+
+    private final BankResponseMapper mapper = new BankResponseMapper();
+
+    @Test
+    public void should_return1091_when_invalidDataFullFormat() {
+        assertOutcome("1091", "Data type is invalid.", mapper.invalidData("100:1091:Data type is invalid."));
+    }
+
+    @Test
+    public void should_shareResult_when_outcomeFixed() {
+        assertSame(mapper.invalidData("100:1091:Data type is invalid.").asResult(),
+                mapper.invalidData("200:1091:Data type is invalid.").asResult());
+        assertSame(mapper.notSupported().asResult(), mapper.notSupported().asResult());
+        assertSame(mapper.invalidRequest("500").asResult(), mapper.invalidRequest("500").asResult());
+        assertSame(InquiryOutcome.of(InquiryService.ReasonCode.BANK_BUSY).asResult(),
+                InquiryOutcome.of(InquiryService.ReasonCode.BANK_BUSY).asResult());
+    }
+
+    @Test
+    public void should_buildNewResult_when_descriptionCopiedFromBank() {
+        InquiryOutcome outcome = mapper.transactionError("98:Transaction is error with code 98.");
+
+        assertNotSame(outcome.asResult(), outcome.asResult());
+        assertEquals("Transaction is error with code 98.", outcome.asResult().getReasonDesc());
+    }
+
+    @Test
+    public void should_return400_when_invalidDataShortFormatOrMissing() {
+        assertOutcome("400", "General Invalid Data", mapper.invalidData("General error."));
+        assertOutcome("400", "General Invalid Data", mapper.invalidData(null));
+    }
+
+    @Test
+    public void should_returnBankDescription_when_transactionErrorWithKnownCode() {
+        assertOutcome("98", "Transaction is error with code 98.",
+                mapper.transactionError("98:Transaction is error with code 98."));
+        assertOutcome("1092", "Transaction is error with code 1092.",
+                mapper.transactionError("1092:Transaction is error with code 1092."));
+        assertOutcome("1091", "Transaction is error with code 1091.",
+                mapper.transactionError("100:1091:Transaction is error with code 1091."));
+    }
+
+    @Test
+    public void should_return400_when_transactionErrorWithoutCode() {
+        assertOutcome("400", "General Transaction error.", mapper.transactionError("Transaction error."));
+        assertOutcome("400", "General Transaction error.", mapper.transactionError(null));
+    }
+
+    @Test
+    public void should_mapUnknownCodes() {
+        assertOutcome("5001", "Unknown error code 5001", mapper.unknownCode("5001:Unknown error code 5001"));
+        assertOutcome("5002", "General Invalid Data", mapper.unknownCode("5002: "));
+        assertOutcome("501", "General Invalid Data", mapper.unknownCode("5001: "));
+        assertOutcome("501", "General Invalid Data", mapper.unknownCode("5003: "));
+        assertOutcome("501", "General Invalid Data", mapper.unknownCode("General Invalid Data code 501"));
+        assertOutcome("501", "General Invalid Data", mapper.unknownCode(null));
+    }
+
+    @Test
+    public void should_return504_when_noResponseOrNotSupported() {
+        assertOutcome("504", "Internal Application Error", mapper.noResponse());
+        assertOutcome("504", "Internal Application Error", mapper.notSupported());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void should_throw_when_transactionErrorCodeUndefined() {
+        mapper.transactionError("99:Transaction is error with code 99.");
+    }
+
+    @Test
+    public void should_throw_when_transactionErrorCodeInOtherForm() {
+        String[] otherForm = {
+                "1091:Transaction is error with code 1091.",
+                "100:98:Transaction is error with code 98.",
+                "100:1092:Transaction is error with code 1092."};
+        for (String description : otherForm) {
+            try {
+                mapper.transactionError(description);
+                fail("expected IllegalStateException for " + description);
+            } catch (IllegalStateException expected) {
+                // baseline accepted 98 and 1092 only as code:desc, 1091 only as prefix:code:desc
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void should_throw_when_responseCodeUndefined() {
+        mapper.map("declined", "Declined");
+    }
+
+    private static void assertOutcome(String reasonCode, String reasonDesc, InquiryOutcome outcome) {
+        assertEquals(reasonCode, outcome.getReasonCode());
+        assertEquals(reasonDesc, outcome.getReasonDesc());
+    }
+}
@@ -0,0 +1,77 @@
+package com.ascendcorp.exam.service;
+
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+import com.ascendcorp.exam.proxy.BankProxyGateway;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Date;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class InquiryExecutorTest {
+
+    @Mock
+    private BankProxyGateway bankProxyGateway;
+
+    @Test
+    public void should_runInquiry_when_platformMode() {
+        TransferResponse response = new TransferResponse();
+        response.setResponseCode("approved");
+        response.setDescription("approved");
+        when(bankProxyGateway.requestTransfer(any(TransferRequest.class))).thenReturn(response);
+
+        try (InquiryExecutor executor = new InquiryExecutor(
+                new InquiryService(bankProxyGateway), InquiryExecutionMode.PLATFORM, 2)) {
+            InquiryServiceResultDTO inquiry = executor.submit(createTransferRequest()).join();
+
+            assertEquals(InquiryExecutionMode.PLATFORM, executor.getMode());
+            assertEquals("200", inquiry.getReasonCode());
+        }
+    }
+
+    @Test
+    public void should_useVirtualThreads_when_supportedByJvm() {
+        boolean virtualThreads = Runtime.version().feature() >= 21;
+
+        try (InquiryExecutor executor = new InquiryExecutor(
+                new InquiryService(bankProxyGateway), InquiryExecutionMode.VIRTUAL, 2)) {
+            assertEquals(virtualThreads ? InquiryExecutionMode.VIRTUAL : InquiryExecutionMode.PLATFORM,
+                    executor.getMode());
+            TransferRequest request = createTransferRequest();
+            request.setChannel(null);
+            assertEquals("500", executor.submit(request).join().getReasonCode());
+        }
+    }
+
+    @Test
+    public void should_keepInterruptStatus_when_closedByInterruptedThread() {
+        InquiryExecutor executor = new InquiryExecutor(
+                new InquiryService(bankProxyGateway), InquiryExecutionMode.PLATFORM, 2);
+        executor.submit(createTransferRequest()).join();
+
+        Thread.currentThread().interrupt();
+        executor.close();
+
+        assertTrue(Thread.interrupted());
+    }
+
+    private TransferRequest createTransferRequest() {
+        TransferRequest request = new TransferRequest();
+        request.setTransactionId("1234");
+        request.setTranDateTime(new Date());
+        request.setChannel("Mobile");
+        request.setBankCode("BANK1");
+        request.setBankNumber("4321000");
+        request.setAmount(100d);
+        return request;
+    }
+}
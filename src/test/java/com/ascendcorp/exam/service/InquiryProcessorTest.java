@@ -0,0 +1,259 @@
+package com.ascendcorp.exam.service;
+
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import com.ascendcorp.exam.model.TransferRequest;
+import com.ascendcorp.exam.model.TransferResponse;
+import com.ascendcorp.exam.proxy.BankProxyGateway;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertTrue;
+
+public class InquiryProcessorTest {
+
+    private final StubGateway gateway = new StubGateway();
+    private final TestPublisher publisher = new TestPublisher();
+    private final TestSubscriber subscriber = new TestSubscriber();
+
+    @Test
+    public void should_emitInUpstreamOrder_when_bankRepliesOutOfOrder() {
+        subscribe(3);
+        subscriber.request(Long.MAX_VALUE);
+
+        publisher.emit("1", "2", "3");
+        gateway.reply(2);
+        gateway.reply(1);
+        assertEquals(0, subscriber.results.size());
+        gateway.reply(0);
+        publisher.complete();
+
+        assertEquals(3, subscriber.results.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals("200", subscriber.results.get(i).getReasonCode());
+            assertEquals("ref" + (i + 1), subscriber.results.get(i).getRef_no1());
+        }
+        assertTrue(subscriber.completed);
+        assertEquals(3, gateway.calls.size());
+    }
+
+    @Test
+    public void should_throttleUpstream_when_bankSlow() {
+        subscribe(2);
+        subscriber.request(Long.MAX_VALUE);
+
+        assertEquals(2, publisher.requested.get());
+        publisher.emit("1", "2");
+        assertEquals(2, publisher.requested.get());
+
+        gateway.reply(0);
+        assertEquals(1, subscriber.results.size());
+        assertEquals(3, publisher.requested.get());
+    }
+
+    @Test
+    public void should_throttleUpstream_when_downstreamSlow() {
+        subscribe(2);
+        subscriber.request(1);
+
+        publisher.emit("1", "2");
+        gateway.reply(0);
+        gateway.reply(1);
+
+        assertEquals(1, subscriber.results.size());
+        assertEquals(3, publisher.requested.get());
+        publisher.emit("3");
+        gateway.reply(2);
+        assertEquals(3, publisher.requested.get());
+
+        subscriber.request(5);
+        assertEquals(3, subscriber.results.size());
+        assertEquals(5, publisher.requested.get());
+    }
+
+    @Test
+    public void should_answerInvalidRequest_without_bankCall() {
+        subscribe(2);
+        subscriber.request(Long.MAX_VALUE);
+
+        TransferRequest invalid = createTransferRequest("1");
+        invalid.setTransactionId(null);
+        publisher.subscriber.onNext(invalid);
+
+        assertEquals("General Invalid Data", subscriber.results.get(0).getReasonDesc());
+        assertEquals(0, gateway.calls.size());
+    }
+
+    @Test
+    public void should_emitMutableInternalError_when_inquiryFails() {
+        subscribe(2);
+        subscriber.request(Long.MAX_VALUE);
+
+        publisher.emit("1");
+        gateway.fail(0);
+
+        InquiryServiceResultDTO failed = subscriber.results.get(0);
+        assertEquals("504", failed.getReasonCode());
+        failed.setReasonDesc("retried later");
+        assertEquals("retried later", failed.getReasonDesc());
+    }
+
+    @Test
+    public void should_stopEmittingAndCancelUpstream_when_cancelled() {
+        subscribe(2);
+        subscriber.request(Long.MAX_VALUE);
+        publisher.emit("1", "2");
+
+        subscriber.subscription.cancel();
+        gateway.reply(0);
+        gateway.reply(1);
+        publisher.complete();
+
+        assertTrue(publisher.cancelled);
+        assertEquals(0, subscriber.results.size());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    public void should_deliverPendingResultsBeforeError_when_upstreamFails() {
+        subscribe(2);
+        subscriber.request(Long.MAX_VALUE);
+        publisher.emit("1");
+
+        publisher.subscriber.onError(new IllegalStateException("file gone"));
+        assertNull(subscriber.error);
+        gateway.reply(0);
+
+        assertEquals(1, subscriber.results.size());
+        assertEquals("file gone", subscriber.error.getMessage());
+    }
+
+    @Test
+    public void should_failSecondSubscriber() {
+        InquiryProcessor processor = subscribe(1);
+        TestSubscriber second = new TestSubscriber();
+
+        processor.subscribe(second);
+
+        assertTrue(second.error instanceof IllegalStateException);
+    }
+
+    private InquiryProcessor subscribe(int maxConcurrency) {
+        InquiryProcessor processor = new InquiryProcessor(new InquiryService(gateway), maxConcurrency);
+        processor.subscribe(subscriber);
+        publisher.subscribe(processor);
+        return processor;
+    }
+
+    private static TransferRequest createTransferRequest(String id) {
+        TransferRequest request = new TransferRequest();
+        request.setTransactionId(id);
+        request.setTranDateTime(new Date());
+        request.setChannel("Mobile");
+        request.setBankCode("BANK1");
+        request.setBankNumber("4321000");
+        request.setAmount(100d);
+        request.setReference1("ref" + id);
+        return request;
+    }
+
+    private static final class StubGateway extends BankProxyGateway {
+
+        final List<TransferRequest> calls = new CopyOnWriteArrayList<>();
+        final List<CompletableFuture<TransferResponse>> replies = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableFuture<TransferResponse> requestTransferAsync(TransferRequest transferRequest) {
+            calls.add(transferRequest);
+            CompletableFuture<TransferResponse> reply = new CompletableFuture<>();
+            replies.add(reply);
+            return reply;
+        }
+
+        void reply(int call) {
+            TransferResponse response = new TransferResponse();
+            response.setResponseCode("approved");
+            response.setDescription("approved");
+            response.setReferenceCode1(calls.get(call).getReference1());
+            replies.get(call).complete(response);
+        }
+
+        void fail(int call) {
+            replies.get(call).completeExceptionally(new Exception("bank link lost"));
+        }
+    }
+
+    private static final class TestPublisher implements Flow.Publisher<TransferRequest> {
+
+        final AtomicLong requested = new AtomicLong();
+        volatile boolean cancelled;
+        Flow.Subscriber<? super TransferRequest> subscriber;
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super TransferRequest> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    requested.addAndGet(n);
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+
+        void emit(String... ids) {
+            for (String id : ids) {
+                subscriber.onNext(createTransferRequest(id));
+            }
+        }
+
+        void complete() {
+            subscriber.onComplete();
+        }
+    }
+
+    private static final class TestSubscriber implements Flow.Subscriber<InquiryServiceResultDTO> {
+
+        final List<InquiryServiceResultDTO> results = new ArrayList<>();
+        Flow.Subscription subscription;
+        volatile boolean completed;
+        volatile Throwable error;
+
+        void request(long n) {
+            subscription.request(n);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(InquiryServiceResultDTO item) {
+            results.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
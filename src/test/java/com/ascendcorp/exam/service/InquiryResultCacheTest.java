@@ -0,0 +1,89 @@
+package com.ascendcorp.exam.service;
+
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import org.junit.Test;
+import org.springframework.boot.web.server.WebServerException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.fail;
+
+public class InquiryResultCacheTest {
+
+    private final InquiryResultCache cache = new InquiryResultCache(10, TimeUnit.SECONDS, 100);
+    private final AtomicInteger bankCalls = new AtomicInteger();
+
+    @Test
+    public void should_callBankOnce_when_transactionRetried() {
+        InquiryServiceResultDTO first = cache.get("1234", this::approved);
+        InquiryServiceResultDTO retry = cache.get("1234", this::approved);
+
+        assertEquals(1, bankCalls.get());
+        assertEquals("200", retry.getReasonCode());
+        assertNotSame(first, retry);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void should_notCache_when_loaderThrows() {
+        try {
+            cache.get("1234", () -> {
+                bankCalls.incrementAndGet();
+                throw new WebServerException("Server Connection timed out", null);
+            });
+            fail("expected WebServerException");
+        } catch (WebServerException expected) {
+            // transport failures are retried
+        }
+
+        assertEquals("200", cache.get("1234", this::approved).getReasonCode());
+        assertEquals(2, bankCalls.get());
+    }
+
+    @Test
+    public void should_shareInFlightCall_when_duplicatesArriveConcurrently() throws Exception {
+        CountDownLatch bankCalled = new CountDownLatch(1);
+        CountDownLatch bankReplies = new CountDownLatch(1);
+        CompletableFuture<InquiryServiceResultDTO> first = CompletableFuture.supplyAsync(
+                () -> cache.get("1234", () -> {
+                    bankCalled.countDown();
+                    await(bankReplies);
+                    return approved();
+                }));
+        bankCalled.await(5, TimeUnit.SECONDS);
+
+        CompletableFuture<InquiryServiceResultDTO> duplicate = CompletableFuture.supplyAsync(
+                () -> cache.get("1234", this::approved));
+        while (cache.getCollapsedCount() == 0) {
+            Thread.sleep(1);
+        }
+        bankReplies.countDown();
+
+        assertEquals("200", first.get(5, TimeUnit.SECONDS).getReasonCode());
+        assertEquals("200", duplicate.get(5, TimeUnit.SECONDS).getReasonCode());
+        assertEquals(1, bankCalls.get());
+        assertEquals(1, cache.getCollapsedCount());
+    }
+
+    private InquiryServiceResultDTO approved() {
+        bankCalls.incrementAndGet();
+        InquiryServiceResultDTO result = new InquiryServiceResultDTO();
+        result.setReasonCode("200");
+        result.setReasonDesc("approved");
+        return result;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
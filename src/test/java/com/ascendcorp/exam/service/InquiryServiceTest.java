@@ -1,9 +1,27 @@
 package com.ascendcorp.exam.service;
 
+import com.ascendcorp.exam.exception.BankTransportException;
+import com.ascendcorp.exam.exception.BankUnavailableException;
+import com.ascendcorp.exam.journal.InquiryJournal;
+import com.ascendcorp.exam.metrics.InquiryMetrics;
+import com.ascendcorp.exam.metrics.InquiryMetricsSnapshot;
+import com.ascendcorp.exam.model.CompactInquiryResult;
+import com.ascendcorp.exam.model.CompactTransferRequest;
+import com.ascendcorp.exam.model.Deadline;
+import com.ascendcorp.exam.model.ImmutableInquiryResult;
 import com.ascendcorp.exam.model.InquiryServiceResultDTO;
 import com.ascendcorp.exam.model.TransferRequest;
 import com.ascendcorp.exam.model.TransferResponse;
+import com.ascendcorp.exam.proxy.AdaptiveBulkhead;
+import com.ascendcorp.exam.proxy.AsyncBankCall;
+import com.ascendcorp.exam.proxy.BankCall;
+import com.ascendcorp.exam.proxy.BankCallInterceptor;
+import com.ascendcorp.exam.proxy.BankCircuitBreaker;
 import com.ascendcorp.exam.proxy.BankProxyGateway;
+import com.ascendcorp.exam.proxy.BulkheadInterceptor;
+import com.ascendcorp.exam.proxy.CircuitBreakerInterceptor;
+import com.ascendcorp.exam.proxy.RateLimitInterceptor;
+import com.ascendcorp.exam.proxy.TokenBucket;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -11,11 +29,28 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.boot.web.server.WebServerException;
 
+import java.net.ConnectException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -355,4 +390,606 @@ public class InquiryServiceTest {
         assertEquals("503", inquiry.getReasonCode());
         assertEquals("Error timeout", inquiry.getReasonDesc());
     }
+
+    @Test
+    public void should_mapTypedTransportFailure_when_messageSaysOtherwise() {
+        InquiryMetrics metrics = new InquiryMetrics();
+        inquiryService.setMetrics(metrics);
+        when(bankProxyGateway.requestTransfer(any(TransferRequest.class))).thenThrow(new BankTransportException(
+                BankTransportException.Kind.CONNECT_REFUSED, "java.net.SocketTimeoutException", null));
+
+        InquiryServiceResultDTO inquiry = inquiryService.inquiry(createTransferRequest());
+
+        assertEquals("504", inquiry.getReasonCode());
+        assertEquals(1, metrics.snapshot().getFailureCount(InquiryMetrics.FailurePath.TRANSPORT_ERROR));
+    }
+
+    @Test
+    public void should_return200_when_bankApprovedAsync() {
+        TransferRequest request = createTransferRequest();
+        TransferResponse response = new TransferResponse();
+        response.setResponseCode("approved");
+        response.setDescription("approved");
+
+        when(bankProxyGateway.requestTransferAsync(any(TransferRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        InquiryServiceResultDTO inquiry = inquiryService.inquiryAsync(request).join();
+
+        assertEquals("200", inquiry.getReasonCode());
+        assertEquals("approved", inquiry.getReasonDesc());
+    }
+
+    @Test
+    public void should_return500WithoutBankCall_when_noRequireValueAsync() {
+        TransferRequest request = createTransferRequest();
+        request.setBankNumber(null);
+
+        InquiryServiceResultDTO inquiry = inquiryService.inquiryAsync(request).join();
+
+        assertEquals("500", inquiry.getReasonCode());
+        assertEquals("General Invalid Data", inquiry.getReasonDesc());
+        verify(bankProxyGateway, never()).requestTransferAsync(any(TransferRequest.class));
+    }
+
+    @Test
+    public void should_return1092_when_errorAndDesc2CodeAsync() {
+        TransferRequest request = createTransferRequest();
+        TransferResponse response = new TransferResponse();
+        response.setResponseCode("transaction_error");
+        response.setDescription("1092:Transaction is error with code 1092.");
+        CompletableFuture<TransferResponse> pending = new CompletableFuture<>();
+
+        when(bankProxyGateway.requestTransferAsync(any(TransferRequest.class))).thenReturn(pending);
+
+        CompletableFuture<InquiryServiceResultDTO> inquiry = inquiryService.inquiryAsync(request);
+        assertFalse(inquiry.isDone());
+        pending.complete(response);
+
+        assertEquals("1092", inquiry.join().getReasonCode());
+        assertEquals("Transaction is error with code 1092.", inquiry.join().getReasonDesc());
+    }
+
+    @Test
+    public void should_return503_when_socketTimeoutAsync() {
+        TransferRequest request = createTransferRequest();
+        CompletableFuture<TransferResponse> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new WebServerException("java.net.SocketTimeoutException error", null));
+
+        when(bankProxyGateway.requestTransferAsync(any(TransferRequest.class))).thenReturn(failed);
+
+        InquiryServiceResultDTO inquiry = inquiryService.inquiryAsync(request).join();
+
+        assertEquals("503", inquiry.getReasonCode());
+        assertEquals("Error timeout", inquiry.getReasonDesc());
+    }
+
+    @Test
+    public void should_completeExceptionally_when_responseCodeUnsupportedAsync() {
+        TransferRequest request = createTransferRequest();
+        TransferResponse response = new TransferResponse();
+        response.setResponseCode("declined");
+
+        when(bankProxyGateway.requestTransferAsync(any(TransferRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        CompletableFuture<InquiryServiceResultDTO> inquiry = inquiryService.inquiryAsync(request);
+
+        assertTrue(inquiry.isCompletedExceptionally());
+    }
+
+    @Test
+    public void should_groupByBankAndKeepInputOrder_when_inquiryBatch() {
+        TransferRequest first = createTransferRequest();
+        TransferRequest second = createTransferRequest();
+        second.setBankCode("BANK2");
+        TransferRequest invalid = createTransferRequest();
+        invalid.setChannel(null);
+        TransferRequest third = createTransferRequest();
+
+        when(bankProxyGateway.requestTransferBatch(eq("BANK1"), eq(Arrays.asList(first, third))))
+                .thenReturn(Arrays.asList(
+                        createResponse("approved", "approved"),
+                        createResponse("transaction_error", "98:Transaction is error with code 98.")));
+        when(bankProxyGateway.requestTransferBatch(eq("BANK2"), eq(Collections.singletonList(second))))
+                .thenReturn(Collections.singletonList(createResponse("not_support", "Not support")));
+
+        List<InquiryServiceResultDTO> inquiries = inquiryService.inquiryBatch(
+                Arrays.asList(first, second, invalid, third));
+
+        assertEquals(4, inquiries.size());
+        assertEquals("200", inquiries.get(0).getReasonCode());
+        assertEquals("504", inquiries.get(1).getReasonCode());
+        assertEquals("500", inquiries.get(2).getReasonCode());
+        assertEquals("98", inquiries.get(3).getReasonCode());
+        assertEquals("Transaction is error with code 98.", inquiries.get(3).getReasonDesc());
+        verify(bankProxyGateway, never()).requestTransfer(any(TransferRequest.class));
+    }
+
+    @Test
+    public void should_return503ForWholeBank_when_batchTimesOut() {
+        TransferRequest first = createTransferRequest();
+        TransferRequest second = createTransferRequest();
+
+        when(bankProxyGateway.requestTransferBatch(eq("BANK1"), anyList()))
+                .thenThrow(new WebServerException("Server Connection timed out", null));
+
+        List<InquiryServiceResultDTO> inquiries = inquiryService.inquiryBatch(Arrays.asList(first, second));
+
+        assertEquals("503", inquiries.get(0).getReasonCode());
+        assertEquals("503", inquiries.get(1).getReasonCode());
+    }
+
+    @Test
+    public void should_return504ForItem_when_batchReplyMissingOrUnsupported() {
+        TransferRequest first = createTransferRequest();
+        TransferRequest second = createTransferRequest();
+
+        when(bankProxyGateway.requestTransferBatch(eq("BANK1"), anyList()))
+                .thenReturn(Collections.singletonList(createResponse("declined", "Declined")));
+
+        List<InquiryServiceResultDTO> inquiries = inquiryService.inquiryBatch(Arrays.asList(first, second));
+
+        assertEquals("504", inquiries.get(0).getReasonCode());
+        assertEquals("504", inquiries.get(1).getReasonCode());
+    }
+
+    @Test
+    public void should_return500_when_amountNeverSet() {
+        TransferRequest request = new TransferRequest();
+        request.setTransactionId("1234");
+        request.setTranDateTime(new Date());
+        request.setChannel("Mobile");
+        request.setBankCode("BANK1");
+        request.setBankNumber("4321000");
+
+        InquiryServiceResultDTO inquiry = inquiryService.inquiry(request);
+
+        assertEquals("500", inquiry.getReasonCode());
+        assertEquals("General Invalid Data", inquiry.getReasonDesc());
+        verify(bankProxyGateway, never()).requestTransfer(any(TransferRequest.class));
+    }
+
+    @Test
+    public void should_keepMinorUnits_when_compactInquiry() {
+        TransferResponse response = createResponse("approved", "approved");
+        when(bankProxyGateway.requestTransfer(any(TransferRequest.class))).thenReturn(response);
+
+        CompactInquiryResult inquiry = CompactInquiryResult.from(inquiryService.inquiry(
+                CompactTransferRequest.from(createTransferRequest()).toTransferRequest()));
+
+        assertEquals("200", inquiry.getReasonCode());
+        verify(bankProxyGateway).requestTransfer(argThat(
+                sent -> sent.getAmount() == 100d && "BANK1".equals(sent.getBankCode())));
+    }
+
+    @Test
+    public void should_keepBankBalanceText_when_compactInquiryBalanceNotPlainDecimal() {
+        TransferResponse response = createResponse("approved", "approved");
+        response.setBalance("1,000.00");
+        when(bankProxyGateway.requestTransfer(any(TransferRequest.class))).thenReturn(response);
+
+        CompactInquiryResult inquiry = CompactInquiryResult.from(inquiryService.inquiry(
+                CompactTransferRequest.from(createTransferRequest()).toTransferRequest()));
+
+        assertEquals("200", inquiry.getReasonCode());
+        assertEquals("1,000.00", inquiry.getAmountText());
+        assertEquals("1,000.00", inquiry.toResultDTO().getAmount());
+    }
+
+    @Test
+    public void should_return500_when_compactAmountBelowOne() {
+        CompactTransferRequest request = CompactTransferRequest.builder()
+                .transactionId("1234")
+                .tranDateTimeMillis(System.currentTimeMillis())
+                .channel("Mobile")
+                .bankCode("BANK1")
+                .bankNumber("4321000")
+                .amountMinor(99L)
+                .build();
+
+        CompactInquiryResult inquiry = CompactInquiryResult.from(inquiryService.inquiry(request.toTransferRequest()));
+
+        assertEquals("500", inquiry.getReasonCode());
+        verify(bankProxyGateway, never()).requestTransfer(any(TransferRequest.class));
+    }
+
+    @Test
+    public void should_journalRequestAndResult_when_journalConfigured() {
+        InquiryJournal journal = mock(InquiryJournal.class);
+        inquiryService.setJournal(journal);
+        TransferRequest request = createTransferRequest();
+        when(bankProxyGateway.requestTransfer(any(TransferRequest.class)))
+                .thenReturn(createResponse("approved", "approved"));
+
+        InquiryServiceResultDTO inquiry = inquiryService.inquiry(request);
+
+        verify(journal).append(request, inquiry);
+    }
+
+    private TransferResponse createResponse(String responseCode, String description) {
+        TransferResponse response = new TransferResponse();
+        response.setResponseCode(responseCode);
+        response.setDescription(description);
+        return response;
+    }
+
+    @Test
+    public void should_callBankOnce_when_transactionRetriedWithResultCache() {
+        TransferRequest request = createTransferRequest();
+        when(bankProxyGateway.requestTransfer(any(TransferRequest.class)))
+                .thenReturn(createResponse("approved", "approved"));
+        inquiryService.setResultCache(new InquiryResultCache(10, TimeUnit.SECONDS, 100));
+
+        assertEquals("200", inquiryService.inquiry(request).getReasonCode());
+        assertEquals("200", inquiryService.inquiry(createTransferRequest()).getReasonCode());
+
+        verify(bankProxyGateway, times(1)).requestTransfer(any(TransferRequest.class));
+    }
+
+    @Test
+    public void should_returnOwnMutableResult_when_bankTimesOutRepeatedly() {
+        when(bankProxyGateway.requestTransfer(any(TransferRequest.class)))
+                .thenThrow(new WebServerException("Server Connection timed out", null));
+
+        InquiryServiceResultDTO first = inquiryService.inquiry(createTransferRequest());
+        first.setReasonDesc("changed by caller");
+        InquiryServiceResultDTO second = inquiryService.inquiry(createTransferRequest());
+
+        assertNotSame(first, second);
+        assertEquals("503", second.getReasonCode());
+        assertEquals("Error timeout", second.getReasonDesc());
+        assertFalse(second instanceof ImmutableInquiryResult);
+    }
+
+    @Test
+    public void should_returnMutableResults_when_asyncAndBatchFail() throws Exception {
+        when(bankProxyGateway.requestTransferAsync(any(TransferRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(createResponse("not_support", "Not support")));
+        when(bankProxyGateway.requestTransferBatch(eq("BANK1"), anyList()))
+                .thenReturn(Collections.singletonList(createResponse("not_support", "Not support")));
+
+        InquiryServiceResultDTO async = inquiryService.inquiryAsync(createTransferRequest()).get(5, TimeUnit.SECONDS);
+        InquiryServiceResultDTO batch = inquiryService.inquiryBatch(
+                Collections.singletonList(createTransferRequest())).get(0);
+
+        async.setTranID("changed by caller");
+        batch.setTranID("changed by caller");
+        assertEquals("504", async.getReasonCode());
+        assertEquals("504", batch.getReasonCode());
+    }
+
+    @Test
+    public void should_replayBankRejectionWithoutBankCall_when_sameTransferResent() {
+        when(bankProxyGateway.requestTransfer(any(TransferRequest.class)))
+                .thenReturn(createResponse("invalid_data", "100:1091:Data type is invalid."));
+        inquiryService.setNegativeCache(new NegativeResultCache(30, TimeUnit.SECONDS, 100,
+                NegativeResultCache.parseResponseCodes(NegativeResultCache.DEFAULT_RESPONSE_CODES)));
+
+        inquiryService.inquiry(createTransferRequest());
+        TransferRequest resend = createTransferRequest();
+        resend.setTransactionId("5678");
+        InquiryServiceResultDTO inquiry = inquiryService.inquiry(resend);
+
+        assertEquals("1091", inquiry.getReasonCode());
+        assertEquals("Data type is invalid.", inquiry.getReasonDesc());
+        verify(bankProxyGateway, times(1)).requestTransfer(any(TransferRequest.class));
+    }
+
+    @Test
+    public void should_callBankAgain_when_rejectionDependsOnBankState() {
+        when(bankProxyGateway.requestTransfer(any(TransferRequest.class)))
+                .thenReturn(createResponse("transaction_error", "98:Transaction is error with code 98."));
+        inquiryService.setNegativeCache(new NegativeResultCache(30, TimeUnit.SECONDS, 100,
+                NegativeResultCache.parseResponseCodes(NegativeResultCache.DEFAULT_RESPONSE_CODES)));
+
+        inquiryService.inquiry(createTransferRequest());
+        inquiryService.inquiry(createTransferRequest());
+
+        verify(bankProxyGateway, times(2)).requestTransfer(any(TransferRequest.class));
+    }
+
+    @Test
+    public void should_replayNotSupportedWithoutBankCall_when_resentAsync() throws Exception {
+        when(bankProxyGateway.requestTransferAsync(any(TransferRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(createResponse("not_support", "Not support")));
+        inquiryService.setNegativeCache(new NegativeResultCache(30, TimeUnit.SECONDS, 100,
+                NegativeResultCache.parseResponseCodes(NegativeResultCache.DEFAULT_RESPONSE_CODES)));
+
+        inquiryService.inquiryAsync(createTransferRequest()).get(5, TimeUnit.SECONDS);
+        InquiryServiceResultDTO inquiry = inquiryService.inquiryAsync(createTransferRequest()).get(5, TimeUnit.SECONDS);
+
+        assertEquals("504", inquiry.getReasonCode());
+        verify(bankProxyGateway, times(1)).requestTransferAsync(any(TransferRequest.class));
+    }
+
+    @Test
+    public void should_return503WithoutBankCall_when_circuitOpen() {
+        WebServerException ex = new WebServerException("Server Connection timed out", null);
+        when(bankProxyGateway.requestTransfer(any(TransferRequest.class))).thenThrow(ex);
+        inquiryService.setBankCallInterceptors(Collections.singletonList(new CircuitBreakerInterceptor(
+                new BankCircuitBreaker.Config(50, 2, 2, 30, TimeUnit.SECONDS, 1))));
+
+        inquiryService.inquiry(createTransferRequest());
+        inquiryService.inquiry(createTransferRequest());
+        InquiryServiceResultDTO inquiry = inquiryService.inquiry(createTransferRequest());
+
+        assertEquals("503", inquiry.getReasonCode());
+        assertEquals("Bank unavailable", inquiry.getReasonDesc());
+        verify(bankProxyGateway, times(2)).requestTransfer(any(TransferRequest.class));
+
+        TransferRequest otherBank = createTransferRequest();
+        otherBank.setBankCode("BANK2");
+        assertEquals("Error timeout", inquiryService.inquiry(otherBank).getReasonDesc());
+    }
+
+    @Test
+    public void should_keepCircuitClosed_when_callsCancelled() {
+        when(bankProxyGateway.requestTransfer(any(TransferRequest.class))).thenThrow(new BankTransportException(
+                BankTransportException.Kind.CANCELLED, "Interrupted while waiting for bank reply", null));
+        inquiryService.setBankCallInterceptors(Collections.singletonList(new CircuitBreakerInterceptor(
+                new BankCircuitBreaker.Config(50, 2, 2, 30, TimeUnit.SECONDS, 1))));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Internal Application Error", inquiryService.inquiry(createTransferRequest()).getReasonDesc());
+        }
+
+        verify(bankProxyGateway, times(3)).requestTransfer(any(TransferRequest.class));
+    }
+
+    @Test
+    public void should_return503BankBusy_when_bulkheadFull() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bankProxyGateway.requestTransfer(any(TransferRequest.class))).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return createResponse("approved", "approved");
+        });
+        BulkheadInterceptor bulkheads = new BulkheadInterceptor(new AdaptiveBulkhead.Config(1, 1, 1, 0.5, 2.0, 100));
+        inquiryService.setBankCallInterceptors(Collections.singletonList(bulkheads));
+
+        CompletableFuture<InquiryServiceResultDTO> first =
+                CompletableFuture.supplyAsync(() -> inquiryService.inquiry(createTransferRequest()));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        InquiryServiceResultDTO rejected = inquiryService.inquiry(createTransferRequest());
+        release.countDown();
+
+        assertEquals("503", rejected.getReasonCode());
+        assertEquals("Bank busy", rejected.getReasonDesc());
+        assertEquals("200", first.get(5, TimeUnit.SECONDS).getReasonCode());
+        assertEquals(Long.valueOf(1), bulkheads.getRejectedCounts().get("BANK1"));
+        verify(bankProxyGateway, times(1)).requestTransfer(any(TransferRequest.class));
+    }
+
+    @Test
+    public void should_return503RateLimited_when_bankQuotaUsedUp() {
+        when(bankProxyGateway.requestTransfer(any(TransferRequest.class)))
+                .thenReturn(createResponse("approved", "approved"));
+        InquiryMetrics metrics = new InquiryMetrics();
+        inquiryService.setMetrics(metrics);
+        inquiryService.setBankCallInterceptors(Collections.singletonList(new RateLimitInterceptor(
+                new TokenBucket.Config(0.001, 1), Collections.emptyMap(), RateLimitInterceptor.Mode.REJECT, 0,
+                TimeUnit.MILLISECONDS)));
+
+        assertEquals("200", inquiryService.inquiry(createTransferRequest()).getReasonCode());
+        InquiryServiceResultDTO throttled = inquiryService.inquiry(createTransferRequest());
+
+        assertEquals("503", throttled.getReasonCode());
+        assertEquals("Bank rate limited", throttled.getReasonDesc());
+        assertEquals(1, metrics.snapshot().getFailureCount(InquiryMetrics.FailurePath.RATE_LIMITED));
+        verify(bankProxyGateway, times(1)).requestTransfer(any(TransferRequest.class));
+    }
+
+    @Test
+    public void should_answerWithoutBankCall_when_interceptorRefusesInquiryAsync() throws Exception {
+        InquiryMetrics metrics = new InquiryMetrics();
+        inquiryService.setMetrics(metrics);
+        inquiryService.setBankCallInterceptors(Collections.singletonList(new BankCallInterceptor() {
+            @Override
+            public TransferResponse intercept(TransferRequest transferRequest, Deadline deadline, BankCall next) {
+                return next.execute(transferRequest, deadline);
+            }
+
+            @Override
+            public CompletableFuture<TransferResponse> interceptAsync(TransferRequest transferRequest,
+                                                                      Deadline deadline, AsyncBankCall next) {
+                throw new BankUnavailableException("503", "Refused " + transferRequest.getBankCode());
+            }
+        }));
+
+        InquiryServiceResultDTO inquiry = inquiryService.inquiryAsync(createTransferRequest())
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals("503", inquiry.getReasonCode());
+        assertEquals("Bank unavailable", inquiry.getReasonDesc());
+        assertEquals(1, metrics.snapshot().getInquiries().size());
+        verify(bankProxyGateway, never()).requestTransferAsync(any(TransferRequest.class));
+    }
+
+    @Test
+    public void should_leaveRefusedItemOutOfBatch_when_interceptorRefusesItem() {
+        TransferRequest first = createTransferRequest();
+        TransferRequest second = createTransferRequest();
+        second.setTransactionId("TSX2");
+        when(bankProxyGateway.requestTransferBatch(eq("BANK1"), eq(Collections.singletonList(first))))
+                .thenReturn(Collections.singletonList(createResponse("approved", "approved")));
+        InquiryMetrics metrics = new InquiryMetrics();
+        inquiryService.setMetrics(metrics);
+        inquiryService.setBankCallInterceptors(Collections.singletonList(new BankCallInterceptor() {
+            @Override
+            public TransferResponse intercept(TransferRequest transferRequest, Deadline deadline, BankCall next) {
+                return next.execute(transferRequest, deadline);
+            }
+
+            @Override
+            public CompletableFuture<TransferResponse> interceptAsync(TransferRequest transferRequest,
+                                                                      Deadline deadline, AsyncBankCall next) {
+                if ("TSX2".equals(transferRequest.getTransactionId())) {
+                    throw new BankUnavailableException("503", "Refused " + transferRequest.getTransactionId());
+                }
+                return next.execute(transferRequest, deadline);
+            }
+        }));
+
+        List<InquiryServiceResultDTO> inquiries = inquiryService.inquiryBatch(Arrays.asList(first, second));
+
+        assertEquals("200", inquiries.get(0).getReasonCode());
+        assertEquals("Bank unavailable", inquiries.get(1).getReasonDesc());
+        assertEquals(2, metrics.snapshot().getInquiries().size());
+        verify(bankProxyGateway, times(1)).requestTransferBatch(eq("BANK1"), anyList());
+    }
+
+    @Test
+    public void should_skipBatchWithoutBankCall_when_circuitOpen() {
+        when(bankProxyGateway.requestTransferBatch(eq("BANK1"), anyList()))
+                .thenThrow(new WebServerException("Server Connection timed out", null));
+        inquiryService.setBankCallInterceptors(Collections.singletonList(new CircuitBreakerInterceptor(
+                new BankCircuitBreaker.Config(50, 2, 2, 30, TimeUnit.SECONDS, 1))));
+
+        List<InquiryServiceResultDTO> timedOut = inquiryService.inquiryBatch(
+                Arrays.asList(createTransferRequest(), createTransferRequest()));
+        List<InquiryServiceResultDTO> refused = inquiryService.inquiryBatch(
+                Collections.singletonList(createTransferRequest()));
+
+        assertEquals("Error timeout", timedOut.get(1).getReasonDesc());
+        assertEquals("Bank unavailable", refused.get(0).getReasonDesc());
+        verify(bankProxyGateway, times(1)).requestTransferBatch(eq("BANK1"), anyList());
+    }
+
+    @Test
+    public void should_holdOneBulkheadSlotPerBatch_when_batchSent() {
+        when(bankProxyGateway.requestTransferBatch(eq("BANK1"), anyList())).thenReturn(Arrays.asList(
+                createResponse("approved", "approved"), createResponse("approved", "approved")));
+        BulkheadInterceptor bulkheads = new BulkheadInterceptor(new AdaptiveBulkhead.Config(1, 1, 1, 0.5, 2.0, 100));
+        inquiryService.setBankCallInterceptors(Collections.singletonList(bulkheads));
+
+        List<InquiryServiceResultDTO> inquiries = inquiryService.inquiryBatch(
+                Arrays.asList(createTransferRequest(), createTransferRequest()));
+
+        assertEquals("200", inquiries.get(0).getReasonCode());
+        assertEquals("200", inquiries.get(1).getReasonCode());
+        assertEquals(0, bulkheads.bulkheadFor("BANK1").getInFlight());
+    }
+
+    @Test
+    public void should_answerBatchBankBusyWithoutBankCall_when_bulkheadFull() {
+        BulkheadInterceptor bulkheads = new BulkheadInterceptor(new AdaptiveBulkhead.Config(1, 1, 1, 0.5, 2.0, 100));
+        inquiryService.setBankCallInterceptors(Collections.singletonList(bulkheads));
+        assertTrue(bulkheads.bulkheadFor("BANK1").tryAcquire());
+
+        List<InquiryServiceResultDTO> inquiries = inquiryService.inquiryBatch(
+                Arrays.asList(createTransferRequest(), createTransferRequest()));
+
+        assertEquals("Bank busy", inquiries.get(0).getReasonDesc());
+        assertEquals("Bank busy", inquiries.get(1).getReasonDesc());
+        assertEquals(Long.valueOf(1), bulkheads.getRejectedCounts().get("BANK1"));
+        verify(bankProxyGateway, never()).requestTransferBatch(eq("BANK1"), anyList());
+    }
+
+    @Test
+    public void should_consumeRateLimitTokens_when_inquiryAsync() throws Exception {
+        when(bankProxyGateway.requestTransferAsync(any(TransferRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(createResponse("approved", "approved")));
+        RateLimitInterceptor limiter = new RateLimitInterceptor(new TokenBucket.Config(0.001, 1),
+                Collections.emptyMap(), RateLimitInterceptor.Mode.REJECT, 0, TimeUnit.MILLISECONDS);
+        inquiryService.setBankCallInterceptors(Collections.singletonList(limiter));
+
+        assertEquals("200", inquiryService.inquiryAsync(createTransferRequest()).get(5, TimeUnit.SECONDS)
+                .getReasonCode());
+        InquiryServiceResultDTO throttled = inquiryService.inquiryAsync(createTransferRequest())
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals("503", throttled.getReasonCode());
+        assertEquals("Bank rate limited", throttled.getReasonDesc());
+        assertEquals(Long.valueOf(1), limiter.getThrottledCounts().get("BANK1"));
+        verify(bankProxyGateway, times(1)).requestTransferAsync(any(TransferRequest.class));
+    }
+
+    @Test
+    public void should_leaveThrottledItemsOutOfBatch_when_bankQuotaUsedUp() {
+        TransferRequest first = createTransferRequest();
+        TransferRequest second = createTransferRequest();
+        second.setTransactionId("TSX2");
+        when(bankProxyGateway.requestTransferBatch(eq("BANK1"), eq(Collections.singletonList(first))))
+                .thenReturn(Collections.singletonList(createResponse("approved", "approved")));
+        inquiryService.setBankCallInterceptors(Collections.singletonList(new RateLimitInterceptor(
+                new TokenBucket.Config(0.001, 1), Collections.emptyMap(), RateLimitInterceptor.Mode.REJECT, 0,
+                TimeUnit.MILLISECONDS)));
+
+        List<InquiryServiceResultDTO> inquiries = inquiryService.inquiryBatch(Arrays.asList(first, second));
+
+        assertEquals("200", inquiries.get(0).getReasonCode());
+        assertEquals("Bank rate limited", inquiries.get(1).getReasonDesc());
+        verify(bankProxyGateway, times(1)).requestTransferBatch(eq("BANK1"), anyList());
+    }
+
+    @Test
+    public void should_return503ErrorTimeout_when_osConnectTimedOut() {
+        when(bankProxyGateway.requestTransfer(any(TransferRequest.class))).thenThrow(new WebServerException(
+                "I/O error on POST request", new ConnectException("Connection timed out")));
+
+        InquiryServiceResultDTO inquiry = inquiryService.inquiry(createTransferRequest());
+
+        assertEquals("503", inquiry.getReasonCode());
+        assertEquals("Error timeout", inquiry.getReasonDesc());
+    }
+
+    @Test
+    public void should_recordLatencyAndFailurePath_when_metricsEnabled() {
+        InquiryMetrics metrics = new InquiryMetrics();
+        inquiryService.setMetrics(metrics);
+        when(bankProxyGateway.requestTransfer(any(TransferRequest.class)))
+                .thenThrow(new WebServerException("java.net.SocketTimeoutException error", null));
+
+        inquiryService.inquiry(createTransferRequest());
+
+        InquiryMetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.getFailureCount(InquiryMetrics.FailurePath.SOCKET_TIMEOUT));
+        assertEquals(1, snapshot.getInquiries().size());
+        assertEquals("BANK1", snapshot.getInquiries().get(0).getBankCode());
+        assertEquals("Mobile", snapshot.getInquiries().get(0).getChannel());
+        assertEquals("503", snapshot.getInquiries().get(0).getReasonCode());
+    }
+
+    @Test
+    public void should_passDeadlineToGateway_when_inquiryAsyncWithBudget() throws Exception {
+        inquiryService.setDeadlineBudgetMillis(30_000);
+        when(bankProxyGateway.requestTransferAsync(any(TransferRequest.class), any(Deadline.class)))
+                .thenReturn(CompletableFuture.completedFuture(createResponse("approved", "approved")));
+
+        InquiryServiceResultDTO inquiry = inquiryService.inquiryAsync(createTransferRequest())
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals("200", inquiry.getReasonCode());
+        verify(bankProxyGateway).requestTransferAsync(any(TransferRequest.class),
+                argThat(deadline -> deadline.isBounded() && deadline.remaining(TimeUnit.SECONDS) > 20));
+    }
+
+    @Test
+    public void should_return503WithoutBankCall_when_deadlinePassed() {
+        inquiryService.setDeadlineBudgetMillis(30_000);
+        TransferRequest request = createTransferRequest();
+        request.setTranDateTime(new Date(System.currentTimeMillis() - 60_000));
+
+        InquiryServiceResultDTO inquiry = inquiryService.inquiry(request);
+
+        assertEquals("503", inquiry.getReasonCode());
+        assertEquals("Error timeout", inquiry.getReasonDesc());
+        verify(bankProxyGateway, never()).requestTransfer(any(TransferRequest.class));
+        verify(bankProxyGateway, never()).requestTransfer(any(TransferRequest.class), any(Deadline.class));
+    }
+
+    @Test
+    public void should_passRemainingDeadlineToGateway_when_budgetConfigured() {
+        inquiryService.setDeadlineBudgetMillis(30_000);
+        when(bankProxyGateway.requestTransfer(any(TransferRequest.class), any(Deadline.class)))
+                .thenReturn(createResponse("approved", "approved"));
+
+        InquiryServiceResultDTO inquiry = inquiryService.inquiry(createTransferRequest());
+
+        assertEquals("200", inquiry.getReasonCode());
+        verify(bankProxyGateway).requestTransfer(any(TransferRequest.class), argThat(deadline ->
+                deadline.isBounded() && deadline.remaining(TimeUnit.MILLISECONDS) <= 30_000));
+    }
 }
@@ -0,0 +1,101 @@
+package com.ascendcorp.exam.service;
+
+import com.ascendcorp.exam.cache.ExpiringCache;
+import com.ascendcorp.exam.model.InquiryServiceResultDTO;
+import com.ascendcorp.exam.model.TransferRequest;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertTrue;
+
+public class NegativeResultCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final NegativeResultCache cache = new NegativeResultCache(
+            new ExpiringCache<>(30, TimeUnit.SECONDS, 100, nanos::get),
+            NegativeResultCache.parseResponseCodes(NegativeResultCache.DEFAULT_RESPONSE_CODES));
+
+    @Test
+    public void should_replayRejection_when_sameTransferResentUnderNewTransactionId() {
+        cache.put(createTransferRequest("1234"), rejected());
+
+        TransferRequest resend = createTransferRequest("5678");
+        resend.setTranDateTime(new Date(0));
+        InquiryServiceResultDTO first = cache.get(resend);
+        InquiryServiceResultDTO second = cache.get(resend);
+
+        assertEquals("1091", first.getReasonCode());
+        assertEquals("Data type is invalid.", first.getReasonDesc());
+        assertNotSame(first, second);
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void should_miss_when_requestDataDiffers() {
+        cache.put(createTransferRequest("1234"), rejected());
+
+        TransferRequest otherAccount = createTransferRequest("1234");
+        otherAccount.setBankNumber("4321001");
+        TransferRequest otherAmount = createTransferRequest("1234");
+        otherAmount.setAmount(101d);
+        TransferRequest otherReference = createTransferRequest("1234");
+        otherReference.setReference2(null);
+
+        assertNull(cache.get(otherAccount));
+        assertNull(cache.get(otherAmount));
+        assertNull(cache.get(otherReference));
+    }
+
+    @Test
+    public void should_miss_when_ttlElapsed() {
+        cache.put(createTransferRequest("1234"), rejected());
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        assertNull(cache.get(createTransferRequest("1234")));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void should_keepOwnCopy_when_callerChangesStoredResult() {
+        InquiryServiceResultDTO result = rejected();
+        cache.put(createTransferRequest("1234"), result);
+        result.setReasonCode("200");
+
+        assertEquals("1091", cache.get(createTransferRequest("1234")).getReasonCode());
+    }
+
+    @Test
+    public void should_onlyTreatConfiguredResponseCodesAsDeterministic() {
+        assertTrue(cache.isDeterministic("invalid_data"));
+        assertTrue(cache.isDeterministic("NOT_SUPPORT"));
+        assertFalse(cache.isDeterministic("transaction_error"));
+        assertFalse(cache.isDeterministic("approved"));
+        assertFalse(cache.isDeterministic(null));
+    }
+
+    private static TransferRequest createTransferRequest(String transactionId) {
+        TransferRequest request = new TransferRequest();
+        request.setTransactionId(transactionId);
+        request.setTranDateTime(new Date());
+        request.setChannel("Mobile");
+        request.setBankCode("BANK1");
+        request.setBankNumber("4321000");
+        request.setAmount(100d);
+        request.setReference1("ref1");
+        request.setReference2("ref2");
+        request.setFirstName("test");
+        request.setLastName("data");
+        return request;
+    }
+
+    private static InquiryServiceResultDTO rejected() {
+        return InquiryOutcome.of("1091", "Data type is invalid.").toResultDTO();
+    }
+}
@@ -0,0 +1,82 @@
+package com.ascendcorp.exam.service;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
+
+public class ReasonCodeTableTest {
+
+    @Test
+    public void should_lookupResponseCode_ignoringCase() {
+        ReasonCodeTable table = ReasonCodeTable.defaults();
+
+        assertTrue(table.rulesFor("APPROVED").isApproved());
+        assertSame(table.rulesFor("invalid_data"), table.rulesFor("Invalid_Data"));
+        assertNull(table.rulesFor("declined"));
+    }
+
+    @Test
+    public void should_shareFixedOutcomes() {
+        ReasonCodeTable.ResponseRules rules = ReasonCodeTable.defaults().rulesFor("unknown");
+
+        assertSame(rules.resolve("5001:Unknown error code 5001"), rules.resolve("5001:another description"));
+    }
+
+    @Test
+    public void should_loadAdditionalBankCodes() throws IOException {
+        String config = "transaction_error.format=coded\n"
+                + "transaction_error=400|General Transaction error.\n"
+                + "transaction_error.99=99|{description}\n"
+                + "declined.format=none\n"
+                + "declined=402|Declined by bank\n";
+
+        ReasonCodeTable table = ReasonCodeTable.load(
+                new ByteArrayInputStream(config.getBytes(StandardCharsets.UTF_8)));
+
+        InquiryOutcome outcome = table.rulesFor("transaction_error").resolve("99:Daily limit exceeded");
+        assertEquals("99", outcome.getReasonCode());
+        assertEquals("Daily limit exceeded", outcome.getReasonDesc());
+        assertEquals("402", table.rulesFor("declined").resolve("anything").getReasonCode());
+    }
+
+    @Test
+    public void should_applyCodedRule_only_when_segmentCountMatches() {
+        Properties properties = new Properties();
+        properties.setProperty("transaction_error.format", "coded");
+        properties.setProperty("transaction_error.2.98", "98|{description}");
+        properties.setProperty("transaction_error.3.98", "398|Three part 98");
+        properties.setProperty("transaction_error.97", "97|{description}");
+
+        ReasonCodeTable.ResponseRules rules = ReasonCodeTable.fromProperties(properties).rulesFor("transaction_error");
+
+        assertEquals("98", rules.resolve("98:Two part").getReasonCode());
+        assertEquals("398", rules.resolve("100:98:Three part").getReasonCode());
+        assertEquals("97", rules.resolve("97:Two part").getReasonCode());
+        assertEquals("97", rules.resolve("100:97:Three part").getReasonCode());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_reject_when_formatMissing() {
+        Properties properties = new Properties();
+        properties.setProperty("declined.01", "402|Declined by bank");
+
+        ReasonCodeTable.fromProperties(properties);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_reject_when_outcomeMalformed() {
+        Properties properties = new Properties();
+        properties.setProperty("declined.format", "none");
+        properties.setProperty("declined", "Declined by bank");
+
+        ReasonCodeTable.fromProperties(properties);
+    }
+}
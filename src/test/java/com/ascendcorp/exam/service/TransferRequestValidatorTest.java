@@ -0,0 +1,79 @@
+package com.ascendcorp.exam.service;
+
+import com.ascendcorp.exam.exception.GeneralInvalidDataException;
+import com.ascendcorp.exam.model.TransferRequest;
+import org.junit.Test;
+
+import java.util.Date;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.fail;
+
+public class TransferRequestValidatorTest {
+
+    private final TransferRequestValidator validator = new TransferRequestValidator();
+
+    @Test
+    public void should_pass_when_requestComplete() {
+        assertNull(validator.check(createTransferRequest()));
+        validator.validate(createTransferRequest());
+    }
+
+    @Test
+    public void should_reportRequiredField_when_null() {
+        TransferRequest request = createTransferRequest();
+        request.setTranDateTime(null);
+
+        assertEquals(TransferRequestValidator.Violation.TRAN_DATE_TIME_REQUIRED, validator.check(request));
+        assertViolation(request, "tranDateTime cannot be null");
+
+        request = createTransferRequest();
+        request.setBankNumber(null);
+        assertViolation(request, "bankNumber cannot be null");
+    }
+
+    @Test
+    public void should_reportAmount_when_lessThanOne() {
+        TransferRequest request = createTransferRequest();
+        request.setAmount(0.5d);
+
+        assertEquals(TransferRequestValidator.Violation.AMOUNT_NOT_POSITIVE, validator.check(request));
+        assertViolation(request, "amount must more than zero");
+    }
+
+    @Test
+    public void should_reportAmountRequired_when_amountNeverSet() {
+        TransferRequest request = createTransferRequest();
+        TransferRequest withoutAmount = new TransferRequest();
+        withoutAmount.setTransactionId(request.getTransactionId());
+        withoutAmount.setTranDateTime(request.getTranDateTime());
+        withoutAmount.setChannel(request.getChannel());
+        withoutAmount.setBankCode(request.getBankCode());
+        withoutAmount.setBankNumber(request.getBankNumber());
+
+        assertEquals(TransferRequestValidator.Violation.AMOUNT_REQUIRED, validator.check(withoutAmount));
+        assertViolation(withoutAmount, "amount cannot be null");
+    }
+
+    private void assertViolation(TransferRequest request, String message) {
+        try {
+            validator.validate(request);
+            fail("expected GeneralInvalidDataException");
+        } catch (GeneralInvalidDataException ex) {
+            assertEquals("500", ex.getCode());
+            assertEquals(message, ex.getMessage());
+        }
+    }
+
+    private TransferRequest createTransferRequest() {
+        TransferRequest request = new TransferRequest();
+        request.setTransactionId("1234");
+        request.setTranDateTime(new Date());
+        request.setChannel("Mobile");
+        request.setBankCode("BANK1");
+        request.setBankNumber("4321000");
+        request.setAmount(100d);
+        return request;
+    }
+}